@@ -0,0 +1,38 @@
+package com.github.coderodde.util.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks. Accepts the usual JMH command line options; unless a
+ * result format is given via {@code -rf}, the results are written as JSON to
+ * {@code jmh-result.json} so that runs may be compared by tools.
+ */
+public final class BenchmarkRunner {
+    
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+    
+    private BenchmarkRunner() {}
+    
+    public static void main(String[] args) throws CommandLineOptionException,
+                                                  RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder optionsBuilder = 
+                new OptionsBuilder().parent(commandLineOptions);
+        
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            optionsBuilder.resultFormat(ResultFormatType.JSON);
+            
+            if (!commandLineOptions.getResult().hasValue()) {
+                optionsBuilder.result(DEFAULT_RESULT_FILE);
+            }
+        }
+        
+        new Runner(optionsBuilder.build()).run();
+    }
+}
@@ -0,0 +1,271 @@
+package com.github.coderodde.util.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This enumeration lists the input distributions the benchmarks are run on.
+ */
+public enum Distribution {
+    
+    /**
+     * Uniformly random values over the entire value range.
+     */
+    UNIFORM,
+    
+    /**
+     * Uniformly random values within {@code [0, SMALL_RANGE_BOUND)}.
+     */
+    SMALL_RANGE,
+    
+    /**
+     * Uniformly random values in ascending order.
+     */
+    SORTED,
+    
+    /**
+     * Uniformly random values in descending order.
+     */
+    REVERSE,
+    
+    /**
+     * Uniformly random values in ascending order, with 
+     * {@code length / NEARLY_SORTED_SWAP_RATIO} random pairs swapped.
+     */
+    NEARLY_SORTED,
+    
+    /**
+     * Uniformly random values, of which the first 
+     * {@code length - length / APPENDED_RUN_RATIO} and the rest are in 
+     * ascending order, as in a re-sorted append-mostly log.
+     */
+    APPENDED_RUN,
+    
+    /**
+     * Uniformly random picks from {@code FEW_DISTINCT_VALUES} random values.
+     */
+    FEW_DISTINCT,
+    
+    /**
+     * Zipf-distributed picks from {@code ZIPF_DISTINCT_VALUES} random values:
+     * the {@code k}th most frequent value occurs with probability 
+     * proportional to {@code 1 / k}.
+     */
+    ZIPFIAN;
+    
+    /**
+     * The exclusive upper bound of the {@link #SMALL_RANGE} values.
+     */
+    private static final int SMALL_RANGE_BOUND = 1 << 10;
+    
+    /**
+     * The number of distinct values in {@link #FEW_DISTINCT} data.
+     */
+    private static final int FEW_DISTINCT_VALUES = 16;
+    
+    /**
+     * The number of distinct values in {@link #ZIPFIAN} data.
+     */
+    private static final int ZIPF_DISTINCT_VALUES = 1 << 16;
+    
+    /**
+     * One pair of {@link #NEARLY_SORTED} values is swapped per this many 
+     * values.
+     */
+    private static final int NEARLY_SORTED_SWAP_RATIO = 1000;
+    
+    /**
+     * The appended run of {@link #APPENDED_RUN} data is this many times 
+     * shorter than the entire array.
+     */
+    private static final int APPENDED_RUN_RATIO = 8;
+    
+    /**
+     * Creates an {@code int} array of the given length following this 
+     * distribution.
+     * 
+     * @param length the length of the array.
+     * @param random the random number generator.
+     * @return the array.
+     */
+    public int[] createIntArray(int length, Random random) {
+        int[] array = new int[length];
+        
+        switch (this) {
+            case UNIFORM, SORTED, REVERSE, NEARLY_SORTED, APPENDED_RUN -> {
+                for (int i = 0; i < length; i++) {
+                    array[i] = random.nextInt();
+                }
+            }
+                
+            case SMALL_RANGE -> {
+                for (int i = 0; i < length; i++) {
+                    array[i] = random.nextInt(SMALL_RANGE_BOUND);
+                }
+            }
+            
+            case FEW_DISTINCT, ZIPFIAN -> {
+                int[] indices = createIndices(length, random);
+                int[] values = new int[indices.length == 0 ? 0 : 
+                                       getNumberOfDistinctValues()];
+                
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = random.nextInt();
+                }
+                
+                for (int i = 0; i < length; i++) {
+                    array[i] = values[indices[i]];
+                }
+            }
+        }
+        
+        if (this == SORTED || this == REVERSE || this == NEARLY_SORTED) {
+            Arrays.sort(array);
+        }
+        
+        if (this == REVERSE) {
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                int tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+        
+        if (this == NEARLY_SORTED) {
+            for (int swap = 0; swap < length / NEARLY_SORTED_SWAP_RATIO; 
+                    swap++) {
+                int i = random.nextInt(length);
+                int j = random.nextInt(length);
+                int tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+        
+        if (this == APPENDED_RUN) {
+            int appendedRunIndex = length - length / APPENDED_RUN_RATIO;
+            Arrays.sort(array, 0, appendedRunIndex);
+            Arrays.sort(array, appendedRunIndex, length);
+        }
+        
+        return array;
+    }
+    
+    /**
+     * Creates a {@code long} array of the given length following this 
+     * distribution.
+     * 
+     * @param length the length of the array.
+     * @param random the random number generator.
+     * @return the array.
+     */
+    public long[] createLongArray(int length, Random random) {
+        long[] array = new long[length];
+        
+        switch (this) {
+            case UNIFORM, SORTED, REVERSE, NEARLY_SORTED, APPENDED_RUN -> {
+                for (int i = 0; i < length; i++) {
+                    array[i] = random.nextLong();
+                }
+            }
+                
+            case SMALL_RANGE -> {
+                for (int i = 0; i < length; i++) {
+                    array[i] = random.nextInt(SMALL_RANGE_BOUND);
+                }
+            }
+            
+            case FEW_DISTINCT, ZIPFIAN -> {
+                int[] indices = createIndices(length, random);
+                long[] values = new long[indices.length == 0 ? 0 : 
+                                         getNumberOfDistinctValues()];
+                
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = random.nextLong();
+                }
+                
+                for (int i = 0; i < length; i++) {
+                    array[i] = values[indices[i]];
+                }
+            }
+        }
+        
+        if (this == SORTED || this == REVERSE || this == NEARLY_SORTED) {
+            Arrays.sort(array);
+        }
+        
+        if (this == REVERSE) {
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                long tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+        
+        if (this == NEARLY_SORTED) {
+            for (int swap = 0; swap < length / NEARLY_SORTED_SWAP_RATIO; 
+                    swap++) {
+                int i = random.nextInt(length);
+                int j = random.nextInt(length);
+                long tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+        
+        if (this == APPENDED_RUN) {
+            int appendedRunIndex = length - length / APPENDED_RUN_RATIO;
+            Arrays.sort(array, 0, appendedRunIndex);
+            Arrays.sort(array, appendedRunIndex, length);
+        }
+        
+        return array;
+    }
+    
+    /**
+     * Returns the number of distinct values of {@link #FEW_DISTINCT} or 
+     * {@link #ZIPFIAN} data.
+     * 
+     * @return the number of distinct values.
+     */
+    private int getNumberOfDistinctValues() {
+        return this == FEW_DISTINCT ? FEW_DISTINCT_VALUES : 
+                                      ZIPF_DISTINCT_VALUES;
+    }
+    
+    /**
+     * Creates {@code length} indices into the array of distinct values.
+     * 
+     * @param length the number of indices.
+     * @param random the random number generator.
+     * @return the indices.
+     */
+    private int[] createIndices(int length, Random random) {
+        int[] indices = new int[length];
+        
+        if (this == FEW_DISTINCT) {
+            for (int i = 0; i < length; i++) {
+                indices[i] = random.nextInt(FEW_DISTINCT_VALUES);
+            }
+            
+            return indices;
+        }
+        
+        // Build the cumulative distribution of the Zipf law:
+        double[] cdf = new double[ZIPF_DISTINCT_VALUES];
+        double sum = 0.0;
+        
+        for (int k = 0; k < ZIPF_DISTINCT_VALUES; k++) {
+            sum += 1.0 / (k + 1);
+            cdf[k] = sum;
+        }
+        
+        for (int i = 0; i < length; i++) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            indices[i] = Math.min(index < 0 ? -index - 1 : index, 
+                                  ZIPF_DISTINCT_VALUES - 1);
+        }
+        
+        return indices;
+    }
+}
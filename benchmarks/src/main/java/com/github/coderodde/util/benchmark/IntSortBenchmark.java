@@ -0,0 +1,82 @@
+package com.github.coderodde.util.benchmark;
+
+import com.github.coderodde.util.LsdRadixsort;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sorting {@code int} arrays with {@code LsdRadixsort} against 
+ * {@code Arrays.sort} and {@code Arrays.parallelSort}. Each invocation first
+ * copies the pristine input into the work array; the copy costs the same for
+ * every contender.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms6g", "-Xmx6g" })
+@State(Scope.Thread)
+public class IntSortBenchmark {
+    
+    @Param({ "16", "256", "4096", "65536", "1048576", "16777216", "100000000" })
+    private int size;
+    
+    @Param
+    private Distribution distribution;
+    
+    /**
+     * The input data, never modified.
+     */
+    private int[] input;
+    
+    /**
+     * The array each invocation sorts.
+     */
+    private int[] array;
+    
+    @Setup
+    public void setup() {
+        input = distribution.createIntArray(size, new Random(13L));
+        array = new int[size];
+    }
+    
+    @Benchmark
+    public int[] lsdRadixsort() {
+        System.arraycopy(input, 0, array, 0, size);
+        LsdRadixsort.sort(array);
+        return array;
+    }
+    
+    @Benchmark
+    public int[] lsdRadixsortParallel() {
+        System.arraycopy(input, 0, array, 0, size);
+        LsdRadixsort.parallelSort(array);
+        return array;
+    }
+    
+    @Benchmark
+    public int[] arraysSort() {
+        System.arraycopy(input, 0, array, 0, size);
+        Arrays.sort(array);
+        return array;
+    }
+    
+    @Benchmark
+    public int[] arraysParallelSort() {
+        System.arraycopy(input, 0, array, 0, size);
+        Arrays.parallelSort(array);
+        return array;
+    }
+}
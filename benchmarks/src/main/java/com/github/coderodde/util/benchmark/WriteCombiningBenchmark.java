@@ -0,0 +1,102 @@
+package com.github.coderodde.util.benchmark;
+
+import com.github.coderodde.util.LsdRadixsort;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the direct scatter of {@code LsdRadixsort} against the scatter
+ * through write-combining buffers on large arrays. The latter is enabled by
+ * forking with {@code LsdRadixsort.WRITE_COMBINING_THRESHOLD_PROPERTY} set
+ * to zero, which also limits the digits to 11 bits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class WriteCombiningBenchmark {
+    
+    private static final String WRITE_COMBINING_ENABLED =
+            "-Dcom.github.coderodde.util.LsdRadixsort"
+                    + ".writeCombiningThreshold=0";
+    
+    @Param({ "10000000", "100000000" })
+    private int size;
+    
+    @Param({ "UNIFORM", "ZIPFIAN" })
+    private Distribution distribution;
+    
+    /**
+     * The input data, never modified.
+     */
+    private int[] intInput;
+    
+    /**
+     * The input data, never modified.
+     */
+    private long[] longInput;
+    
+    /**
+     * The array each invocation sorts.
+     */
+    private int[] intArray;
+    
+    /**
+     * The array each invocation sorts.
+     */
+    private long[] longArray;
+    
+    @Setup
+    public void setup() {
+        intInput = distribution.createIntArray(size, new Random(13L));
+        longInput = distribution.createLongArray(size, new Random(13L));
+        intArray = new int[size];
+        longArray = new long[size];
+    }
+    
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms6g", "-Xmx6g" })
+    public int[] intDirect() {
+        System.arraycopy(intInput, 0, intArray, 0, size);
+        LsdRadixsort.sort(intArray);
+        return intArray;
+    }
+    
+    @Benchmark
+    @Fork(value = 1,
+          jvmArgsAppend = { "-Xms6g", "-Xmx6g", WRITE_COMBINING_ENABLED })
+    public int[] intWriteCombining() {
+        System.arraycopy(intInput, 0, intArray, 0, size);
+        LsdRadixsort.sort(intArray);
+        return intArray;
+    }
+    
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms6g", "-Xmx6g" })
+    public long[] longDirect() {
+        System.arraycopy(longInput, 0, longArray, 0, size);
+        LsdRadixsort.sort(longArray);
+        return longArray;
+    }
+    
+    @Benchmark
+    @Fork(value = 1,
+          jvmArgsAppend = { "-Xms6g", "-Xmx6g", WRITE_COMBINING_ENABLED })
+    public long[] longWriteCombining() {
+        System.arraycopy(longInput, 0, longArray, 0, size);
+        LsdRadixsort.sort(longArray);
+        return longArray;
+    }
+}
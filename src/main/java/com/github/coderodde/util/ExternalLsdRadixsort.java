@@ -0,0 +1,612 @@
+package com.github.coderodde.util;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * This class provides the method for sorting binary files of {@code long}
+ * keys that are too large to be sorted in memory. The keys are first
+ * distributed by their most significant byte into 256 bucket files, exactly
+ * as the most significant digit is bucketed by {@link LsdRadixsort}. After
+ * that, each bucket in turn is loaded, sorted with {@link LsdRadixsort} and
+ * appended to the output file. As long as every bucket fits in the memory
+ * budget, the data is read and written only twice, both times sequentially.
+ * A bucket exceeding the memory budget is distributed further by the next
+ * byte.
+ */
+public final class ExternalLsdRadixsort {
+    
+    /**
+     * The minimum supported memory budget in bytes.
+     */
+    public static final long MINIMUM_MEMORY_BUDGET = 1L << 22;
+    
+    /**
+     * The number of buckets in a distribution pass.
+     */
+    private static final int BUCKETS = 256;
+    
+    /**
+     * The mask selecting the bucket bits of a key.
+     */
+    private static final int BUCKET_MASK = BUCKETS - 1;
+    
+    /**
+     * The index of the most significant byte in a {@code long} key.
+     */
+    private static final int MOST_SIGNIFICANT_BYTE_INDEX = Long.BYTES - 1;
+    
+    /**
+     * The size of the buffer for reading and writing whole files, in bytes.
+     */
+    private static final int IO_BUFFER_SIZE = 1 << 20;
+    
+    /**
+     * The maximum size of the write buffer of a single bucket, in bytes.
+     */
+    private static final int MAXIMUM_BUCKET_BUFFER_SIZE = 1 << 16;
+    
+    /**
+     * The maximum length of a key array.
+     */
+    private static final int MAXIMUM_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    
+    /**
+     * The prefix of the directory holding the bucket files.
+     */
+    private static final String WORK_DIRECTORY_PREFIX = "lsd-radixsort-";
+    
+    private ExternalLsdRadixsort() {}
+    
+    /**
+     * Sorts the big-endian {@code long} keys of the file {@code input} into
+     * ascending order, and writes them to the file {@code output}. Uses at
+     * most half of the maximum heap size.
+     * 
+     * @param input  the file holding the keys to sort.
+     * @param output the file to write the sorted keys to.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void sort(Path input, Path output) throws IOException {
+        sort(input, output, Runtime.getRuntime().maxMemory() / 2);
+    }
+    
+    /**
+     * Sorts the big-endian {@code long} keys of the file {@code input} into
+     * ascending order, and writes them to the file {@code output}.
+     * 
+     * @param input        the file holding the keys to sort.
+     * @param output       the file to write the sorted keys to.
+     * @param memoryBudget the maximum number of bytes of memory to use.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void sort(Path input, Path output, long memoryBudget)
+            throws IOException {
+        sort(input, output, memoryBudget, ByteOrder.BIG_ENDIAN);
+    }
+    
+    /**
+     * Sorts the {@code long} keys of the file {@code input}, stored in
+     * {@code byteOrder}, into ascending order, and writes them to the file
+     * {@code output} in the same byte order. The bucket files are created in
+     * the directory of {@code output}.
+     * 
+     * @param input        the file holding the keys to sort.
+     * @param output       the file to write the sorted keys to.
+     * @param memoryBudget the maximum number of bytes of memory to use.
+     * @param byteOrder    the byte order of the keys.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void sort(Path input,
+                            Path output,
+                            long memoryBudget,
+                            ByteOrder byteOrder) throws IOException {
+        sort(input,
+             output,
+             memoryBudget,
+             byteOrder,
+             output.toAbsolutePath().getParent());
+    }
+    
+    /**
+     * Sorts the {@code long} keys of the file {@code input}, stored in
+     * {@code byteOrder}, into ascending order, and writes them to the file
+     * {@code output} in the same byte order. {@code input} and
+     * {@code output} may be the same file. The bucket files are created in a
+     * fresh subdirectory of {@code temporaryDirectory}, which must have room
+     * for about as much data as there is in {@code input}, and are deleted
+     * before this method returns.
+     * 
+     * @param input              the file holding the keys to sort.
+     * @param output             the file to write the sorted keys to.
+     * @param memoryBudget       the maximum number of bytes of memory to use.
+     *                           Must be at least
+     *                           {@code MINIMUM_MEMORY_BUDGET}.
+     * @param byteOrder          the byte order of the keys.
+     * @param temporaryDirectory the directory to create the bucket files in.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void sort(Path input,
+                            Path output,
+                            long memoryBudget,
+                            ByteOrder byteOrder,
+                            Path temporaryDirectory) throws IOException {
+        Objects.requireNonNull(input, "The input file is null.");
+        Objects.requireNonNull(output, "The output file is null.");
+        Objects.requireNonNull(byteOrder, "The input byte order is null.");
+        Objects.requireNonNull(temporaryDirectory,
+                               "The temporary directory is null.");
+        checkMemoryBudget(memoryBudget);
+        
+        long inputSize = Files.size(input);
+        
+        if (inputSize % Long.BYTES != 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The size of the input file (%d) is not a " +
+                            "multiple of %d.",
+                            inputSize,
+                            Long.BYTES));
+        }
+        
+        Path workDirectory =
+                Files.createTempDirectory(temporaryDirectory,
+                                          WORK_DIRECTORY_PREFIX);
+        
+        try (Sorter sorter = new Sorter(output,
+                                        memoryBudget,
+                                        byteOrder,
+                                        workDirectory)) {
+            sorter.sortFile(input,
+                            inputSize,
+                            MOST_SIGNIFICANT_BYTE_INDEX,
+                            false);
+            
+            // Creates an empty output file for empty input.
+            sorter.getOutputChannel();
+        } finally {
+            deleteDirectory(workDirectory);
+        }
+    }
+    
+    /**
+     * Checks that the memory budget is large enough.
+     * 
+     * @param memoryBudget the memory budget to check.
+     */
+    private static void checkMemoryBudget(long memoryBudget) {
+        if (memoryBudget < MINIMUM_MEMORY_BUDGET) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "memoryBudget(%d) < MINIMUM_MEMORY_BUDGET(%d).",
+                            memoryBudget,
+                            MINIMUM_MEMORY_BUDGET));
+        }
+    }
+    
+    /**
+     * Deletes the work directory along with the bucket files left behind by
+     * a failed sort.
+     * 
+     * @param directory the directory to delete.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (DirectoryStream<Path> stream =
+                Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                Files.deleteIfExists(file);
+            }
+        }
+        
+        Files.deleteIfExists(directory);
+    }
+    
+    /**
+     * Writes all the remaining bytes of {@code buffer} to {@code channel}.
+     * 
+     * @param channel the channel to write to.
+     * @param buffer  the buffer to write.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    /**
+     * Holds the buffers and the output file of a single external sort.
+     */
+    private static final class Sorter implements Closeable {
+        
+        /**
+         * The file to write the sorted keys to.
+         */
+        private final Path output;
+        
+        /**
+         * The byte order of the keys.
+         */
+        private final ByteOrder byteOrder;
+        
+        /**
+         * The directory to create the bucket files in.
+         */
+        private final Path workDirectory;
+        
+        /**
+         * The maximum number of keys sorted in memory at once.
+         */
+        private final int maximumKeysInMemory;
+        
+        /**
+         * The size of the write buffer of each bucket, in bytes.
+         */
+        private final int bucketBufferSize;
+        
+        /**
+         * The buffer for reading and writing whole files.
+         */
+        private final ByteBuffer ioBuffer;
+        
+        /**
+         * The write buffers of the buckets. Allocated on the first
+         * distribution pass.
+         */
+        private ByteBuffer[] bucketBuffers;
+        
+        /**
+         * The array the keys of a bucket are loaded into.
+         */
+        private long[] keys = new long[0];
+        
+        /**
+         * The workspace for sorting {@code keys}.
+         */
+        private LsdRadixsort.Workspace workspace =
+                new LsdRadixsort.Workspace();
+        
+        /**
+         * The channel of the output file. Opened on the first write, so that
+         * the input is read completely before the output is truncated.
+         */
+        private FileChannel outputChannel;
+        
+        Sorter(Path output,
+               long memoryBudget,
+               ByteOrder byteOrder,
+               Path workDirectory) {
+            this.output = output;
+            this.byteOrder = byteOrder;
+            this.workDirectory = workDirectory;
+            this.bucketBufferSize =
+                    (int) Math.min(MAXIMUM_BUCKET_BUFFER_SIZE,
+                                   memoryBudget / (4 * BUCKETS))
+                    & -Long.BYTES;
+            
+            // A key takes 8 bytes in the key array and another 8
+            // bytes in the sorting buffer.
+            long sortingBudget = memoryBudget
+                               - IO_BUFFER_SIZE
+                               - (long) BUCKETS * bucketBufferSize;
+            
+            this.maximumKeysInMemory =
+                    (int) Math.min(MAXIMUM_ARRAY_LENGTH,
+                                   sortingBudget / (2 * Long.BYTES));
+            
+            this.ioBuffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE)
+                                      .order(byteOrder);
+        }
+        
+        /**
+         * Sorts the keys of {@code file} and appends them to the output file.
+         * If the keys fit in memory, they are sorted with
+         * {@link LsdRadixsort}. Otherwise, they are distributed into bucket
+         * files by the byte at {@code byteIndex}, and each bucket is sorted
+         * recursively by the lower bytes.
+         * 
+         * @param file      the file holding the keys.
+         * @param fileSize  the size of {@code file} in bytes.
+         * @param byteIndex the index of the most significant byte in which
+         *                  the keys may still differ.
+         * @param temporary whether {@code file} is a bucket file to delete.
+         * @throws IOException if an I/O error occurs.
+         */
+        void sortFile(Path file,
+                      long fileSize,
+                      int byteIndex,
+                      boolean temporary) throws IOException {
+            long length = fileSize / Long.BYTES;
+            
+            if (length <= maximumKeysInMemory) {
+                int keysLength = (int) length;
+                loadKeys(file, keysLength);
+                
+                if (temporary) {
+                    Files.delete(file);
+                }
+                
+                LsdRadixsort.sort(keys, 0, keysLength, workspace);
+                writeKeys(keysLength);
+                return;
+            }
+            
+            if (byteIndex < 0) {
+                // All the keys are equal.
+                appendFile(file);
+                
+                if (temporary) {
+                    Files.delete(file);
+                }
+                
+                return;
+            }
+            
+            Path[] bucketFiles = distribute(file, byteIndex);
+            
+            if (temporary) {
+                Files.delete(file);
+            }
+            
+            for (Path bucketFile : bucketFiles) {
+                if (bucketFile != null) {
+                    sortFile(bucketFile,
+                             Files.size(bucketFile),
+                             byteIndex - 1,
+                             true);
+                }
+            }
+        }
+        
+        /**
+         * Distributes the keys of {@code file} into bucket files by the byte
+         * at {@code byteIndex}. The keys within a bucket keep their relative
+         * order.
+         * 
+         * @param file      the file holding the keys.
+         * @param byteIndex the index of the byte to distribute by.
+         * @return the bucket files in ascending order of their keys, with
+         *         {@code null} in place of empty buckets.
+         * @throws IOException if an I/O error occurs.
+         */
+        private Path[] distribute(Path file, int byteIndex)
+                throws IOException {
+            if (bucketBuffers == null) {
+                bucketBuffers = new ByteBuffer[BUCKETS];
+                
+                for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                    bucketBuffers[bucket] =
+                            ByteBuffer.allocateDirect(bucketBufferSize)
+                                      .order(byteOrder);
+                }
+            }
+            
+            Path[] bucketFiles = new Path[BUCKETS];
+            FileChannel[] bucketChannels = new FileChannel[BUCKETS];
+            int shift = byteIndex * Byte.SIZE;
+            
+            try (FileChannel inputChannel =
+                    FileChannel.open(file, StandardOpenOption.READ)) {
+                ioBuffer.clear();
+                
+                while (inputChannel.read(ioBuffer) != -1) {
+                    ioBuffer.flip();
+                    
+                    while (ioBuffer.remaining() >= Long.BYTES) {
+                        long key = ioBuffer.getLong();
+                        
+                        // Flipping the sign bit affects only the
+                        // most significant byte, so Long.MIN_VALUE works as
+                        // the sign mask for all the bytes.
+                        int bucket =
+                                LsdRadixsort.extractCounterIndex(
+                                        key,
+                                        shift,
+                                        BUCKET_MASK,
+                                        Long.MIN_VALUE);
+                        
+                        ByteBuffer bucketBuffer = bucketBuffers[bucket];
+                        bucketBuffer.putLong(key);
+                        
+                        if (!bucketBuffer.hasRemaining()) {
+                            flushBucket(bucket, bucketFiles, bucketChannels);
+                        }
+                    }
+                    
+                    ioBuffer.compact();
+                }
+                
+                for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                    if (bucketBuffers[bucket].position() > 0) {
+                        flushBucket(bucket, bucketFiles, bucketChannels);
+                    }
+                }
+            } finally {
+                for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                    bucketBuffers[bucket].clear();
+                    
+                    if (bucketChannels[bucket] != null) {
+                        bucketChannels[bucket].close();
+                    }
+                }
+            }
+            
+            return bucketFiles;
+        }
+        
+        /**
+         * Writes the write buffer of {@code bucket} to its bucket file,
+         * creating the file on the first write.
+         * 
+         * @param bucket         the index of the bucket.
+         * @param bucketFiles    the bucket files.
+         * @param bucketChannels the channels of the bucket files.
+         * @throws IOException if an I/O error occurs.
+         */
+        private void flushBucket(int bucket,
+                                 Path[] bucketFiles,
+                                 FileChannel[] bucketChannels)
+                throws IOException {
+            if (bucketChannels[bucket] == null) {
+                bucketFiles[bucket] =
+                        Files.createTempFile(workDirectory, "bucket-", null);
+                
+                bucketChannels[bucket] =
+                        FileChannel.open(bucketFiles[bucket],
+                                         StandardOpenOption.WRITE);
+            }
+            
+            ByteBuffer bucketBuffer = bucketBuffers[bucket];
+            bucketBuffer.flip();
+            writeFully(bucketChannels[bucket], bucketBuffer);
+            bucketBuffer.clear();
+        }
+        
+        /**
+         * Loads the first {@code length} keys of {@code file} into
+         * {@code keys}.
+         * 
+         * @param file   the file holding the keys.
+         * @param length the number of keys to load.
+         * @throws IOException if an I/O error occurs.
+         */
+        private void loadKeys(Path file, int length) throws IOException {
+            ensureKeysCapacity(length);
+            
+            try (FileChannel inputChannel =
+                    FileChannel.open(file, StandardOpenOption.READ)) {
+                ioBuffer.clear();
+                int index = 0;
+                
+                while (index < length) {
+                    if (inputChannel.read(ioBuffer) == -1) {
+                        throw new EOFException(
+                                String.format(
+                                        "File %s ended after %d keys.",
+                                        file,
+                                        index));
+                    }
+                    
+                    ioBuffer.flip();
+                    
+                    int count = Math.min(length - index,
+                                         ioBuffer.remaining() / Long.BYTES);
+                    
+                    ioBuffer.asLongBuffer().get(keys, index, count);
+                    ioBuffer.position(ioBuffer.position()
+                                    + count * Long.BYTES);
+                    ioBuffer.compact();
+                    index += count;
+                }
+            }
+        }
+        
+        /**
+         * Appends the first {@code length} keys of {@code keys} to the output
+         * file.
+         * 
+         * @param length the number of keys to write.
+         * @throws IOException if an I/O error occurs.
+         */
+        private void writeKeys(int length) throws IOException {
+            FileChannel channel = getOutputChannel();
+            int index = 0;
+            
+            while (index < length) {
+                int count = Math.min(length - index,
+                                     IO_BUFFER_SIZE / Long.BYTES);
+                
+                ioBuffer.clear();
+                ioBuffer.asLongBuffer().put(keys, index, count);
+                ioBuffer.limit(count * Long.BYTES);
+                writeFully(channel, ioBuffer);
+                index += count;
+            }
+        }
+        
+        /**
+         * Appends the contents of {@code file} to the output file as is.
+         * 
+         * @param file the file to append.
+         * @throws IOException if an I/O error occurs.
+         */
+        private void appendFile(Path file) throws IOException {
+            FileChannel channel = getOutputChannel();
+            
+            try (FileChannel inputChannel =
+                    FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = inputChannel.size();
+                long position = 0L;
+                
+                while (position < size) {
+                    position += inputChannel.transferTo(position,
+                                                        size - position,
+                                                        channel);
+                }
+            }
+        }
+        
+        /**
+         * Makes sure {@code keys} can hold {@code length} keys. Grows by at
+         * least 50% in order to amortize the allocations, but never beyond
+         * {@code maximumKeysInMemory}. The workspace is replaced along with
+         * the key array, so that its buffer does not outgrow the budget
+         * either.
+         * 
+         * @param length the required number of keys.
+         */
+        private void ensureKeysCapacity(int length) {
+            if (keys.length >= length) {
+                return;
+            }
+            
+            long grownCapacity = keys.length + (keys.length >> 1);
+            int capacity = (int) Math.min(maximumKeysInMemory,
+                                          Math.max(length, grownCapacity));
+            
+            keys = null;
+            workspace = null;
+            keys = new long[capacity];
+            workspace = new LsdRadixsort.Workspace();
+            workspace.getLongBuffer(capacity);
+        }
+        
+        /**
+         * Returns the channel of the output file, opening and truncating the
+         * file on the first call.
+         * 
+         * @return the channel of the output file.
+         * @throws IOException if an I/O error occurs.
+         */
+        FileChannel getOutputChannel() throws IOException {
+            if (outputChannel == null) {
+                outputChannel =
+                        FileChannel.open(
+                                output,
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE,
+                                StandardOpenOption.TRUNCATE_EXISTING);
+            }
+            
+            return outputChannel;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (outputChannel != null) {
+                outputChannel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,6586 @@
+package com.github.coderodde.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class provides the method for sorting {@code byte}, {@code short}, 
+ * {@code char}, {@code int}, {@code long}, {@code float} and {@code double} 
+ * arrays using least-significant digit (LSD) radix sort. {@code int} and 
+ * {@code long} arrays may also be sorted as unsigned values, and 
+ * {@code IntBuffer}s and {@code LongBuffer}s, including direct and 
+ * memory-mapped ones, may be sorted in place. Object arrays and lists may be
+ * sorted by an {@code int} or {@code long} key extracted from each element,
+ * and {@code String}s and {@code byte} strings are sorted by a 
+ * most-significant digit (MSD) variant. 
+ * The digit width is selected automatically from the range length (8, 11 or 
+ * 16 bits), or may be given explicitly. Both sequential and parallel 
+ * (fork/join) variants are provided. Selecting the {@code k}th smallest 
+ * element, sorting only the {@code k} smallest elements and finding the 
+ * {@code k} largest elements of {@code int} and {@code long} ranges take 
+ * expected linear time. The sorts of {@code int} and {@code long} ranges may
+ * be instrumented with a {@link SortListener} and with JDK Flight Recorder 
+ * events.
+ */
+public final class LsdRadixsort {
+    
+    /**
+     * The minimum supported number of bits in a digit.
+     */
+    public static final int MINIMUM_DIGIT_BITS = 1;
+    
+    /**
+     * The maximum supported number of bits in a digit.
+     */
+    public static final int MAXIMUM_DIGIT_BITS = 16;
+    
+    /**
+     * The number of counters in the counter array of a byte-wide digit.
+     */
+    private static final int RADIX = 256;
+    
+    /**
+     * The minimum range length for which 11-bit digits are selected 
+     * automatically.
+     */
+    private static final int ELEVEN_BIT_DIGIT_THRESHOLD = 1 << 19;
+    
+    /**
+     * The minimum range length for which 16-bit digits are selected 
+     * automatically.
+     */
+    private static final int SIXTEEN_BIT_DIGIT_THRESHOLD = 1 << 22;
+    
+    /**
+     * The name of the system property that overrides the default small range
+     * threshold for {@code int} arrays.
+     */
+    public static final String SMALL_INT_RANGE_THRESHOLD_PROPERTY = 
+            "com.github.coderodde.util.LsdRadixsort.smallIntRangeThreshold";
+    
+    /**
+     * The name of the system property that overrides the default small range
+     * threshold for {@code long} arrays.
+     */
+    public static final String SMALL_LONG_RANGE_THRESHOLD_PROPERTY = 
+            "com.github.coderodde.util.LsdRadixsort.smallLongRangeThreshold";
+    
+    /**
+     * The default small range threshold for {@code int} arrays. Measured on 
+     * random data against {@code Arrays.sort}.
+     */
+    private static final int DEFAULT_SMALL_INT_RANGE_THRESHOLD = 64;
+    
+    /**
+     * The default small range threshold for {@code long} arrays. Measured on 
+     * random data against {@code Arrays.sort}.
+     */
+    private static final int DEFAULT_SMALL_LONG_RANGE_THRESHOLD = 256;
+    
+    /**
+     * {@code int} ranges shorter than this are not radix sorted, but passed to
+     * {@code sortSmallRange}.
+     */
+    private static final int SMALL_INT_RANGE_THRESHOLD = 
+            readThreshold(SMALL_INT_RANGE_THRESHOLD_PROPERTY,
+                          DEFAULT_SMALL_INT_RANGE_THRESHOLD);
+    
+    /**
+     * {@code long} ranges shorter than this are not radix sorted, but passed 
+     * to {@code sortSmallRange}.
+     */
+    private static final int SMALL_LONG_RANGE_THRESHOLD = 
+            readThreshold(SMALL_LONG_RANGE_THRESHOLD_PROPERTY,
+                          DEFAULT_SMALL_LONG_RANGE_THRESHOLD);
+    
+    /**
+     * The name of the system property that sets the minimum length of the 
+     * {@code int} and {@code long} ranges whose elements are scattered 
+     * through write-combining buffers.
+     */
+    public static final String WRITE_COMBINING_THRESHOLD_PROPERTY = 
+            "com.github.coderodde.util.LsdRadixsort.writeCombiningThreshold";
+    
+    /**
+     * The default write-combining threshold, which disables write-combining.
+     * On the JVMs and machines measured so far, the direct scatter was never
+     * slower, as the hardware already combines its writes well enough.
+     */
+    private static final int DEFAULT_WRITE_COMBINING_THRESHOLD = 
+            Integer.MAX_VALUE;
+    
+    /**
+     * {@code int} and {@code long} ranges at least this long are scattered 
+     * through write-combining buffers, provided that their digits are at 
+     * most {@code WRITE_COMBINING_MAXIMUM_DIGIT_BITS} bits wide.
+     */
+    private static final int WRITE_COMBINING_THRESHOLD = 
+            readThreshold(WRITE_COMBINING_THRESHOLD_PROPERTY,
+                          DEFAULT_WRITE_COMBINING_THRESHOLD);
+    
+    /**
+     * The maximum digit width for which write-combining is used. The 
+     * write-combining buffers of wider digits would not fit in the L2 cache.
+     */
+    private static final int WRITE_COMBINING_MAXIMUM_DIGIT_BITS = 11;
+    
+    /**
+     * The assumed size of a cache line in bytes.
+     */
+    private static final int CACHE_LINE_BYTES = 64;
+    
+    /**
+     * The number of {@code int}s in a cache line.
+     */
+    private static final int INT_LINE_LENGTH = 
+            CACHE_LINE_BYTES / Integer.BYTES;
+    
+    /**
+     * The number of {@code long}s in a cache line.
+     */
+    private static final int LONG_LINE_LENGTH = 
+            CACHE_LINE_BYTES / Long.BYTES;
+    
+    /**
+     * The name of the system property that enables the vectorized run scan
+     * kernels when set to {@code true}. The kernels are compiled only by the
+     * {@code vector} build profile ({@code mvn -Pvector package}), and they
+     * need the {@code jdk.incubator.vector} module, which must be added to 
+     * the JVM via {@code --add-modules jdk.incubator.vector}. Without either,
+     * or on hardware with vectors narrower than 256 bits, the scalar code is
+     * used.
+     */
+    public static final String VECTORIZATION_PROPERTY = 
+            "com.github.coderodde.util.LsdRadixsort.vectorize";
+    
+    /**
+     * The name of the incubating Vector API module.
+     */
+    private static final String VECTOR_MODULE_NAME = "jdk.incubator.vector";
+    
+    /**
+     * The name of the class implementing the vectorized kernels.
+     */
+    private static final String VECTORIZED_KERNELS_CLASS_NAME = 
+            "com.github.coderodde.util.VectorizedKernels";
+    
+    /**
+     * The vectorized kernels, or {@code null} if they are not used.
+     */
+    private static final RunEndFinder VECTORIZED_KERNELS = 
+            Boolean.getBoolean(VECTORIZATION_PROPERTY) ?
+            loadVectorizedKernels() :
+            null;
+    
+    /**
+     * Whether the vectorized kernels are used.
+     */
+    private static final boolean VECTORIZED = VECTORIZED_KERNELS != null;
+    
+    /**
+     * The minimum length of a {@code short} or {@code char} range sorted by 
+     * counting the occurrences of each of the {@code 2^16} values directly.
+     */
+    private static final int DIRECT_COUNTING_SORT_THRESHOLD = 1 << 15;
+    
+    /**
+     * Ranges of at most this length are sorted with insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    
+    /**
+     * The maximum number of merge passes over a presorted range. Merging 
+     * {@code k} runs takes {@code ceil(log2(k))} passes, each of which costs
+     * up to about two radix sort passes when the runs interleave randomly. 
+     * Hence a range of more than {@code 2^(passes / 2)} runs, where 
+     * {@code passes} is the number of radix sort passes, or of more than 
+     * {@code 2^MAXIMUM_MERGE_PASSES} runs is radix sorted instead.
+     */
+    private static final int MAXIMUM_MERGE_PASSES = 8;
+    
+    /**
+     * The number of counters needed by the MSD radix sort of strings and byte
+     * strings: one per byte value, one for the strings that have run out of 
+     * characters, and one extra for computing the bucket boundaries.
+     */
+    private static final int VARIABLE_LENGTH_COUNTER_MAP_LENGTH = RADIX + 2;
+    
+    /**
+     * The initial capacity of the stack of ranges in the MSD radix sort of 
+     * strings and byte strings.
+     */
+    private static final int INITIAL_RANGE_STACK_CAPACITY = 4 * RADIX;
+    
+    /**
+     * The minimum length of a chunk processed by a single task in parallel 
+     * sorting. Ranges shorter than twice this are sorted sequentially.
+     */
+    private static final int MINIMUM_PARALLEL_CHUNK_LENGTH = 1 << 13;
+    
+    /**
+     * The maximum length of a range sorted with the thread-local default 
+     * workspace. Longer ranges get a fresh workspace so that no thread keeps
+     * huge buffers alive after it is done with them.
+     */
+    private static final int MAXIMUM_THREAD_LOCAL_BUFFER_LENGTH = 1 << 20;
+    
+    /**
+     * The binary logarithm of the number of bytes in a chunk of the off-heap
+     * scratch buffer. A single direct buffer holds at most 
+     * {@code Integer.MAX_VALUE} bytes, so the scratch buffer for sorting 
+     * {@code IntBuffer}s and {@code LongBuffer}s is split into chunks of 
+     * 1 GiB.
+     */
+    static final int OFF_HEAP_CHUNK_SHIFT = 30;
+    
+    /**
+     * The binary logarithm of the number of {@code int}s in an off-heap 
+     * chunk.
+     */
+    private static final int INT_CHUNK_SHIFT = OFF_HEAP_CHUNK_SHIFT - 2;
+    
+    /**
+     * The binary logarithm of the number of {@code long}s in an off-heap 
+     * chunk.
+     */
+    private static final int LONG_CHUNK_SHIFT = OFF_HEAP_CHUNK_SHIFT - 3;
+    
+    /**
+     * The default workspace of each thread.
+     */
+    private static final ThreadLocal<Workspace> THREAD_LOCAL_WORKSPACE = 
+            ThreadLocal.withInitial(Workspace::new);
+    
+    private LsdRadixsort() {}
+    
+    /**
+     * Installs the listener notified with the statistics of each sort of an
+     * {@code int} or {@code long} range. The statistics are also committed as
+     * {@code com.github.coderodde.util.Sort} events to the JDK Flight 
+     * Recorder whenever it records them. With no listener installed and the 
+     * event disabled, no statistics are collected.
+     * 
+     * @param listener the listener, or {@code null} to uninstall the current
+     *                 one.
+     */
+    public static void setSortListener(SortListener listener) {
+        SortRecorder.setSortListener(listener);
+    }
+    
+    /**
+     * Returns the installed sort listener.
+     * 
+     * @return the listener, or {@code null} if none is installed.
+     */
+    public static SortListener getSortListener() {
+        return SortRecorder.getSortListener();
+    }
+    
+    /**
+     * Returns whether the vectorized kernels are in use. They are used if the
+     * system property {@link #VECTORIZATION_PROPERTY} is {@code true}, the
+     * {@code jdk.incubator.vector} module is present and the hardware
+     * supports vectors of at least 256 bits.
+     * 
+     * @return {@code true} if the vectorized kernels are in use.
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+    
+    /**
+     * Sorts the entire {@code int} array into ascending order.
+     * 
+     * @param array the array to sort. 
+     */
+    public static void sort(int[] array) {
+        sort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the entire {@code long} array into ascending order.
+     * 
+     * @param array the array to sort. 
+     */
+    public static void sort(long[] array) {
+        sort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order. Ranges of at most {@code MAXIMUM_THREAD_LOCAL_BUFFER_LENGTH} 
+     * elements are sorted using the workspace of the calling thread, so that 
+     * repeated sorting does not allocate.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sort(int[] array, int fromIndex, int toIndex) {
+        sort(array, 
+             fromIndex, 
+             toIndex, 
+             getDefaultWorkspace(toIndex - fromIndex));
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order. Ranges of at most {@code MAXIMUM_THREAD_LOCAL_BUFFER_LENGTH} 
+     * elements are sorted using the workspace of the calling thread, so that 
+     * repeated sorting does not allocate.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sort(long[] array, int fromIndex, int toIndex) {
+        sort(array, 
+             fromIndex, 
+             toIndex, 
+             getDefaultWorkspace(toIndex - fromIndex));
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order using the buffers of {@code workspace}. Once the workspace has 
+     * grown large enough, this method does not allocate. The digit width is
+     * selected automatically from the length of the range.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param workspace the workspace providing the scratch buffers.
+     */
+    public static void sort(int[] array, 
+                            int fromIndex, 
+                            int toIndex, 
+                            Workspace workspace) {
+        sort(array,
+             fromIndex,
+             toIndex,
+             selectSortRangeDigitBits(toIndex - fromIndex),
+             workspace);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order by {@code digitBits}-bit digits. Wider digits mean fewer passes 
+     * over the data but larger counter arrays.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param digitBits the number of bits in a digit. Must be within 
+     *                  {@code [MINIMUM_DIGIT_BITS, MAXIMUM_DIGIT_BITS]}.
+     */
+    public static void sort(int[] array, 
+                            int fromIndex, 
+                            int toIndex, 
+                            int digitBits) {
+        sort(array,
+             fromIndex,
+             toIndex,
+             digitBits,
+             getDefaultWorkspace(toIndex - fromIndex));
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order by {@code digitBits}-bit digits using the buffers of 
+     * {@code workspace}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param digitBits the number of bits in a digit. Must be within 
+     *                  {@code [MINIMUM_DIGIT_BITS, MAXIMUM_DIGIT_BITS]}.
+     * @param workspace the workspace providing the scratch buffers.
+     */
+    public static void sort(int[] array, 
+                            int fromIndex, 
+                            int toIndex, 
+                            int digitBits,
+                            Workspace workspace) {
+        Objects.requireNonNull(workspace, "The input workspace is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        checkDigitBits(digitBits);
+        
+        sortRange(array,
+                  fromIndex,
+                  toIndex,
+                  digitBits,
+                  workspace,
+                  Integer.MIN_VALUE);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order using the buffers of {@code workspace}. Once the workspace has 
+     * grown large enough, this method does not allocate. The digit width is
+     * selected automatically from the length of the range.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param workspace the workspace providing the scratch buffers.
+     */
+    public static void sort(long[] array, 
+                            int fromIndex, 
+                            int toIndex, 
+                            Workspace workspace) {
+        sort(array,
+             fromIndex,
+             toIndex,
+             selectSortRangeDigitBits(toIndex - fromIndex),
+             workspace);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order by {@code digitBits}-bit digits. Wider digits mean fewer passes 
+     * over the data but larger counter arrays.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param digitBits the number of bits in a digit. Must be within 
+     *                  {@code [MINIMUM_DIGIT_BITS, MAXIMUM_DIGIT_BITS]}.
+     */
+    public static void sort(long[] array, 
+                            int fromIndex, 
+                            int toIndex, 
+                            int digitBits) {
+        sort(array,
+             fromIndex,
+             toIndex,
+             digitBits,
+             getDefaultWorkspace(toIndex - fromIndex));
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order by {@code digitBits}-bit digits using the buffers of 
+     * {@code workspace}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param digitBits the number of bits in a digit. Must be within 
+     *                  {@code [MINIMUM_DIGIT_BITS, MAXIMUM_DIGIT_BITS]}.
+     * @param workspace the workspace providing the scratch buffers.
+     */
+    public static void sort(long[] array, 
+                            int fromIndex, 
+                            int toIndex, 
+                            int digitBits,
+                            Workspace workspace) {
+        Objects.requireNonNull(workspace, "The input workspace is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        checkDigitBits(digitBits);
+        
+        sortRange(array,
+                  fromIndex,
+                  toIndex,
+                  digitBits,
+                  workspace,
+                  Long.MIN_VALUE);
+    }
+    
+    /**
+     * Sorts the entire {@code float} array into ascending order. The order is
+     * the same as the one of {@code Arrays.sort(float[])}: {@code -0.0} 
+     * precedes {@code 0.0}, and all the NaN values are put at the end.
+     * 
+     * @param array the array to sort. 
+     */
+    public static void sort(float[] array) {
+        sort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order. The order is the same as the one of 
+     * {@code Arrays.sort(float[], int, int)}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sort(float[] array, int fromIndex, int toIndex) {
+        sort(array, 
+             fromIndex, 
+             toIndex, 
+             getDefaultWorkspace(toIndex - fromIndex));
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order using the buffers of {@code workspace}. The order is the same as
+     * the one of {@code Arrays.sort(float[], int, int)}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param workspace the workspace providing the scratch buffers.
+     */
+    public static void sort(float[] array, 
+                            int fromIndex, 
+                            int toIndex, 
+                            Workspace workspace) {
+        Objects.requireNonNull(workspace, "The input workspace is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < SMALL_INT_RANGE_THRESHOLD) {
+            // Radix sort does not pay off on short ranges:
+            Arrays.sort(array, fromIndex, toIndex);
+            return;
+        }
+        
+        // NaNs have no place in the order of the sortable bits, move them to
+        // the end of the range:
+        toIndex = moveNaNsToEnd(array, fromIndex, toIndex);
+        rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < 2) {
+            // Trivially sorted:
+            return;
+        }
+        
+        int digitBits = selectDigitBits(rangeLength);
+        int passes = computeNumberOfPasses(Integer.SIZE, digitBits);
+        
+        // Spawn sorting:
+        sortImpl(array,
+                 workspace.getFloatBuffer(rangeLength), 
+                 workspace.getCounterMap(passes << digitBits),
+                 fromIndex,
+                 toIndex,
+                 digitBits);
+    }
+    
+    /**
+     * Sorts the entire {@code double} array into ascending order. The order is
+     * the same as the one of {@code Arrays.sort(double[])}: {@code -0.0} 
+     * precedes {@code 0.0}, and all the NaN values are put at the end.
+     * 
+     * @param array the array to sort. 
+     */
+    public static void sort(double[] array) {
+        sort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order. The order is the same as the one of 
+     * {@code Arrays.sort(double[], int, int)}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sort(double[] array, int fromIndex, int toIndex) {
+        sort(array, 
+             fromIndex, 
+             toIndex, 
+             getDefaultWorkspace(toIndex - fromIndex));
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order using the buffers of {@code workspace}. The order is the same as
+     * the one of {@code Arrays.sort(double[], int, int)}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param workspace the workspace providing the scratch buffers.
+     */
+    public static void sort(double[] array, 
+                            int fromIndex, 
+                            int toIndex, 
+                            Workspace workspace) {
+        Objects.requireNonNull(workspace, "The input workspace is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < SMALL_LONG_RANGE_THRESHOLD) {
+            // Radix sort does not pay off on short ranges:
+            Arrays.sort(array, fromIndex, toIndex);
+            return;
+        }
+        
+        // NaNs have no place in the order of the sortable bits, move them to
+        // the end of the range:
+        toIndex = moveNaNsToEnd(array, fromIndex, toIndex);
+        rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < 2) {
+            // Trivially sorted:
+            return;
+        }
+        
+        int digitBits = selectDigitBits(rangeLength);
+        int passes = computeNumberOfPasses(Long.SIZE, digitBits);
+        
+        // Spawn sorting:
+        sortImpl(array,
+                 workspace.getDoubleBuffer(rangeLength), 
+                 workspace.getCounterMap(passes << digitBits),
+                 fromIndex,
+                 toIndex,
+                 digitBits);
+    }
+    
+    /**
+     * Sorts the entire {@code int} array into ascending order, treating the
+     * elements as unsigned values.
+     * 
+     * @param array the array to sort. 
+     */
+    public static void sortUnsigned(int[] array) {
+        sortUnsigned(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order, treating the elements as unsigned values.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sortUnsigned(int[] array, 
+                                    int fromIndex, 
+                                    int toIndex) {
+        sortUnsigned(array, 
+                     fromIndex, 
+                     toIndex, 
+                     getDefaultWorkspace(toIndex - fromIndex));
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order, treating the elements as unsigned values, using the buffers of 
+     * {@code workspace}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param workspace the workspace providing the scratch buffers.
+     */
+    public static void sortUnsigned(int[] array, 
+                                    int fromIndex, 
+                                    int toIndex, 
+                                    Workspace workspace) {
+        Objects.requireNonNull(workspace, "The input workspace is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        // No sign bit to flip:
+        sortRange(array,
+                  fromIndex,
+                  toIndex,
+                  selectSortRangeDigitBits(toIndex - fromIndex),
+                  workspace,
+                  0);
+    }
+    
+    /**
+     * Sorts the entire {@code long} array into ascending order, treating the
+     * elements as unsigned values.
+     * 
+     * @param array the array to sort. 
+     */
+    public static void sortUnsigned(long[] array) {
+        sortUnsigned(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order, treating the elements as unsigned values.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sortUnsigned(long[] array, 
+                                    int fromIndex, 
+                                    int toIndex) {
+        sortUnsigned(array, 
+                     fromIndex, 
+                     toIndex, 
+                     getDefaultWorkspace(toIndex - fromIndex));
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order, treating the elements as unsigned values, using the buffers of 
+     * {@code workspace}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param workspace the workspace providing the scratch buffers.
+     */
+    public static void sortUnsigned(long[] array, 
+                                    int fromIndex, 
+                                    int toIndex, 
+                                    Workspace workspace) {
+        Objects.requireNonNull(workspace, "The input workspace is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        // No sign bit to flip:
+        sortRange(array,
+                  fromIndex,
+                  toIndex,
+                  selectSortRangeDigitBits(toIndex - fromIndex),
+                  workspace,
+                  0);
+    }
+    
+    /**
+     * Sorts the entire {@code byte} array into ascending order.
+     * 
+     * @param array the array to sort. 
+     */
+    public static void sort(byte[] array) {
+        sort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sort(byte[] array, int fromIndex, int toIndex) {
+        sort(array, 
+             fromIndex, 
+             toIndex, 
+             getDefaultWorkspace(toIndex - fromIndex));
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order using the counter array of {@code workspace}. Since a 
+     * {@code byte} is a single digit, this is a plain counting sort.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param workspace the workspace providing the counter array.
+     */
+    public static void sort(byte[] array, 
+                            int fromIndex, 
+                            int toIndex, 
+                            Workspace workspace) {
+        Objects.requireNonNull(workspace, "The input workspace is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        if (toIndex - fromIndex < SMALL_INT_RANGE_THRESHOLD) {
+            // Counting sort does not pay off on short ranges:
+            Arrays.sort(array, fromIndex, toIndex);
+            return;
+        }
+        
+        int[] counterMap = workspace.getCounterMap(RADIX);
+        Arrays.fill(counterMap, 0, RADIX, 0);
+        
+        // Count the elements:
+        for (int i = fromIndex; i != toIndex; i++) {
+            counterMap[(array[i] ^ 0x80) & 0xff]++;
+        }
+        
+        // Write the elements back in sorted order:
+        for (int counterIndex = 0; counterIndex != RADIX; counterIndex++) {
+            int count = counterMap[counterIndex];
+            
+            Arrays.fill(array, 
+                        fromIndex, 
+                        fromIndex + count, 
+                        (byte)(counterIndex ^ 0x80));
+            
+            fromIndex += count;
+        }
+    }
+    
+    /**
+     * Sorts the entire {@code short} array into ascending order.
+     * 
+     * @param array the array to sort. 
+     */
+    public static void sort(short[] array) {
+        sort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sort(short[] array, int fromIndex, int toIndex) {
+        sort(array, 
+             fromIndex, 
+             toIndex, 
+             getDefaultWorkspace(toIndex - fromIndex));
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order using the buffers of {@code workspace}. Long ranges are sorted 
+     * with a single counting sort over all the {@code 2^16} values, shorter
+     * ranges with two passes over byte-wide digits.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param workspace the workspace providing the scratch buffers.
+     */
+    public static void sort(short[] array, 
+                            int fromIndex, 
+                            int toIndex, 
+                            Workspace workspace) {
+        Objects.requireNonNull(workspace, "The input workspace is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < SMALL_INT_RANGE_THRESHOLD) {
+            // Radix sort does not pay off on short ranges:
+            Arrays.sort(array, fromIndex, toIndex);
+            return;
+        }
+        
+        if (rangeLength >= DIRECT_COUNTING_SORT_THRESHOLD) {
+            countingSortDirect(array, 
+                               workspace.getCounterMap(1 << 16), 
+                               fromIndex, 
+                               toIndex);
+            return;
+        }
+        
+        // Spawn sorting:
+        sortImpl(array,
+                 workspace.getShortBuffer(rangeLength), 
+                 workspace.getCounterMap(2 * RADIX),
+                 fromIndex,
+                 toIndex);
+    }
+    
+    /**
+     * Sorts the entire {@code char} array into ascending order.
+     * 
+     * @param array the array to sort. 
+     */
+    public static void sort(char[] array) {
+        sort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sort(char[] array, int fromIndex, int toIndex) {
+        sort(array, 
+             fromIndex, 
+             toIndex, 
+             getDefaultWorkspace(toIndex - fromIndex));
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order using the buffers of {@code workspace}. Long ranges are sorted 
+     * with a single counting sort over all the {@code 2^16} values, shorter
+     * ranges with two passes over byte-wide digits.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param workspace the workspace providing the scratch buffers.
+     */
+    public static void sort(char[] array, 
+                            int fromIndex, 
+                            int toIndex, 
+                            Workspace workspace) {
+        Objects.requireNonNull(workspace, "The input workspace is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < SMALL_INT_RANGE_THRESHOLD) {
+            // Radix sort does not pay off on short ranges:
+            Arrays.sort(array, fromIndex, toIndex);
+            return;
+        }
+        
+        if (rangeLength >= DIRECT_COUNTING_SORT_THRESHOLD) {
+            countingSortDirect(array, 
+                               workspace.getCounterMap(1 << 16), 
+                               fromIndex, 
+                               toIndex);
+            return;
+        }
+        
+        // Spawn sorting:
+        sortImpl(array,
+                 workspace.getCharBuffer(rangeLength), 
+                 workspace.getCounterMap(2 * RADIX),
+                 fromIndex,
+                 toIndex);
+    }
+    
+    /**
+     * Sorts the entire {@code String} array into ascending order. The order
+     * is the same as the one of {@code String.compareTo}, that is, the 
+     * lexicographic order of the UTF-16 {@code char}s.
+     * 
+     * @param array the array to sort. 
+     */
+    public static void sort(String[] array) {
+        sort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order of {@code String.compareTo}. The range is sorted by 
+     * most-significant digit (MSD) radix sort over byte-wide digits, the high
+     * byte of each {@code char} preceding its low byte. A string that has 
+     * run out of {@code char}s goes before all the strings that have not. 
+     * Buckets of at most {@code INSERTION_SORT_THRESHOLD} strings are 
+     * finished with insertion sort.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sort(String[] array, int fromIndex, int toIndex) {
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < 2) {
+            // Trivially sorted:
+            return;
+        }
+        
+        Workspace workspace = getDefaultWorkspace(rangeLength);
+        
+        // The buffer is not kept in the workspace, since it would keep the 
+        // strings reachable:
+        sortImpl(array,
+                 new String[rangeLength],
+                 workspace.getIndexBuffer(rangeLength),
+                 workspace.getCounterMap(VARIABLE_LENGTH_COUNTER_MAP_LENGTH),
+                 fromIndex,
+                 toIndex);
+    }
+    
+    /**
+     * Sorts the entire array of byte strings into ascending lexicographic 
+     * order, comparing the bytes as unsigned values, as does 
+     * {@code Arrays.compareUnsigned(byte[], byte[])}. For UTF-8 encoded 
+     * strings, this is the order of the Unicode code points.
+     * 
+     * @param array the array to sort. 
+     */
+    public static void sort(byte[][] array) {
+        sort(array, 0, array.length);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} of byte 
+     * strings into ascending lexicographic order, comparing the bytes as 
+     * unsigned values. The range is sorted by most-significant digit (MSD) 
+     * radix sort over the bytes. A byte string that has run out of bytes goes
+     * before all the byte strings that have not. Buckets of at most 
+     * {@code INSERTION_SORT_THRESHOLD} byte strings are finished with 
+     * insertion sort.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sort(byte[][] array, int fromIndex, int toIndex) {
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < 2) {
+            // Trivially sorted:
+            return;
+        }
+        
+        Workspace workspace = getDefaultWorkspace(rangeLength);
+        
+        // The buffer is not kept in the workspace, since it would keep the 
+        // byte strings reachable:
+        sortImpl(array,
+                 new byte[rangeLength][],
+                 workspace.getIndexBuffer(rangeLength),
+                 workspace.getCounterMap(VARIABLE_LENGTH_COUNTER_MAP_LENGTH),
+                 fromIndex,
+                 toIndex);
+    }
+    
+    /**
+     * Sorts the elements of {@code buffer} between its position (inclusive)
+     * and its limit (exclusive) into ascending order. The position and the 
+     * limit of the buffer are not changed. A buffer backed by an accessible 
+     * array is sorted via {@link #sort(int[], int, int)}; any other buffer,
+     * such as a direct or a memory-mapped one, is sorted in place using an 
+     * off-heap scratch buffer, so the data is never copied to the heap. The 
+     * scratch buffer is as large as the sorting range; it is kept in the 
+     * thread-local default workspace for short ranges and allocated per call
+     * otherwise.
+     * 
+     * @param buffer the buffer to sort.
+     * @throws ReadOnlyBufferException if the buffer is read-only.
+     */
+    public static void sort(IntBuffer buffer) {
+        sort(buffer, getDefaultWorkspace(buffer.remaining()));
+    }
+    
+    /**
+     * Sorts the elements of {@code buffer} between its position (inclusive)
+     * and its limit (exclusive) into ascending order using the scratch 
+     * buffers of {@code workspace}. Works as {@link #sort(IntBuffer)}, but
+     * the off-heap scratch buffer is kept in the workspace and reused by 
+     * subsequent buffer sorts with it. The scratch buffer is split into 
+     * direct buffers of 1 GiB each, so buffers of any length may be sorted 
+     * as long as {@code -XX:MaxDirectMemorySize} permits a scratch buffer 
+     * as large as the sorting range.
+     * 
+     * @param buffer    the buffer to sort.
+     * @param workspace the workspace providing the scratch buffers.
+     * @throws ReadOnlyBufferException if the buffer is read-only.
+     */
+    public static void sort(IntBuffer buffer, Workspace workspace) {
+        Objects.requireNonNull(workspace, "The input workspace is null.");
+        
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        
+        int fromIndex = buffer.position();
+        int toIndex = buffer.limit();
+        
+        if (buffer.hasArray()) {
+            sort(buffer.array(), 
+                 buffer.arrayOffset() + fromIndex,
+                 buffer.arrayOffset() + toIndex,
+                 workspace);
+            return;
+        }
+        
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < 2) {
+            // Trivially sorted:
+            return;
+        }
+        
+        if (rangeLength < SMALL_INT_RANGE_THRESHOLD) {
+            // Radix sort does not pay off on short ranges:
+            int[] array = workspace.getIntBuffer(rangeLength);
+            buffer.get(fromIndex, array, 0, rangeLength);
+            sortSmallRange(array, 0, rangeLength);
+            buffer.put(fromIndex, array, 0, rangeLength);
+            return;
+        }
+        
+        int digitBits = selectDigitBits(rangeLength);
+        int passes = computeNumberOfPasses(Integer.SIZE, digitBits);
+        
+        // Spawn sorting:
+        sortImpl(buffer,
+                 asIntChunks(
+                         workspace.getOffHeapBuffer(
+                                 (long) rangeLength * Integer.BYTES)),
+                 workspace.getCounterMap(passes << digitBits),
+                 fromIndex,
+                 toIndex,
+                 digitBits,
+                 Integer.MIN_VALUE);
+    }
+    
+    /**
+     * Sorts the elements of {@code buffer} between its position (inclusive)
+     * and its limit (exclusive) into ascending order. The position and the 
+     * limit of the buffer are not changed. A buffer backed by an accessible 
+     * array is sorted via {@link #sort(long[], int, int)}; any other buffer,
+     * such as a direct or a memory-mapped one, is sorted in place using an 
+     * off-heap scratch buffer, so the data is never copied to the heap. The 
+     * scratch buffer is as large as the sorting range; it is kept in the 
+     * thread-local default workspace for short ranges and allocated per call
+     * otherwise.
+     * 
+     * @param buffer the buffer to sort.
+     * @throws ReadOnlyBufferException if the buffer is read-only.
+     */
+    public static void sort(LongBuffer buffer) {
+        sort(buffer, getDefaultWorkspace(buffer.remaining()));
+    }
+    
+    /**
+     * Sorts the elements of {@code buffer} between its position (inclusive)
+     * and its limit (exclusive) into ascending order using the scratch 
+     * buffers of {@code workspace}. Works as {@link #sort(LongBuffer)}, but
+     * the off-heap scratch buffer is kept in the workspace and reused by 
+     * subsequent buffer sorts with it. The scratch buffer is split into 
+     * direct buffers of 1 GiB each, so buffers of any length may be sorted 
+     * as long as {@code -XX:MaxDirectMemorySize} permits a scratch buffer 
+     * as large as the sorting range.
+     * 
+     * @param buffer    the buffer to sort.
+     * @param workspace the workspace providing the scratch buffers.
+     * @throws ReadOnlyBufferException if the buffer is read-only.
+     */
+    public static void sort(LongBuffer buffer, Workspace workspace) {
+        Objects.requireNonNull(workspace, "The input workspace is null.");
+        
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        
+        int fromIndex = buffer.position();
+        int toIndex = buffer.limit();
+        
+        if (buffer.hasArray()) {
+            sort(buffer.array(), 
+                 buffer.arrayOffset() + fromIndex,
+                 buffer.arrayOffset() + toIndex,
+                 workspace);
+            return;
+        }
+        
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < 2) {
+            // Trivially sorted:
+            return;
+        }
+        
+        if (rangeLength < SMALL_LONG_RANGE_THRESHOLD) {
+            // Radix sort does not pay off on short ranges:
+            long[] array = workspace.getLongBuffer(rangeLength);
+            buffer.get(fromIndex, array, 0, rangeLength);
+            sortSmallRange(array, 0, rangeLength);
+            buffer.put(fromIndex, array, 0, rangeLength);
+            return;
+        }
+        
+        int digitBits = selectDigitBits(rangeLength);
+        int passes = computeNumberOfPasses(Long.SIZE, digitBits);
+        
+        // Spawn sorting:
+        sortImpl(buffer,
+                 asLongChunks(
+                         workspace.getOffHeapBuffer(
+                                 (long) rangeLength * Long.BYTES)),
+                 workspace.getCounterMap(passes << digitBits),
+                 fromIndex,
+                 toIndex,
+                 digitBits,
+                 Long.MIN_VALUE);
+    }
+    
+    /**
+     * Sorts the entire {@code int} array into ascending order using the 
+     * common fork/join pool.
+     * 
+     * @param array the array to sort.
+     */
+    public static void parallelSort(int[] array) {
+        parallelSort(array, 0, array.length, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts the entire {@code int} array into ascending order using the 
+     * given fork/join pool.
+     * 
+     * @param array the array to sort.
+     * @param pool  the fork/join pool to run the sorting tasks in.
+     */
+    public static void parallelSort(int[] array, ForkJoinPool pool) {
+        parallelSort(array, 0, array.length, pool);
+    }
+    
+    /**
+     * Sorts the entire {@code long} array into ascending order using the 
+     * common fork/join pool.
+     * 
+     * @param array the array to sort.
+     */
+    public static void parallelSort(long[] array) {
+        parallelSort(array, 0, array.length, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts the entire {@code long} array into ascending order using the 
+     * given fork/join pool.
+     * 
+     * @param array the array to sort.
+     * @param pool  the fork/join pool to run the sorting tasks in.
+     */
+    public static void parallelSort(long[] array, ForkJoinPool pool) {
+        parallelSort(array, 0, array.length, pool);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order using the common fork/join pool.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void parallelSort(int[] array, int fromIndex, int toIndex) {
+        parallelSort(array, fromIndex, toIndex, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order using the common fork/join pool.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void parallelSort(long[] array, int fromIndex, int toIndex) {
+        parallelSort(array, fromIndex, toIndex, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order using the given fork/join pool. The range is split into at most 
+     * {@code pool.getParallelism()} chunks; each chunk builds its own 
+     * histogram, after which the global bucket offsets are computed and all 
+     * the chunks are scattered in parallel. Ranges too short to benefit from
+     * parallelism are sorted via {@link #sort(int[], int, int)}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param pool      the fork/join pool to run the sorting tasks in.
+     */
+    public static void parallelSort(int[] array, 
+                                    int fromIndex, 
+                                    int toIndex, 
+                                    ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "The input fork/join pool is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        int chunks = computeNumberOfChunks(rangeLength, pool);
+        
+        if (chunks < 2) {
+            // Not worth the parallelism:
+            sort(array, fromIndex, toIndex);
+            return;
+        }
+        
+        int[] buffer = new int[rangeLength];
+        int[][] counterMaps = new int[chunks][RADIX];
+        
+        // Spawn sorting:
+        parallelSortImpl(array,
+                         buffer,
+                         counterMaps,
+                         fromIndex,
+                         toIndex,
+                         pool);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order using the given fork/join pool. The range is split into at most 
+     * {@code pool.getParallelism()} chunks; each chunk builds its own 
+     * histogram, after which the global bucket offsets are computed and all 
+     * the chunks are scattered in parallel. Ranges too short to benefit from
+     * parallelism are sorted via {@link #sort(long[], int, int)}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param pool      the fork/join pool to run the sorting tasks in.
+     */
+    public static void parallelSort(long[] array, 
+                                    int fromIndex, 
+                                    int toIndex, 
+                                    ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "The input fork/join pool is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        int chunks = computeNumberOfChunks(rangeLength, pool);
+        
+        if (chunks < 2) {
+            // Not worth the parallelism:
+            sort(array, fromIndex, toIndex);
+            return;
+        }
+        
+        long[] buffer = new long[rangeLength];
+        int[][] counterMaps = new int[chunks][RADIX];
+        
+        // Spawn sorting:
+        parallelSortImpl(array,
+                         buffer,
+                         counterMaps,
+                         fromIndex,
+                         toIndex,
+                         pool);
+    }
+    
+    /**
+     * Sorts the entire {@code int} array {@code keys} into ascending order 
+     * and reorders {@code payload} along with it: after sorting, 
+     * {@code payload[i]} is the payload element that was associated with the
+     * key now at {@code keys[i]}. The sort is stable.
+     * 
+     * @param keys    the keys to sort.
+     * @param payload the payload to reorder along the keys.
+     */
+    public static void sortByKey(int[] keys, int[] payload) {
+        sortByKey(keys, payload, 0, keys.length);
+    }
+    
+    /**
+     * Sorts the range {@code keys[fromIndex ... toIndex - 1]} into ascending
+     * order and reorders {@code payload[fromIndex ... toIndex - 1]} along with
+     * it. The sort is stable.
+     * 
+     * @param keys      the keys to sort.
+     * @param payload   the payload to reorder along the keys.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sortByKey(int[] keys, 
+                                 int[] payload, 
+                                 int fromIndex, 
+                                 int toIndex) {
+        checkRangeIndices(keys.length,
+                          fromIndex,
+                          toIndex);
+        checkRangeIndices(payload.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < 2) {
+            // Trivially sorted:
+            return;
+        }
+        
+        if (rangeLength <= INSERTION_SORT_THRESHOLD) {
+            insertionSortByKey(keys, payload, fromIndex, toIndex);
+            return;
+        }
+        
+        Workspace workspace = getDefaultWorkspace(rangeLength);
+        int digitBits = selectDigitBits(rangeLength);
+        int passes = computeNumberOfPasses(Integer.SIZE, digitBits);
+        
+        sortByKeyImpl(keys,
+                      payload,
+                      workspace.getIntBuffer(rangeLength),
+                      workspace.getIndexBuffer(rangeLength),
+                      workspace.getCounterMap(passes << digitBits),
+                      fromIndex,
+                      toIndex,
+                      digitBits,
+                      Integer.MIN_VALUE);
+    }
+    
+    /**
+     * Returns the permutation that stably sorts the entire {@code int} array
+     * {@code keys}. The array itself is not modified.
+     * 
+     * @param keys the keys to compute the sorting permutation for.
+     * @return an array {@code permutation} such that 
+     *         {@code keys[permutation[0]], keys[permutation[1]], ...} is 
+     *         sorted.
+     */
+    public static int[] argsort(int[] keys) {
+        return argsort(keys, 0, keys.length);
+    }
+    
+    /**
+     * Returns the permutation that stably sorts the range 
+     * {@code keys[fromIndex ... toIndex - 1]}. The array itself is not 
+     * modified.
+     * 
+     * @param keys      the keys to compute the sorting permutation for.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @return an array {@code permutation} of length 
+     *         {@code toIndex - fromIndex} holding the indices 
+     *         {@code fromIndex, ..., toIndex - 1} in such an order that 
+     *         {@code keys[permutation[0]], keys[permutation[1]], ...} is 
+     *         sorted.
+     */
+    public static int[] argsort(int[] keys, int fromIndex, int toIndex) {
+        checkRangeIndices(keys.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        int[] keysCopy = Arrays.copyOfRange(keys, fromIndex, toIndex);
+        int[] permutation = new int[rangeLength];
+        
+        for (int i = 0; i != rangeLength; i++) {
+            permutation[i] = fromIndex + i;
+        }
+        
+        sortByKey(keysCopy, permutation);
+        return permutation;
+    }
+    
+    /**
+     * Sorts the entire {@code long} array {@code keys} into ascending order 
+     * and reorders {@code payload} along with it: after sorting, 
+     * {@code payload[i]} is the payload element that was associated with the
+     * key now at {@code keys[i]}. The sort is stable.
+     * 
+     * @param keys    the keys to sort.
+     * @param payload the payload to reorder along the keys.
+     */
+    public static void sortByKey(long[] keys, int[] payload) {
+        sortByKey(keys, payload, 0, keys.length);
+    }
+    
+    /**
+     * Sorts the range {@code keys[fromIndex ... toIndex - 1]} into ascending
+     * order and reorders {@code payload[fromIndex ... toIndex - 1]} along with
+     * it. The sort is stable.
+     * 
+     * @param keys      the keys to sort.
+     * @param payload   the payload to reorder along the keys.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    public static void sortByKey(long[] keys, 
+                                 int[] payload, 
+                                 int fromIndex, 
+                                 int toIndex) {
+        checkRangeIndices(keys.length,
+                          fromIndex,
+                          toIndex);
+        checkRangeIndices(payload.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < 2) {
+            // Trivially sorted:
+            return;
+        }
+        
+        if (rangeLength <= INSERTION_SORT_THRESHOLD) {
+            insertionSortByKey(keys, payload, fromIndex, toIndex);
+            return;
+        }
+        
+        Workspace workspace = getDefaultWorkspace(rangeLength);
+        int digitBits = selectDigitBits(rangeLength);
+        int passes = computeNumberOfPasses(Long.SIZE, digitBits);
+        
+        sortByKeyImpl(keys,
+                      payload,
+                      workspace.getLongBuffer(rangeLength),
+                      workspace.getIndexBuffer(rangeLength),
+                      workspace.getCounterMap(passes << digitBits),
+                      fromIndex,
+                      toIndex,
+                      digitBits,
+                      Long.MIN_VALUE);
+    }
+    
+    /**
+     * Returns the permutation that stably sorts the entire {@code long} array
+     * {@code keys}. The array itself is not modified.
+     * 
+     * @param keys the keys to compute the sorting permutation for.
+     * @return an array {@code permutation} such that 
+     *         {@code keys[permutation[0]], keys[permutation[1]], ...} is 
+     *         sorted.
+     */
+    public static int[] argsort(long[] keys) {
+        return argsort(keys, 0, keys.length);
+    }
+    
+    /**
+     * Returns the permutation that stably sorts the range 
+     * {@code keys[fromIndex ... toIndex - 1]}. The array itself is not 
+     * modified.
+     * 
+     * @param keys      the keys to compute the sorting permutation for.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @return an array {@code permutation} of length 
+     *         {@code toIndex - fromIndex} holding the indices 
+     *         {@code fromIndex, ..., toIndex - 1} in such an order that 
+     *         {@code keys[permutation[0]], keys[permutation[1]], ...} is 
+     *         sorted.
+     */
+    public static int[] argsort(long[] keys, int fromIndex, int toIndex) {
+        checkRangeIndices(keys.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        long[] keysCopy = Arrays.copyOfRange(keys, fromIndex, toIndex);
+        int[] permutation = new int[rangeLength];
+        
+        for (int i = 0; i != rangeLength; i++) {
+            permutation[i] = fromIndex + i;
+        }
+        
+        sortByKey(keysCopy, permutation);
+        return permutation;
+    }
+    
+    /**
+     * Reorders the range 
+     * {@code array[fromIndex ... fromIndex + permutation.length - 1]} by 
+     * {@code permutation} as returned by {@code argsort}: after this method
+     * returns, {@code array[fromIndex + i]} holds the element that was at
+     * {@code array[permutation[i]]}.
+     * 
+     * @param array       the array to reorder.
+     * @param permutation the permutation holding the indices 
+     *                    {@code fromIndex, ..., fromIndex + 
+     *                    permutation.length - 1} in some order.
+     * @param fromIndex   the starting, inclusive index of the range.
+     */
+    public static void permute(int[] array, 
+                               int[] permutation, 
+                               int fromIndex) {
+        checkRangeIndices(array.length, 
+                          fromIndex, 
+                          fromIndex + permutation.length);
+        
+        int[] copy = Arrays.copyOfRange(array, 
+                                        fromIndex, 
+                                        fromIndex + permutation.length);
+        
+        for (int i = 0; i != permutation.length; i++) {
+            array[fromIndex + i] = copy[permutation[i] - fromIndex];
+        }
+    }
+    
+    /**
+     * Reorders the range 
+     * {@code array[fromIndex ... fromIndex + permutation.length - 1]} by 
+     * {@code permutation} as returned by {@code argsort}: after this method
+     * returns, {@code array[fromIndex + i]} holds the element that was at
+     * {@code array[permutation[i]]}.
+     * 
+     * @param array       the array to reorder.
+     * @param permutation the permutation holding the indices 
+     *                    {@code fromIndex, ..., fromIndex + 
+     *                    permutation.length - 1} in some order.
+     * @param fromIndex   the starting, inclusive index of the range.
+     */
+    public static void permute(long[] array, 
+                               int[] permutation, 
+                               int fromIndex) {
+        checkRangeIndices(array.length, 
+                          fromIndex, 
+                          fromIndex + permutation.length);
+        
+        long[] copy = Arrays.copyOfRange(array, 
+                                         fromIndex, 
+                                         fromIndex + permutation.length);
+        
+        for (int i = 0; i != permutation.length; i++) {
+            array[fromIndex + i] = copy[permutation[i] - fromIndex];
+        }
+    }
+    
+    /**
+     * Reorders the range 
+     * {@code array[fromIndex ... fromIndex + permutation.length - 1]} by 
+     * {@code permutation} as returned by {@code argsort}: after this method
+     * returns, {@code array[fromIndex + i]} holds the element that was at
+     * {@code array[permutation[i]]}.
+     * 
+     * @param array       the array to reorder.
+     * @param permutation the permutation holding the indices 
+     *                    {@code fromIndex, ..., fromIndex + 
+     *                    permutation.length - 1} in some order.
+     * @param fromIndex   the starting, inclusive index of the range.
+     */
+    public static void permute(double[] array, 
+                               int[] permutation, 
+                               int fromIndex) {
+        checkRangeIndices(array.length, 
+                          fromIndex, 
+                          fromIndex + permutation.length);
+        
+        double[] copy = Arrays.copyOfRange(array, 
+                                           fromIndex, 
+                                           fromIndex + permutation.length);
+        
+        for (int i = 0; i != permutation.length; i++) {
+            array[fromIndex + i] = copy[permutation[i] - fromIndex];
+        }
+    }
+    
+    /**
+     * Sorts the entire array {@code array} into ascending order of the 
+     * {@code int} keys extracted by {@code keyExtractor}. The keys are 
+     * extracted once into a primitive array, which is radix sorted along with
+     * the indices of the elements, after which the elements are moved into 
+     * place. No comparisons are made. The sort is stable. 
+     * 
+     * @param <T>          the element type.
+     * @param array        the array to sort.
+     * @param keyExtractor the function extracting the key of an element.
+     */
+    public static <T> void sortByIntKey(T[] array, 
+                                        ToIntFunction<? super T> keyExtractor) {
+        sortByIntKey(array, 0, array.length, keyExtractor);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order of the {@code int} keys extracted by {@code keyExtractor}. The 
+     * sort is stable.
+     * 
+     * @param <T>          the element type.
+     * @param array        the array holding the range.
+     * @param fromIndex    the starting, inclusive index of the sorting range.
+     * @param toIndex      the ending, exclusive index of the sorting range. 
+     * @param keyExtractor the function extracting the key of an element.
+     */
+    public static <T> void sortByIntKey(T[] array, 
+                                        int fromIndex,
+                                        int toIndex,
+                                        ToIntFunction<? super T> keyExtractor) {
+        Objects.requireNonNull(keyExtractor, 
+                               "The input key extractor is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        T[] elements = Arrays.copyOfRange(array, fromIndex, toIndex);
+        int[] permutation = computeIntKeyPermutation(elements, keyExtractor);
+        
+        for (int i = 0; i != permutation.length; i++) {
+            array[fromIndex + i] = elements[permutation[i]];
+        }
+    }
+    
+    /**
+     * Sorts the entire array {@code array} into ascending order of the 
+     * {@code long} keys extracted by {@code keyExtractor}. The keys are 
+     * extracted once into a primitive array, which is radix sorted along with
+     * the indices of the elements, after which the elements are moved into 
+     * place. No comparisons are made. The sort is stable. 
+     * 
+     * @param <T>          the element type.
+     * @param array        the array to sort.
+     * @param keyExtractor the function extracting the key of an element.
+     */
+    public static <T> void sortByLongKey(
+            T[] array,
+            ToLongFunction<? super T> keyExtractor) {
+        sortByLongKey(array, 0, array.length, keyExtractor);
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} into ascending
+     * order of the {@code long} keys extracted by {@code keyExtractor}. The 
+     * sort is stable.
+     * 
+     * @param <T>          the element type.
+     * @param array        the array holding the range.
+     * @param fromIndex    the starting, inclusive index of the sorting range.
+     * @param toIndex      the ending, exclusive index of the sorting range. 
+     * @param keyExtractor the function extracting the key of an element.
+     */
+    public static <T> void sortByLongKey(
+            T[] array,
+            int fromIndex,
+            int toIndex,
+            ToLongFunction<? super T> keyExtractor) {
+        Objects.requireNonNull(keyExtractor, 
+                               "The input key extractor is null.");
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        T[] elements = Arrays.copyOfRange(array, fromIndex, toIndex);
+        int[] permutation = computeLongKeyPermutation(elements, keyExtractor);
+        
+        for (int i = 0; i != permutation.length; i++) {
+            array[fromIndex + i] = elements[permutation[i]];
+        }
+    }
+    
+    /**
+     * Sorts the entire list {@code list} into ascending order of the 
+     * {@code int} keys extracted by {@code keyExtractor}. The elements are 
+     * written back through the list iterator, so the list must support 
+     * {@code set}. The sort is stable.
+     * 
+     * @param <T>          the element type.
+     * @param list         the list to sort.
+     * @param keyExtractor the function extracting the key of an element.
+     */
+    public static <T> void sortByIntKey(List<T> list, 
+                                        ToIntFunction<? super T> keyExtractor) {
+        sortByIntKey(list, 0, list.size(), keyExtractor);
+    }
+    
+    /**
+     * Sorts the range {@code list[fromIndex ... toIndex - 1]} into ascending
+     * order of the {@code int} keys extracted by {@code keyExtractor}. The 
+     * sort is stable.
+     * 
+     * @param <T>          the element type.
+     * @param list         the list holding the range.
+     * @param fromIndex    the starting, inclusive index of the sorting range.
+     * @param toIndex      the ending, exclusive index of the sorting range. 
+     * @param keyExtractor the function extracting the key of an element.
+     */
+    public static <T> void sortByIntKey(List<T> list, 
+                                        int fromIndex,
+                                        int toIndex,
+                                        ToIntFunction<? super T> keyExtractor) {
+        Objects.requireNonNull(keyExtractor, 
+                               "The input key extractor is null.");
+        checkRangeIndices(list.size(),
+                          fromIndex,
+                          toIndex);
+        
+        T[] elements = toArray(list, fromIndex, toIndex);
+        int[] permutation = computeIntKeyPermutation(elements, keyExtractor);
+        
+        setElements(list, fromIndex, elements, permutation);
+    }
+    
+    /**
+     * Sorts the entire list {@code list} into ascending order of the 
+     * {@code long} keys extracted by {@code keyExtractor}. The elements are 
+     * written back through the list iterator, so the list must support 
+     * {@code set}. The sort is stable.
+     * 
+     * @param <T>          the element type.
+     * @param list         the list to sort.
+     * @param keyExtractor the function extracting the key of an element.
+     */
+    public static <T> void sortByLongKey(
+            List<T> list,
+            ToLongFunction<? super T> keyExtractor) {
+        sortByLongKey(list, 0, list.size(), keyExtractor);
+    }
+    
+    /**
+     * Sorts the range {@code list[fromIndex ... toIndex - 1]} into ascending
+     * order of the {@code long} keys extracted by {@code keyExtractor}. The 
+     * sort is stable.
+     * 
+     * @param <T>          the element type.
+     * @param list         the list holding the range.
+     * @param fromIndex    the starting, inclusive index of the sorting range.
+     * @param toIndex      the ending, exclusive index of the sorting range. 
+     * @param keyExtractor the function extracting the key of an element.
+     */
+    public static <T> void sortByLongKey(
+            List<T> list,
+            int fromIndex,
+            int toIndex,
+            ToLongFunction<? super T> keyExtractor) {
+        Objects.requireNonNull(keyExtractor, 
+                               "The input key extractor is null.");
+        checkRangeIndices(list.size(),
+                          fromIndex,
+                          toIndex);
+        
+        T[] elements = toArray(list, fromIndex, toIndex);
+        int[] permutation = computeLongKeyPermutation(elements, keyExtractor);
+        
+        setElements(list, fromIndex, elements, permutation);
+    }
+    
+    /**
+     * Rearranges the entire {@code int} array so that {@code array[k]} holds
+     * the element that would be there if the array was sorted, no element 
+     * before it is larger and no element after it is smaller, and returns 
+     * that element. Runs in expected linear time.
+     * 
+     * @param array the array to select from.
+     * @param k     the rank of the element to select. Must be within 
+     *              {@code [0, array.length)}.
+     * @return the {@code k}th smallest element.
+     */
+    public static int select(int[] array, int k) {
+        return select(array, 0, array.length, k);
+    }
+    
+    /**
+     * Rearranges the range {@code array[fromIndex ... toIndex - 1]} so that
+     * {@code array[fromIndex + k]} holds the element that would be there if
+     * the range was sorted, no element of the range before it is larger and 
+     * no element of the range after it is smaller, and returns that element.
+     * 
+     * <p>The range is narrowed digit by digit from the most significant one:
+     * the digits are counted, the bucket holding the rank {@code k} is found,
+     * the range is partitioned into the smaller, the selected and the larger
+     * buckets, and only the selected bucket is processed further. 
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param k         the rank of the element to select within the range.
+     *                  Must be within {@code [0, toIndex - fromIndex)}.
+     * @return the {@code k}th smallest element of the range.
+     */
+    public static int select(int[] array, 
+                             int fromIndex, 
+                             int toIndex, 
+                             int k) {
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        checkRank(k, toIndex - fromIndex);
+        
+        selectImpl(array,
+                   getDefaultWorkspace(toIndex - fromIndex)
+                           .getCounterMap(RADIX),
+                   fromIndex,
+                   toIndex,
+                   fromIndex + k);
+        
+        return array[fromIndex + k];
+    }
+    
+    /**
+     * Rearranges the range {@code array[fromIndex ... toIndex - 1]} so that
+     * its {@code k} smallest elements come first in ascending order. The 
+     * order of the remaining elements of the range is unspecified. Only the
+     * {@code k} smallest elements are sorted, after they have been selected
+     * in expected linear time.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param k         the number of the smallest elements to sort. Must be
+     *                  within {@code [0, toIndex - fromIndex]}.
+     */
+    public static void partialSort(int[] array,
+                                   int fromIndex,
+                                   int toIndex,
+                                   int k) {
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        checkRank(k, toIndex - fromIndex + 1);
+        
+        if (k < toIndex - fromIndex) {
+            selectImpl(array,
+                       getDefaultWorkspace(toIndex - fromIndex)
+                               .getCounterMap(RADIX),
+                       fromIndex,
+                       toIndex,
+                       fromIndex + k);
+        }
+        
+        sort(array, fromIndex, fromIndex + k);
+    }
+    
+    /**
+     * Returns the {@code k} largest elements of the entire {@code int} array
+     * in descending order. The array itself is not modified.
+     * 
+     * @param array the array to select from.
+     * @param k     the number of the largest elements to return. Must be 
+     *              within {@code [0, array.length]}.
+     * @return the {@code k} largest elements in descending order.
+     */
+    public static int[] topK(int[] array, int k) {
+        return topK(array, 0, array.length, k);
+    }
+    
+    /**
+     * Returns the {@code k} largest elements of the range 
+     * {@code array[fromIndex ... toIndex - 1]} in descending order. The array
+     * itself is not modified.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param k         the number of the largest elements to return. Must be
+     *                  within {@code [0, toIndex - fromIndex]}.
+     * @return the {@code k} largest elements of the range in descending 
+     *         order.
+     */
+    public static int[] topK(int[] array,
+                             int fromIndex,
+                             int toIndex,
+                             int k) {
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        checkRank(k, rangeLength + 1);
+        
+        int[] copy = Arrays.copyOfRange(array, fromIndex, toIndex);
+        
+        if (0 < k && k < rangeLength) {
+            selectImpl(copy,
+                       getDefaultWorkspace(rangeLength).getCounterMap(RADIX),
+                       0,
+                       rangeLength,
+                       rangeLength - k);
+        }
+        
+        int[] largest = Arrays.copyOfRange(copy, rangeLength - k, rangeLength);
+        sort(largest);
+        reverse(largest, 0, k);
+        return largest;
+    }
+    
+    /**
+     * Rearranges the entire {@code long} array so that {@code array[k]} holds
+     * the element that would be there if the array was sorted, no element 
+     * before it is larger and no element after it is smaller, and returns 
+     * that element. Runs in expected linear time.
+     * 
+     * @param array the array to select from.
+     * @param k     the rank of the element to select. Must be within 
+     *              {@code [0, array.length)}.
+     * @return the {@code k}th smallest element.
+     */
+    public static long select(long[] array, int k) {
+        return select(array, 0, array.length, k);
+    }
+    
+    /**
+     * Rearranges the range {@code array[fromIndex ... toIndex - 1]} so that
+     * {@code array[fromIndex + k]} holds the element that would be there if
+     * the range was sorted, no element of the range before it is larger and 
+     * no element of the range after it is smaller, and returns that element.
+     * 
+     * <p>The range is narrowed digit by digit from the most significant one:
+     * the digits are counted, the bucket holding the rank {@code k} is found,
+     * the range is partitioned into the smaller, the selected and the larger
+     * buckets, and only the selected bucket is processed further. 
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param k         the rank of the element to select within the range.
+     *                  Must be within {@code [0, toIndex - fromIndex)}.
+     * @return the {@code k}th smallest element of the range.
+     */
+    public static long select(long[] array, 
+                              int fromIndex,
+                              int toIndex,
+                              int k) {
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        checkRank(k, toIndex - fromIndex);
+        
+        selectImpl(array,
+                   getDefaultWorkspace(toIndex - fromIndex)
+                           .getCounterMap(RADIX),
+                   fromIndex,
+                   toIndex,
+                   fromIndex + k);
+        
+        return array[fromIndex + k];
+    }
+    
+    /**
+     * Rearranges the range {@code array[fromIndex ... toIndex - 1]} so that
+     * its {@code k} smallest elements come first in ascending order. The 
+     * order of the remaining elements of the range is unspecified. Only the
+     * {@code k} smallest elements are sorted, after they have been selected
+     * in expected linear time.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param k         the number of the smallest elements to sort. Must be
+     *                  within {@code [0, toIndex - fromIndex]}.
+     */
+    public static void partialSort(long[] array,
+                                   int fromIndex,
+                                   int toIndex,
+                                   int k) {
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        checkRank(k, toIndex - fromIndex + 1);
+        
+        if (k < toIndex - fromIndex) {
+            selectImpl(array,
+                       getDefaultWorkspace(toIndex - fromIndex)
+                               .getCounterMap(RADIX),
+                       fromIndex,
+                       toIndex,
+                       fromIndex + k);
+        }
+        
+        sort(array, fromIndex, fromIndex + k);
+    }
+    
+    /**
+     * Returns the {@code k} largest elements of the entire {@code long} array
+     * in descending order. The array itself is not modified.
+     * 
+     * @param array the array to select from.
+     * @param k     the number of the largest elements to return. Must be 
+     *              within {@code [0, array.length]}.
+     * @return the {@code k} largest elements in descending order.
+     */
+    public static long[] topK(long[] array, int k) {
+        return topK(array, 0, array.length, k);
+    }
+    
+    /**
+     * Returns the {@code k} largest elements of the range 
+     * {@code array[fromIndex ... toIndex - 1]} in descending order. The array
+     * itself is not modified.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param k         the number of the largest elements to return. Must be
+     *                  within {@code [0, toIndex - fromIndex]}.
+     * @return the {@code k} largest elements of the range in descending 
+     *         order.
+     */
+    public static long[] topK(long[] array,
+                              int fromIndex,
+                              int toIndex,
+                              int k) {
+        checkRangeIndices(array.length,
+                          fromIndex,
+                          toIndex);
+        
+        int rangeLength = toIndex - fromIndex;
+        checkRank(k, rangeLength + 1);
+        
+        long[] copy = Arrays.copyOfRange(array, fromIndex, toIndex);
+        
+        if (0 < k && k < rangeLength) {
+            selectImpl(copy,
+                       getDefaultWorkspace(rangeLength).getCounterMap(RADIX),
+                       0,
+                       rangeLength,
+                       rangeLength - k);
+        }
+        
+        long[] largest = Arrays.copyOfRange(copy, rangeLength - k, rangeLength);
+        sort(largest);
+        reverse(largest, 0, k);
+        return largest;
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]}, whose indices
+     * have already been checked, into ascending order.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param digitBits the number of bits in a digit.
+     * @param workspace the workspace providing the scratch buffers.
+     * @param signMask  {@code Integer.MIN_VALUE} for signed ordering, 
+     *                  {@code 0} for unsigned ordering.
+     */
+    private static void sortRange(int[] array,
+                                  int fromIndex,
+                                  int toIndex,
+                                  int digitBits,
+                                  Workspace workspace,
+                                  int signMask) {
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < 2) {
+            // Trivially sorted:
+            return;
+        }
+        
+        int passes = computeNumberOfPasses(Integer.SIZE, digitBits);
+        SortRecorder recorder = SortRecorder.start(int.class,
+                                                   rangeLength,
+                                                   digitBits,
+                                                   passes,
+                                                   workspace);
+        
+        if (rangeLength < SMALL_INT_RANGE_THRESHOLD) {
+            // Radix sort does not pay off on short ranges. Xoring with the 
+            // sign mask twice turns the signed order into the desired one: 
+            flipBits(array, fromIndex, toIndex, signMask ^ Integer.MIN_VALUE);
+            sortSmallRange(array, fromIndex, toIndex);
+            flipBits(array, fromIndex, toIndex, signMask ^ Integer.MIN_VALUE);
+            
+            if (recorder != null) {
+                recorder.finish(SortStatistics.Strategy.SMALL_RANGE);
+            }
+            
+            return;
+        }
+        
+        int maximumRunCount = 
+                1 << Math.min(passes / 2, MAXIMUM_MERGE_PASSES);
+        
+        boolean writeCombining = 
+                rangeLength >= WRITE_COMBINING_THRESHOLD
+                && digitBits <= WRITE_COMBINING_MAXIMUM_DIGIT_BITS;
+        
+        // The counter array doubles as the storage of the run boundaries. 
+        // Write-combining needs another 2^digitBits counters for the bucket
+        // starts:
+        int[] counterMap = 
+                workspace.getCounterMap(
+                        Math.max((passes + (writeCombining ? 1 : 0)) 
+                                        << digitBits, 
+                                 maximumRunCount + 1));
+        
+        if (trySortRuns(array, 
+                        workspace, 
+                        counterMap, 
+                        fromIndex, 
+                        toIndex, 
+                        maximumRunCount, 
+                        signMask ^ Integer.MIN_VALUE)) {
+            // Presorted:
+            if (recorder != null) {
+                recorder.finish(SortStatistics.Strategy.PRESORTED);
+            }
+            
+            return;
+        }
+        
+        // Spawn sorting:
+        sortImpl(array,
+                 workspace.getIntBuffer(rangeLength), 
+                 writeCombining ? 
+                         workspace.getIntStagingBuffer(
+                                 INT_LINE_LENGTH << digitBits) : 
+                         null,
+                 counterMap,
+                 fromIndex,
+                 toIndex,
+                 digitBits,
+                 signMask,
+                 recorder);
+        
+        if (recorder != null) {
+            recorder.finish(SortStatistics.Strategy.RADIX);
+        }
+    }
+    
+    /**
+     * Xors each element of {@code array[fromIndex ... toIndex - 1]} with 
+     * {@code mask}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param mask      the mask to xor with.
+     */
+    private static void flipBits(int[] array, 
+                                 int fromIndex, 
+                                 int toIndex, 
+                                 int mask) {
+        if (mask == 0) {
+            return;
+        }
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            array[i] ^= mask;
+        }
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]}, whose indices
+     * have already been checked, into ascending order.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     * @param digitBits the number of bits in a digit.
+     * @param workspace the workspace providing the scratch buffers.
+     * @param signMask  {@code Long.MIN_VALUE} for signed ordering, 
+     *                  {@code 0} for unsigned ordering.
+     */
+    private static void sortRange(long[] array,
+                                  int fromIndex,
+                                  int toIndex,
+                                  int digitBits,
+                                  Workspace workspace,
+                                  long signMask) {
+        int rangeLength = toIndex - fromIndex;
+        
+        if (rangeLength < 2) {
+            // Trivially sorted:
+            return;
+        }
+        
+        int passes = computeNumberOfPasses(Long.SIZE, digitBits);
+        SortRecorder recorder = SortRecorder.start(long.class,
+                                                   rangeLength,
+                                                   digitBits,
+                                                   passes,
+                                                   workspace);
+        
+        if (rangeLength < SMALL_LONG_RANGE_THRESHOLD) {
+            // Radix sort does not pay off on short ranges. Xoring with the 
+            // sign mask twice turns the signed order into the desired one: 
+            flipBits(array, fromIndex, toIndex, signMask ^ Long.MIN_VALUE);
+            sortSmallRange(array, fromIndex, toIndex);
+            flipBits(array, fromIndex, toIndex, signMask ^ Long.MIN_VALUE);
+            
+            if (recorder != null) {
+                recorder.finish(SortStatistics.Strategy.SMALL_RANGE);
+            }
+            
+            return;
+        }
+        
+        int maximumRunCount = 
+                1 << Math.min(passes / 2, MAXIMUM_MERGE_PASSES);
+        
+        boolean writeCombining = 
+                rangeLength >= WRITE_COMBINING_THRESHOLD
+                && digitBits <= WRITE_COMBINING_MAXIMUM_DIGIT_BITS;
+        
+        // The counter array doubles as the storage of the run boundaries. 
+        // Write-combining needs another 2^digitBits counters for the bucket
+        // starts:
+        int[] counterMap = 
+                workspace.getCounterMap(
+                        Math.max((passes + (writeCombining ? 1 : 0)) 
+                                        << digitBits, 
+                                 maximumRunCount + 1));
+        
+        if (trySortRuns(array, 
+                        workspace, 
+                        counterMap, 
+                        fromIndex, 
+                        toIndex, 
+                        maximumRunCount, 
+                        signMask ^ Long.MIN_VALUE)) {
+            // Presorted:
+            if (recorder != null) {
+                recorder.finish(SortStatistics.Strategy.PRESORTED);
+            }
+            
+            return;
+        }
+        
+        // Spawn sorting:
+        sortImpl(array,
+                 workspace.getLongBuffer(rangeLength), 
+                 writeCombining ? 
+                         workspace.getLongStagingBuffer(
+                                 LONG_LINE_LENGTH << digitBits) : 
+                         null,
+                 counterMap,
+                 fromIndex,
+                 toIndex,
+                 digitBits,
+                 signMask,
+                 recorder);
+        
+        if (recorder != null) {
+            recorder.finish(SortStatistics.Strategy.RADIX);
+        }
+    }
+    
+    /**
+     * Xors each element of {@code array[fromIndex ... toIndex - 1]} with 
+     * {@code mask}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param mask      the mask to xor with.
+     */
+    private static void flipBits(long[] array, 
+                                 int fromIndex, 
+                                 int toIndex, 
+                                 long mask) {
+        if (mask == 0) {
+            return;
+        }
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            array[i] ^= mask;
+        }
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} without radix
+     * sorting if it consists of few monotonic runs. The range is scanned for
+     * maximal non-descending and non-ascending runs; the latter are reversed
+     * in place, which is safe as equal primitives are indistinguishable. An 
+     * ascending range is thus left as is and a descending range is reversed.
+     * If there are at most {@code maximumRunCount} runs, they are merged. 
+     * Otherwise, the scan stops as soon as there are too many runs, which 
+     * happens early on random data, and the range is left for the radix 
+     * sort.
+     * 
+     * @param array           the array holding the range.
+     * @param workspace       the workspace providing the merge buffer.
+     * @param runStarts       the array for the run boundaries of at least 
+     *                        {@code maximumRunCount + 1} elements.
+     * @param fromIndex       the starting, inclusive index of the range.
+     * @param toIndex         the ending, exclusive index of the range. 
+     * @param maximumRunCount the maximum number of runs to merge.
+     * @param orderMask       the mask to xor each datum with in order to 
+     *                        compare it in the desired order as a signed 
+     *                        value.
+     * @return {@code true} if the range was sorted.
+     */
+    private static boolean trySortRuns(int[] array,
+                                       Workspace workspace,
+                                       int[] runStarts,
+                                       int fromIndex,
+                                       int toIndex,
+                                       int maximumRunCount,
+                                       int orderMask) {
+        int runCount = 0;
+        int runStart = fromIndex;
+        
+        while (runStart != toIndex) {
+            if (runCount == maximumRunCount) {
+                // Too many runs, give up:
+                return false;
+            }
+            
+            runStarts[runCount++] = runStart;
+            int runEnd = runStart + 1;
+            
+            if (runEnd != toIndex && (array[runEnd] ^ orderMask) < 
+                                     (array[runStart] ^ orderMask)) {
+                runEnd = findRunEnd(array, runEnd, toIndex, orderMask, true);
+                reverse(array, runStart, runEnd);
+            } else {
+                runEnd = findRunEnd(array, runEnd, toIndex, orderMask, false);
+            }
+            
+            runStart = runEnd;
+        }
+        
+        runStarts[runCount] = toIndex;
+        
+        if (runCount > 1) {
+            mergeRuns(array, 
+                      workspace.getIntBuffer(toIndex - fromIndex), 
+                      runStarts, 
+                      runCount, 
+                      fromIndex, 
+                      orderMask);
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Returns the smallest index {@code i} at least {@code runEnd} for 
+     * which {@code i == toIndex} or {@code array[i - 1], array[i]} break 
+     * the order of the run ending at {@code runEnd}.
+     * 
+     * @param array      the array holding the run.
+     * @param runEnd     the index just past the known part of the run. Must
+     *                   be positive.
+     * @param toIndex    the ending, exclusive index of the range.
+     * @param orderMask  the mask to xor each datum with before comparing.
+     * @param descending whether the run is non-ascending rather than 
+     *                   non-descending.
+     * @return the end of the run.
+     */
+    private static int findRunEnd(int[] array,
+                                  int runEnd,
+                                  int toIndex,
+                                  int orderMask,
+                                  boolean descending) {
+        if (VECTORIZED) {
+            return VECTORIZED_KERNELS.findRunEnd(array, 
+                                                 runEnd, 
+                                                 toIndex, 
+                                                 orderMask, 
+                                                 descending);
+        }
+        
+        if (descending) {
+            while (runEnd != toIndex && (array[runEnd] ^ orderMask) <=
+                                        (array[runEnd - 1] ^ orderMask)) {
+                runEnd++;
+            }
+        } else {
+            while (runEnd != toIndex && (array[runEnd] ^ orderMask) >= 
+                                        (array[runEnd - 1] ^ orderMask)) {
+                runEnd++;
+            }
+        }
+        
+        return runEnd;
+    }
+    
+    /**
+     * Merges the sorted runs of {@code array} bottom-up, ping-ponging between
+     * {@code array} and {@code buffer}, until a single run remains.
+     * 
+     * @param array     the array holding the runs.
+     * @param buffer    the merge buffer.
+     * @param runStarts the starting indices of the runs followed by the ending
+     *                  index of the last run. Overwritten.
+     * @param runCount  the number of runs.
+     * @param fromIndex the starting index of the first run.
+     * @param orderMask the mask to xor each datum with before comparing.
+     */
+    private static void mergeRuns(int[] array,
+                                  int[] buffer,
+                                  int[] runStarts,
+                                  int runCount,
+                                  int fromIndex,
+                                  int orderMask) {
+        int toIndex = runStarts[runCount];
+        int[] source = array;
+        int[] target = buffer;
+        int sourceOffset = 0;
+        int targetOffset = -fromIndex;
+        
+        while (runCount > 1) {
+            int mergedRunCount = 0;
+            int run = 0;
+            
+            for (; run + 1 < runCount; run += 2) {
+                merge(source,
+                      target,
+                      sourceOffset,
+                      targetOffset,
+                      runStarts[run],
+                      runStarts[run + 1],
+                      runStarts[run + 2],
+                      orderMask);
+                
+                runStarts[mergedRunCount++] = runStarts[run];
+            }
+            
+            if (run < runCount) {
+                // The odd run out is copied as is.
+                System.arraycopy(source, 
+                                 sourceOffset + runStarts[run], 
+                                 target, 
+                                 targetOffset + runStarts[run], 
+                                 toIndex - runStarts[run]);
+                
+                runStarts[mergedRunCount++] = runStarts[run];
+            }
+            
+            runStarts[mergedRunCount] = toIndex;
+            runCount = mergedRunCount;
+            
+            int[] tmp = source;
+            source = target;
+            target = tmp;
+            
+            int tmpOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tmpOffset;
+        }
+        
+        if (source != array) {
+            System.arraycopy(buffer, 
+                             0, 
+                             array, 
+                             fromIndex,
+                             toIndex - fromIndex);
+        }
+    }
+    
+    /**
+     * Merges the adjacent sorted runs {@code source[left ... middle - 1]} and
+     * {@code source[middle ... right - 1]} into 
+     * {@code target[left ... right - 1]}. The indices are shifted by the 
+     * respective offsets.
+     * 
+     * @param source       the array holding the runs.
+     * @param target       the array to merge into.
+     * @param sourceOffset the offset of the run indices in {@code source}.
+     * @param targetOffset the offset of the run indices in {@code target}.
+     * @param left         the starting index of the left run.
+     * @param middle       the starting index of the right run.
+     * @param right        the ending index of the right run.
+     * @param orderMask    the mask to xor each datum with before comparing.
+     */
+    private static void merge(int[] source,
+                              int[] target,
+                              int sourceOffset,
+                              int targetOffset,
+                              int left,
+                              int middle,
+                              int right,
+                              int orderMask) {
+        int leftIndex = sourceOffset + left;
+        int leftEnd = sourceOffset + middle;
+        int rightIndex = leftEnd;
+        int rightEnd = sourceOffset + right;
+        int targetIndex = targetOffset + left;
+        
+        while (leftIndex != leftEnd && rightIndex != rightEnd) {
+            int leftDatum = source[leftIndex];
+            int rightDatum = source[rightIndex];
+            
+            // Taking from the left run on ties keeps the merge 
+            // stable.
+            boolean takeRight = 
+                    (rightDatum ^ orderMask) < (leftDatum ^ orderMask);
+            target[targetIndex++] = takeRight ? rightDatum : leftDatum;
+            rightIndex += takeRight ? 1 : 0;
+            leftIndex += takeRight ? 0 : 1;
+        }
+        
+        System.arraycopy(source, 
+                         leftIndex, 
+                         target, 
+                         targetIndex, 
+                         leftEnd - leftIndex);
+        
+        System.arraycopy(source, 
+                         rightIndex, 
+                         target, 
+                         targetIndex + leftEnd - leftIndex, 
+                         rightEnd - rightIndex);
+    }
+    
+    /**
+     * Reverses the range {@code array[fromIndex ... toIndex - 1]}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     */
+    private static void reverse(int[] array, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} without radix
+     * sorting if it consists of few monotonic runs. The range is scanned for
+     * maximal non-descending and non-ascending runs; the latter are reversed
+     * in place, which is safe as equal primitives are indistinguishable. An 
+     * ascending range is thus left as is and a descending range is reversed.
+     * If there are at most {@code maximumRunCount} runs, they are merged. 
+     * Otherwise, the scan stops as soon as there are too many runs, which 
+     * happens early on random data, and the range is left for the radix 
+     * sort.
+     * 
+     * @param array           the array holding the range.
+     * @param workspace       the workspace providing the merge buffer.
+     * @param runStarts       the array for the run boundaries of at least 
+     *                        {@code maximumRunCount + 1} elements.
+     * @param fromIndex       the starting, inclusive index of the range.
+     * @param toIndex         the ending, exclusive index of the range. 
+     * @param maximumRunCount the maximum number of runs to merge.
+     * @param orderMask       the mask to xor each datum with in order to 
+     *                        compare it in the desired order as a signed 
+     *                        value.
+     * @return {@code true} if the range was sorted.
+     */
+    private static boolean trySortRuns(long[] array,
+                                       Workspace workspace,
+                                       int[] runStarts,
+                                       int fromIndex,
+                                       int toIndex,
+                                       int maximumRunCount,
+                                       long orderMask) {
+        int runCount = 0;
+        int runStart = fromIndex;
+        
+        while (runStart != toIndex) {
+            if (runCount == maximumRunCount) {
+                // Too many runs, give up:
+                return false;
+            }
+            
+            runStarts[runCount++] = runStart;
+            int runEnd = runStart + 1;
+            
+            if (runEnd != toIndex && (array[runEnd] ^ orderMask) < 
+                                     (array[runStart] ^ orderMask)) {
+                runEnd = findRunEnd(array, runEnd, toIndex, orderMask, true);
+                reverse(array, runStart, runEnd);
+            } else {
+                runEnd = findRunEnd(array, runEnd, toIndex, orderMask, false);
+            }
+            
+            runStart = runEnd;
+        }
+        
+        runStarts[runCount] = toIndex;
+        
+        if (runCount > 1) {
+            mergeRuns(array, 
+                      workspace.getLongBuffer(toIndex - fromIndex), 
+                      runStarts, 
+                      runCount, 
+                      fromIndex, 
+                      orderMask);
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Returns the smallest index {@code i} at least {@code runEnd} for 
+     * which {@code i == toIndex} or {@code array[i - 1], array[i]} break 
+     * the order of the run ending at {@code runEnd}.
+     * 
+     * @param array      the array holding the run.
+     * @param runEnd     the index just past the known part of the run. Must
+     *                   be positive.
+     * @param toIndex    the ending, exclusive index of the range.
+     * @param orderMask  the mask to xor each datum with before comparing.
+     * @param descending whether the run is non-ascending rather than 
+     *                   non-descending.
+     * @return the end of the run.
+     */
+    private static int findRunEnd(long[] array,
+                                  int runEnd,
+                                  int toIndex,
+                                  long orderMask,
+                                  boolean descending) {
+        if (VECTORIZED) {
+            return VECTORIZED_KERNELS.findRunEnd(array, 
+                                                 runEnd, 
+                                                 toIndex, 
+                                                 orderMask, 
+                                                 descending);
+        }
+        
+        if (descending) {
+            while (runEnd != toIndex && (array[runEnd] ^ orderMask) <=
+                                        (array[runEnd - 1] ^ orderMask)) {
+                runEnd++;
+            }
+        } else {
+            while (runEnd != toIndex && (array[runEnd] ^ orderMask) >= 
+                                        (array[runEnd - 1] ^ orderMask)) {
+                runEnd++;
+            }
+        }
+        
+        return runEnd;
+    }
+    
+    /**
+     * Merges the sorted runs of {@code array} bottom-up, ping-ponging between
+     * {@code array} and {@code buffer}, until a single run remains.
+     * 
+     * @param array     the array holding the runs.
+     * @param buffer    the merge buffer.
+     * @param runStarts the starting indices of the runs followed by the ending
+     *                  index of the last run. Overwritten.
+     * @param runCount  the number of runs.
+     * @param fromIndex the starting index of the first run.
+     * @param orderMask the mask to xor each datum with before comparing.
+     */
+    private static void mergeRuns(long[] array,
+                                  long[] buffer,
+                                  int[] runStarts,
+                                  int runCount,
+                                  int fromIndex,
+                                  long orderMask) {
+        int toIndex = runStarts[runCount];
+        long[] source = array;
+        long[] target = buffer;
+        int sourceOffset = 0;
+        int targetOffset = -fromIndex;
+        
+        while (runCount > 1) {
+            int mergedRunCount = 0;
+            int run = 0;
+            
+            for (; run + 1 < runCount; run += 2) {
+                merge(source,
+                      target,
+                      sourceOffset,
+                      targetOffset,
+                      runStarts[run],
+                      runStarts[run + 1],
+                      runStarts[run + 2],
+                      orderMask);
+                
+                runStarts[mergedRunCount++] = runStarts[run];
+            }
+            
+            if (run < runCount) {
+                // The odd run out is copied as is.
+                System.arraycopy(source, 
+                                 sourceOffset + runStarts[run], 
+                                 target, 
+                                 targetOffset + runStarts[run], 
+                                 toIndex - runStarts[run]);
+                
+                runStarts[mergedRunCount++] = runStarts[run];
+            }
+            
+            runStarts[mergedRunCount] = toIndex;
+            runCount = mergedRunCount;
+            
+            long[] tmp = source;
+            source = target;
+            target = tmp;
+            
+            int tmpOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tmpOffset;
+        }
+        
+        if (source != array) {
+            System.arraycopy(buffer, 
+                             0, 
+                             array, 
+                             fromIndex,
+                             toIndex - fromIndex);
+        }
+    }
+    
+    /**
+     * Merges the adjacent sorted runs {@code source[left ... middle - 1]} and
+     * {@code source[middle ... right - 1]} into 
+     * {@code target[left ... right - 1]}. The indices are shifted by the 
+     * respective offsets.
+     * 
+     * @param source       the array holding the runs.
+     * @param target       the array to merge into.
+     * @param sourceOffset the offset of the run indices in {@code source}.
+     * @param targetOffset the offset of the run indices in {@code target}.
+     * @param left         the starting index of the left run.
+     * @param middle       the starting index of the right run.
+     * @param right        the ending index of the right run.
+     * @param orderMask    the mask to xor each datum with before comparing.
+     */
+    private static void merge(long[] source,
+                              long[] target,
+                              int sourceOffset,
+                              int targetOffset,
+                              int left,
+                              int middle,
+                              int right,
+                              long orderMask) {
+        int leftIndex = sourceOffset + left;
+        int leftEnd = sourceOffset + middle;
+        int rightIndex = leftEnd;
+        int rightEnd = sourceOffset + right;
+        int targetIndex = targetOffset + left;
+        
+        while (leftIndex != leftEnd && rightIndex != rightEnd) {
+            long leftDatum = source[leftIndex];
+            long rightDatum = source[rightIndex];
+            
+            // Taking from the left run on ties keeps the merge 
+            // stable.
+            boolean takeRight = 
+                    (rightDatum ^ orderMask) < (leftDatum ^ orderMask);
+            target[targetIndex++] = takeRight ? rightDatum : leftDatum;
+            rightIndex += takeRight ? 1 : 0;
+            leftIndex += takeRight ? 0 : 1;
+        }
+        
+        System.arraycopy(source, 
+                         leftIndex, 
+                         target, 
+                         targetIndex, 
+                         leftEnd - leftIndex);
+        
+        System.arraycopy(source, 
+                         rightIndex, 
+                         target, 
+                         targetIndex + leftEnd - leftIndex, 
+                         rightEnd - rightIndex);
+    }
+    
+    /**
+     * Reverses the range {@code array[fromIndex ... toIndex - 1]}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     */
+    private static void reverse(long[] array, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            long tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+    
+    /**
+     * Narrows the range {@code array[fromIndex ... toIndex - 1]} byte by byte
+     * from the most significant one down to the bucket of equal bytes holding
+     * {@code array[index]}, partitioning the range into the smaller, the 
+     * selected and the larger buckets on each step. Once the bucket is short,
+     * it is sorted. On return, {@code array[index]} holds the element that
+     * would be there if the range was sorted, the elements before it are no 
+     * larger and the elements after it are no smaller.
+     * 
+     * @param array      the array holding the range.
+     * @param counterMap the counter array of at least {@code RADIX} counters.
+     * @param fromIndex  the starting, inclusive index of the range.
+     * @param toIndex    the ending, exclusive index of the range. 
+     * @param index      the index to select the element for.
+     */
+    private static void selectImpl(int[] array,
+                                   int[] counterMap,
+                                   int fromIndex,
+                                   int toIndex,
+                                   int index) {
+        int shift = Integer.SIZE - Byte.SIZE;
+        
+        while (toIndex - fromIndex > RADIX) {
+            Arrays.fill(counterMap, 0, RADIX, 0);
+            
+            for (int i = fromIndex; i != toIndex; i++) {
+                counterMap[extractCounterIndex(array[i], 
+                                               shift, 
+                                               RADIX - 1, 
+                                               Integer.MIN_VALUE)]++;
+            }
+            
+            // Find the bucket holding index:
+            int bucket = 0;
+            int bucketStart = fromIndex;
+            
+            while (bucketStart + counterMap[bucket] <= index) {
+                bucketStart += counterMap[bucket++];
+            }
+            
+            int bucketEnd = bucketStart + counterMap[bucket];
+            
+            if (bucketStart != fromIndex) {
+                partitionByDigit(array, 
+                                 fromIndex, 
+                                 toIndex, 
+                                 bucket, 
+                                 shift, 
+                                 false);
+            }
+            
+            if (bucketEnd != toIndex) {
+                partitionByDigit(array, 
+                                 bucketStart, 
+                                 toIndex, 
+                                 bucket, 
+                                 shift, 
+                                 true);
+            }
+            
+            if (shift == 0) {
+                // All the elements of the bucket are equal:
+                return;
+            }
+            
+            fromIndex = bucketStart;
+            toIndex = bucketEnd;
+            shift -= Byte.SIZE;
+        }
+        
+        if (toIndex - fromIndex > 1) {
+            sortSmallRange(array, fromIndex, toIndex);
+        }
+    }
+    
+    /**
+     * Moves the elements of the range {@code array[fromIndex ... toIndex - 1]}
+     * whose byte at {@code shift} is less than {@code bucket}, or equal to it
+     * if {@code inclusive} is set, to the beginning of the range. Each element
+     * is swapped unconditionally, so that the loop has no data-dependent 
+     * branches to mispredict.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param bucket    the counter index to compare the bytes with.
+     * @param shift     the number of bits to shift the datum right in order 
+     *                  to get the byte.
+     * @param inclusive whether the elements equal to {@code bucket} are moved
+     *                  as well.
+     */
+    private static void partitionByDigit(int[] array,
+                                         int fromIndex,
+                                         int toIndex,
+                                         int bucket,
+                                         int shift,
+                                         boolean inclusive) {
+        int bound = inclusive ? bucket + 1 : bucket;
+        int lessEnd = fromIndex;
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            int datum = array[i];
+            
+            // array[lessEnd ... i - 1] holds only elements that are
+            // not moved, so swapping one of them with a datum that is not 
+            // moved either is harmless.
+            array[i] = array[lessEnd];
+            array[lessEnd] = datum;
+            lessEnd += extractCounterIndex(datum, 
+                                           shift, 
+                                           RADIX - 1, 
+                                           Integer.MIN_VALUE) < bound ? 1 : 0;
+        }
+    }
+    
+    /**
+     * Narrows the range {@code array[fromIndex ... toIndex - 1]} byte by byte
+     * from the most significant one down to the bucket of equal bytes holding
+     * {@code array[index]}, partitioning the range into the smaller, the 
+     * selected and the larger buckets on each step. Once the bucket is short,
+     * it is sorted. On return, {@code array[index]} holds the element that
+     * would be there if the range was sorted, the elements before it are no 
+     * larger and the elements after it are no smaller.
+     * 
+     * @param array      the array holding the range.
+     * @param counterMap the counter array of at least {@code RADIX} counters.
+     * @param fromIndex  the starting, inclusive index of the range.
+     * @param toIndex    the ending, exclusive index of the range. 
+     * @param index      the index to select the element for.
+     */
+    private static void selectImpl(long[] array,
+                                   int[] counterMap,
+                                   int fromIndex,
+                                   int toIndex,
+                                   int index) {
+        int shift = Long.SIZE - Byte.SIZE;
+        
+        while (toIndex - fromIndex > RADIX) {
+            Arrays.fill(counterMap, 0, RADIX, 0);
+            
+            for (int i = fromIndex; i != toIndex; i++) {
+                counterMap[extractCounterIndex(array[i], 
+                                               shift, 
+                                               RADIX - 1, 
+                                               Long.MIN_VALUE)]++;
+            }
+            
+            // Find the bucket holding index:
+            int bucket = 0;
+            int bucketStart = fromIndex;
+            
+            while (bucketStart + counterMap[bucket] <= index) {
+                bucketStart += counterMap[bucket++];
+            }
+            
+            int bucketEnd = bucketStart + counterMap[bucket];
+            
+            if (bucketStart != fromIndex) {
+                partitionByDigit(array, 
+                                 fromIndex, 
+                                 toIndex, 
+                                 bucket, 
+                                 shift, 
+                                 false);
+            }
+            
+            if (bucketEnd != toIndex) {
+                partitionByDigit(array, 
+                                 bucketStart, 
+                                 toIndex, 
+                                 bucket, 
+                                 shift, 
+                                 true);
+            }
+            
+            if (shift == 0) {
+                // All the elements of the bucket are equal:
+                return;
+            }
+            
+            fromIndex = bucketStart;
+            toIndex = bucketEnd;
+            shift -= Byte.SIZE;
+        }
+        
+        if (toIndex - fromIndex > 1) {
+            sortSmallRange(array, fromIndex, toIndex);
+        }
+    }
+    
+    /**
+     * Moves the elements of the range {@code array[fromIndex ... toIndex - 1]}
+     * whose byte at {@code shift} is less than {@code bucket}, or equal to it
+     * if {@code inclusive} is set, to the beginning of the range. Each element
+     * is swapped unconditionally, so that the loop has no data-dependent 
+     * branches to mispredict.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param bucket    the counter index to compare the bytes with.
+     * @param shift     the number of bits to shift the datum right in order 
+     *                  to get the byte.
+     * @param inclusive whether the elements equal to {@code bucket} are moved
+     *                  as well.
+     */
+    private static void partitionByDigit(long[] array,
+                                         int fromIndex,
+                                         int toIndex,
+                                         int bucket,
+                                         int shift,
+                                         boolean inclusive) {
+        int bound = inclusive ? bucket + 1 : bucket;
+        int lessEnd = fromIndex;
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            long datum = array[i];
+            
+            // array[lessEnd ... i - 1] holds only elements that are
+            // not moved, so swapping one of them with a datum that is not 
+            // moved either is harmless.
+            array[i] = array[lessEnd];
+            array[lessEnd] = datum;
+            lessEnd += extractCounterIndex(datum, 
+                                           shift, 
+                                           RADIX - 1, 
+                                           Long.MIN_VALUE) < bound ? 1 : 0;
+        }
+    }
+    
+    /**
+     * Implements the MSD radix sort of strings. The ranges still to sort are
+     * kept on an explicit stack, so that long common prefixes cannot 
+     * overflow the call stack. For each range, the digits at the current 
+     * depth are counted and cached in {@code digits}; if they are all the
+     * same, the range is merely moved past its common prefix. Otherwise, 
+     * the range is distributed into its buckets through {@code buffer}, and
+     * each bucket of at least two strings that have not run out of 
+     * {@code char}s is pushed with the next depth.
+     * 
+     * @param array      the array holding the range.
+     * @param buffer     the buffer of at least {@code toIndex - fromIndex} 
+     *                   elements.
+     * @param digits     the digit cache of at least 
+     *                   {@code toIndex - fromIndex} elements.
+     * @param counterMap the counter array of at least 
+     *                   {@code VARIABLE_LENGTH_COUNTER_MAP_LENGTH} counters.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclusive index of the sorting range.
+     */
+    private static void sortImpl(String[] array,
+                                 String[] buffer,
+                                 int[] digits,
+                                 int[] counterMap,
+                                 int fromIndex,
+                                 int toIndex) {
+        int[] stack = new int[3 * INITIAL_RANGE_STACK_CAPACITY];
+        int stackSize = 0;
+        
+        stack[stackSize++] = fromIndex;
+        stack[stackSize++] = toIndex;
+        stack[stackSize++] = 0;
+        
+        while (stackSize != 0) {
+            int depth = stack[--stackSize];
+            int rangeTo = stack[--stackSize];
+            int rangeFrom = stack[--stackSize];
+            int rangeLength = rangeTo - rangeFrom;
+            
+            if (rangeLength <= INSERTION_SORT_THRESHOLD) {
+                insertionSort(array, rangeFrom, rangeTo);
+                continue;
+            }
+            
+            Arrays.fill(counterMap, 0, VARIABLE_LENGTH_COUNTER_MAP_LENGTH, 0);
+            
+            for (int i = 0; i != rangeLength; i++) {
+                int digit = extractDigit(array[rangeFrom + i], depth);
+                digits[i] = digit;
+                counterMap[digit + 1]++;
+            }
+            
+            if (counterMap[digits[0] + 1] == rangeLength) {
+                if (digits[0] != 0) {
+                    // All the strings have the same digit. Skip it along with
+                    // the rest of their common prefix:
+                    stack[stackSize++] = rangeFrom;
+                    stack[stackSize++] = rangeTo;
+                    stack[stackSize++] = skipCommonPrefix(array,
+                                                          rangeFrom,
+                                                          rangeTo,
+                                                          depth + 1);
+                }
+                
+                // Otherwise, all the strings have run out of chars, and are
+                // thus equal.
+                continue;
+            }
+            
+            // Make the counter map accumulative. Now counterMap[digit] is the
+            // starting index of the bucket of digit:
+            for (int i = 1; i != VARIABLE_LENGTH_COUNTER_MAP_LENGTH; i++) {
+                counterMap[i] += counterMap[i - 1];
+            }
+            
+            for (int i = 0; i != rangeLength; i++) {
+                buffer[counterMap[digits[i]]++] = array[rangeFrom + i];
+            }
+            
+            System.arraycopy(buffer, 0, array, rangeFrom, rangeLength);
+            
+            if (stackSize + 3 * RADIX > stack.length) {
+                stack = Arrays.copyOf(stack, 
+                                      Math.max(2 * stack.length, 
+                                               stackSize + 3 * RADIX));
+            }
+            
+            // Now counterMap[digit] is the ending index of the bucket of 
+            // digit. Bucket 0 holds the strings that have run out of chars:
+            for (int digit = 1; digit <= RADIX; digit++) {
+                int bucketFrom = counterMap[digit - 1];
+                int bucketTo = counterMap[digit];
+                
+                if (bucketTo - bucketFrom > 1) {
+                    stack[stackSize++] = rangeFrom + bucketFrom;
+                    stack[stackSize++] = rangeFrom + bucketTo;
+                    stack[stackSize++] = depth + 1;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Implements the MSD radix sort of byte strings. Works exactly as 
+     * {@code sortImpl(String[], ...)}, except that the digits are the bytes
+     * of the byte strings.
+     * 
+     * @param array      the array holding the range.
+     * @param buffer     the buffer of at least {@code toIndex - fromIndex} 
+     *                   elements.
+     * @param digits     the digit cache of at least 
+     *                   {@code toIndex - fromIndex} elements.
+     * @param counterMap the counter array of at least 
+     *                   {@code VARIABLE_LENGTH_COUNTER_MAP_LENGTH} counters.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclusive index of the sorting range.
+     */
+    private static void sortImpl(byte[][] array,
+                                 byte[][] buffer,
+                                 int[] digits,
+                                 int[] counterMap,
+                                 int fromIndex,
+                                 int toIndex) {
+        int[] stack = new int[3 * INITIAL_RANGE_STACK_CAPACITY];
+        int stackSize = 0;
+        
+        stack[stackSize++] = fromIndex;
+        stack[stackSize++] = toIndex;
+        stack[stackSize++] = 0;
+        
+        while (stackSize != 0) {
+            int depth = stack[--stackSize];
+            int rangeTo = stack[--stackSize];
+            int rangeFrom = stack[--stackSize];
+            int rangeLength = rangeTo - rangeFrom;
+            
+            if (rangeLength <= INSERTION_SORT_THRESHOLD) {
+                insertionSort(array, rangeFrom, rangeTo, depth);
+                continue;
+            }
+            
+            Arrays.fill(counterMap, 0, VARIABLE_LENGTH_COUNTER_MAP_LENGTH, 0);
+            
+            for (int i = 0; i != rangeLength; i++) {
+                int digit = extractDigit(array[rangeFrom + i], depth);
+                digits[i] = digit;
+                counterMap[digit + 1]++;
+            }
+            
+            if (counterMap[digits[0] + 1] == rangeLength) {
+                if (digits[0] != 0) {
+                    // All the byte strings have the same digit. Skip it 
+                    // along with the rest of their common prefix:
+                    stack[stackSize++] = rangeFrom;
+                    stack[stackSize++] = rangeTo;
+                    stack[stackSize++] = skipCommonPrefix(array,
+                                                          rangeFrom,
+                                                          rangeTo,
+                                                          depth + 1);
+                }
+                
+                // Otherwise, all the byte strings have run out of bytes, and
+                // are thus equal.
+                continue;
+            }
+            
+            // Make the counter map accumulative. Now counterMap[digit] is the
+            // starting index of the bucket of digit:
+            for (int i = 1; i != VARIABLE_LENGTH_COUNTER_MAP_LENGTH; i++) {
+                counterMap[i] += counterMap[i - 1];
+            }
+            
+            for (int i = 0; i != rangeLength; i++) {
+                buffer[counterMap[digits[i]]++] = array[rangeFrom + i];
+            }
+            
+            System.arraycopy(buffer, 0, array, rangeFrom, rangeLength);
+            
+            if (stackSize + 3 * RADIX > stack.length) {
+                stack = Arrays.copyOf(stack, 
+                                      Math.max(2 * stack.length, 
+                                               stackSize + 3 * RADIX));
+            }
+            
+            // Now counterMap[digit] is the ending index of the bucket of 
+            // digit. Bucket 0 holds the byte strings that have run out of 
+            // bytes:
+            for (int digit = 1; digit <= RADIX; digit++) {
+                int bucketFrom = counterMap[digit - 1];
+                int bucketTo = counterMap[digit];
+                
+                if (bucketTo - bucketFrom > 1) {
+                    stack[stackSize++] = rangeFrom + bucketFrom;
+                    stack[stackSize++] = rangeFrom + bucketTo;
+                    stack[stackSize++] = depth + 1;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns the depth just past the longest common prefix of the strings
+     * in {@code array[fromIndex ... toIndex - 1]}, given that their first 
+     * {@code depth} digits are equal. A single sweep over the range thus 
+     * replaces a counting pass per digit of a long common prefix.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param depth     the number of leading digits known to be equal.
+     * @return the number of leading digits that are equal, at least 
+     *         {@code depth}.
+     */
+    private static int skipCommonPrefix(String[] array,
+                                        int fromIndex,
+                                        int toIndex,
+                                        int depth) {
+        String first = array[fromIndex];
+        int charIndex = depth >>> 1;
+        int prefixLength = first.length();
+        
+        for (int i = fromIndex + 1; 
+                i != toIndex && prefixLength > charIndex; 
+                i++) {
+            String string = array[i];
+            int limit = Math.min(prefixLength, string.length());
+            int j = charIndex;
+            
+            while (j < limit && string.charAt(j) == first.charAt(j)) {
+                j++;
+            }
+            
+            prefixLength = j;
+        }
+        
+        return Math.max(depth, 2 * prefixLength);
+    }
+    
+    /**
+     * Returns the depth just past the longest common prefix of the byte 
+     * strings in {@code array[fromIndex ... toIndex - 1]}, given that their
+     * first {@code depth} bytes are equal.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param depth     the number of leading bytes known to be equal.
+     * @return the number of leading bytes that are equal, at least 
+     *         {@code depth}.
+     */
+    private static int skipCommonPrefix(byte[][] array,
+                                        int fromIndex,
+                                        int toIndex,
+                                        int depth) {
+        byte[] first = array[fromIndex];
+        int prefixLength = first.length;
+        
+        for (int i = fromIndex + 1; 
+                i != toIndex && prefixLength > depth; 
+                i++) {
+            byte[] bytes = array[i];
+            int limit = Math.min(prefixLength, bytes.length);
+            
+            if (limit <= depth) {
+                prefixLength = limit;
+                break;
+            }
+            
+            int mismatch = Arrays.mismatch(first, 
+                                           depth, 
+                                           limit, 
+                                           bytes, 
+                                           depth, 
+                                           limit);
+            
+            prefixLength = mismatch < 0 ? limit : depth + mismatch;
+        }
+        
+        return Math.max(depth, prefixLength);
+    }
+    
+    /**
+     * Returns the digit of {@code string} at {@code depth}. The digit at an
+     * even depth is the high byte of a {@code char}, and the digit at the 
+     * following odd depth is its low byte. Each byte is shifted up by one, 
+     * so that the digit of a string that has run out of {@code char}s, 
+     * {@code 0}, is smaller than all the others.
+     * 
+     * @param string the string.
+     * @param depth  the index of the byte.
+     * @return the digit within {@code [0, RADIX]}.
+     */
+    private static int extractDigit(String string, int depth) {
+        int charIndex = depth >>> 1;
+        
+        if (charIndex >= string.length()) {
+            return 0;
+        }
+        
+        char c = string.charAt(charIndex);
+        return ((depth & 1) == 0 ? c >>> Byte.SIZE : c & 0xff) + 1;
+    }
+    
+    /**
+     * Returns the digit of {@code bytes} at {@code depth}: the unsigned byte 
+     * at index {@code depth} shifted up by one, or {@code 0} if 
+     * {@code bytes} has run out of bytes.
+     * 
+     * @param bytes the byte string.
+     * @param depth the index of the byte.
+     * @return the digit within {@code [0, RADIX]}.
+     */
+    private static int extractDigit(byte[] bytes, int depth) {
+        return depth < bytes.length ? (bytes[depth] & 0xff) + 1 : 0;
+    }
+    
+    /**
+     * Sorts the short range {@code array[fromIndex ... toIndex - 1]} of 
+     * strings with insertion sort.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     */
+    private static void insertionSort(String[] array, 
+                                      int fromIndex, 
+                                      int toIndex) {
+        for (int i = fromIndex + 1; i != toIndex; i++) {
+            String datum = array[i];
+            int j = i - 1;
+            
+            while (j >= fromIndex && array[j].compareTo(datum) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            
+            array[j + 1] = datum;
+        }
+    }
+    
+    /**
+     * Sorts the short range {@code array[fromIndex ... toIndex - 1]} of byte
+     * strings, whose first {@code depth} bytes are equal, with insertion 
+     * sort.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param depth     the number of leading bytes known to be equal.
+     */
+    private static void insertionSort(byte[][] array, 
+                                      int fromIndex, 
+                                      int toIndex,
+                                      int depth) {
+        for (int i = fromIndex + 1; i != toIndex; i++) {
+            byte[] datum = array[i];
+            int j = i - 1;
+            
+            while (j >= fromIndex && Arrays.compareUnsigned(array[j], 
+                                                            depth, 
+                                                            array[j].length,
+                                                            datum, 
+                                                            depth, 
+                                                            datum.length) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            
+            array[j + 1] = datum;
+        }
+    }
+    
+    /**
+     * Implements the actual sorting of the {@code int} buffer data. Works 
+     * exactly as {@code sortImpl(int[], ...)}, except that the scratch 
+     * buffer is split into chunks of {@code 2^INT_CHUNK_SHIFT} elements.
+     * 
+     * @param data       the buffer to sort.
+     * @param chunks     the chunks of the scratch buffer.
+     * @param counterMap the bucket counter array holding at least 
+     *                   {@code passes * 2^digitBits} counters.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclsuive index of the sorting range.
+     * @param digitBits  the number of bits in a digit.
+     * @param signMask   the mask to xor each datum with before extracting
+     *                   its digits.
+     */
+    private static void sortImpl(IntBuffer data,
+                                 IntBuffer[] chunks, 
+                                 int[] counterMap,
+                                 int fromIndex,
+                                 int toIndex,
+                                 int digitBits,
+                                 int signMask) {
+        int rangeLength = toIndex - fromIndex;
+        int passes = computeNumberOfPasses(Integer.SIZE, digitBits);
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        
+        // Build the histograms of all the digits in a single read:
+        Arrays.fill(counterMap, 0, passes * radix, 0);
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            int datum = data.get(i) ^ signMask;
+            
+            for (int pass = 0; pass != passes; pass++) {
+                counterMap[((datum >>> (pass * digitBits)) & mask) 
+                           + pass * radix]++;
+            }
+        }
+        
+        // Each pass reads from the data and writes to the scratch buffer, or
+        // the other way around:
+        boolean dataIsSource = true;
+        int chunkMask = (1 << INT_CHUNK_SHIFT) - 1;
+        
+        for (int pass = 0; pass != passes; pass++) {
+            int shift = pass * digitBits;
+            int counterMapOffset = pass * radix;
+            
+            if (isTrivialPass(counterMap, 
+                              counterMapOffset 
+                                      + extractCounterIndex(data.get(fromIndex),
+                                                            shift,
+                                                            mask,
+                                                            signMask), 
+                              rangeLength)) {
+                continue;
+            }
+            
+            // Make the counter map accummulative:
+            for (int i = counterMapOffset + 1; 
+                    i != counterMapOffset + radix; 
+                    i++) {
+                counterMap[i] += counterMap[i - 1];
+            }
+            
+            // Build the target range (which will end up sorted by the digit):
+            if (dataIsSource) {
+                for (int i = toIndex - 1; i >= fromIndex; i--) {
+                    int datum = data.get(i);
+                    int index = counterMapOffset 
+                              + extractCounterIndex(datum, 
+                                                    shift, 
+                                                    mask, 
+                                                    signMask);
+                    
+                    int targetIndex = --counterMap[index];
+                    chunks[targetIndex >>> INT_CHUNK_SHIFT]
+                            .put(targetIndex & chunkMask, datum);
+                }
+            } else {
+                for (int i = rangeLength - 1; i >= 0; i--) {
+                    int datum = 
+                            chunks[i >>> INT_CHUNK_SHIFT].get(i & chunkMask);
+                    int index = counterMapOffset 
+                              + extractCounterIndex(datum, 
+                                                    shift, 
+                                                    mask, 
+                                                    signMask);
+                    
+                    data.put(fromIndex + --counterMap[index], datum);
+                }
+            }
+            
+            dataIsSource = !dataIsSource;
+        }
+        
+        if (!dataIsSource) {
+            // An odd number of passes was made, the sorted data is in the 
+            // scratch buffer. Copy it back:
+            for (int i = 0, copied = 0; copied != rangeLength; i++) {
+                int length = Math.min(chunks[i].capacity(), 
+                                      rangeLength - copied);
+                
+                data.put(fromIndex + copied, chunks[i], 0, length);
+                copied += length;
+            }
+        }
+    }
+    
+    /**
+     * Implements the actual sorting of the {@code long} buffer data. Works 
+     * exactly as {@code sortImpl(long[], ...)}, except that the scratch 
+     * buffer is split into chunks of {@code 2^LONG_CHUNK_SHIFT} elements.
+     * 
+     * @param data       the buffer to sort.
+     * @param chunks     the chunks of the scratch buffer.
+     * @param counterMap the bucket counter array holding at least 
+     *                   {@code passes * 2^digitBits} counters.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclsuive index of the sorting range.
+     * @param digitBits  the number of bits in a digit.
+     * @param signMask   the mask to xor each datum with before extracting
+     *                   its digits.
+     */
+    private static void sortImpl(LongBuffer data,
+                                 LongBuffer[] chunks, 
+                                 int[] counterMap,
+                                 int fromIndex,
+                                 int toIndex,
+                                 int digitBits,
+                                 long signMask) {
+        int rangeLength = toIndex - fromIndex;
+        int passes = computeNumberOfPasses(Long.SIZE, digitBits);
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        
+        // Build the histograms of all the digits in a single read:
+        Arrays.fill(counterMap, 0, passes * radix, 0);
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            long datum = data.get(i) ^ signMask;
+            
+            for (int pass = 0; pass != passes; pass++) {
+                counterMap[((int)(datum >>> (pass * digitBits)) & mask) 
+                           + pass * radix]++;
+            }
+        }
+        
+        // Each pass reads from the data and writes to the scratch buffer, or
+        // the other way around:
+        boolean dataIsSource = true;
+        int chunkMask = (1 << LONG_CHUNK_SHIFT) - 1;
+        
+        for (int pass = 0; pass != passes; pass++) {
+            int shift = pass * digitBits;
+            int counterMapOffset = pass * radix;
+            
+            if (isTrivialPass(counterMap, 
+                              counterMapOffset 
+                                      + extractCounterIndex(data.get(fromIndex),
+                                                            shift,
+                                                            mask,
+                                                            signMask), 
+                              rangeLength)) {
+                continue;
+            }
+            
+            // Make the counter map accummulative:
+            for (int i = counterMapOffset + 1; 
+                    i != counterMapOffset + radix; 
+                    i++) {
+                counterMap[i] += counterMap[i - 1];
+            }
+            
+            // Build the target range (which will end up sorted by the digit):
+            if (dataIsSource) {
+                for (int i = toIndex - 1; i >= fromIndex; i--) {
+                    long datum = data.get(i);
+                    int index = counterMapOffset 
+                              + extractCounterIndex(datum, 
+                                                    shift, 
+                                                    mask, 
+                                                    signMask);
+                    
+                    int targetIndex = --counterMap[index];
+                    chunks[targetIndex >>> LONG_CHUNK_SHIFT]
+                            .put(targetIndex & chunkMask, datum);
+                }
+            } else {
+                for (int i = rangeLength - 1; i >= 0; i--) {
+                    long datum = 
+                            chunks[i >>> LONG_CHUNK_SHIFT].get(i & chunkMask);
+                    int index = counterMapOffset 
+                              + extractCounterIndex(datum, 
+                                                    shift, 
+                                                    mask, 
+                                                    signMask);
+                    
+                    data.put(fromIndex + --counterMap[index], datum);
+                }
+            }
+            
+            dataIsSource = !dataIsSource;
+        }
+        
+        if (!dataIsSource) {
+            // An odd number of passes was made, the sorted data is in the 
+            // scratch buffer. Copy it back:
+            for (int i = 0, copied = 0; copied != rangeLength; i++) {
+                int length = Math.min(chunks[i].capacity(), 
+                                      rangeLength - copied);
+                
+                data.put(fromIndex + copied, chunks[i], 0, length);
+                copied += length;
+            }
+        }
+    }
+    
+    /**
+     * Implements the actual sorting of {@code short} data by two byte-wide 
+     * digits. Works exactly as {@code sortImpl(int[], ...)}.
+     * 
+     * @param array      the array to sort.
+     * @param buffer     the sorting buffer array.
+     * @param counterMap the bucket counter array holding at least 
+     *                   {@code 2 * RADIX} counters.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclsuive index of the sorting range.
+     */
+    private static void sortImpl(short[] array,
+                                 short[] buffer, 
+                                 int[] counterMap,
+                                 int fromIndex,
+                                 int toIndex) {
+        int rangeLength = toIndex - fromIndex;
+        
+        // Build the histograms of both the digits in a single read:
+        Arrays.fill(counterMap, 0, 2 * RADIX, 0);
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            int datum = (array[i] ^ 0x8000) & 0xffff;
+            
+            counterMap[datum & 0xff]++;
+            counterMap[(datum >>> 8) + RADIX]++;
+        }
+        
+        // Each pass reads from source and writes to target, after which the 
+        // two swap their roles:
+        short[] source = array;
+        short[] target = buffer;
+        int sourceOffset = fromIndex;
+        int targetOffset = 0;
+        
+        for (int pass = 0; pass != 2; pass++) {
+            int shift = pass * 8;
+            int counterMapOffset = pass * RADIX;
+            
+            if (isTrivialPass(counterMap, 
+                              counterMapOffset 
+                                      + extractCounterIndex(array[fromIndex],
+                                                            shift), 
+                              rangeLength)) {
+                continue;
+            }
+            
+            // Make the counter map accummulative:
+            for (int i = counterMapOffset + 1; 
+                    i != counterMapOffset + RADIX; 
+                    i++) {
+                counterMap[i] += counterMap[i - 1];
+            }
+            
+            // Build the target range (which will end up sorted by the digit):
+            for (int i = sourceOffset + rangeLength - 1; 
+                    i >= sourceOffset; 
+                    i--) {
+                short datum = source[i];
+                int index = counterMapOffset 
+                          + extractCounterIndex(datum, shift);
+                
+                target[targetOffset + --counterMap[index]] = datum;
+            }
+            
+            short[] tmpArray = source;
+            source = target;
+            target = tmpArray;
+            
+            int tmpOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tmpOffset;
+        }
+        
+        if (source != array) {
+            // An odd number of passes was made, the sorted data is in the 
+            // buffer. Copy it back to the array:
+            System.arraycopy(buffer, 
+                             0, 
+                             array, 
+                             fromIndex, 
+                             rangeLength);
+        }
+    }
+    
+    /**
+     * Sorts {@code array[fromIndex ... toIndex - 1]} by counting the 
+     * occurrences of each of the {@code 2^16} possible values and writing 
+     * them back in order.
+     * 
+     * @param array      the array to sort.
+     * @param counterMap the counter array holding at least {@code 2^16} 
+     *                   counters.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclusive index of the sorting range.
+     */
+    private static void countingSortDirect(short[] array,
+                                           int[] counterMap,
+                                           int fromIndex,
+                                           int toIndex) {
+        Arrays.fill(counterMap, 0, 1 << 16, 0);
+        
+        // Count the elements:
+        for (int i = fromIndex; i != toIndex; i++) {
+            counterMap[(array[i] ^ 0x8000) & 0xffff]++;
+        }
+        
+        // Write the elements back in sorted order:
+        for (int counterIndex = 0; 
+                fromIndex != toIndex; 
+                counterIndex++) {
+            int count = counterMap[counterIndex];
+            
+            Arrays.fill(array, 
+                        fromIndex, 
+                        fromIndex + count, 
+                        (short)(counterIndex ^ 0x8000));
+            
+            fromIndex += count;
+        }
+    }
+    
+    /**
+     * Extracts the counter array index from the {@code short} datum. 
+     * 
+     * @param datum the {@code short} key.
+     * @param shift the number of bits to shift the datum right in order to
+     *              get the digit.
+     * @return      the index into counter array.
+     */
+    private static int extractCounterIndex(short datum, int shift) {
+        return (((datum ^ 0x8000) & 0xffff) >>> shift) & 0xff;
+    }
+    
+    /**
+     * Implements the actual sorting of {@code char} data by two byte-wide 
+     * digits. Works exactly as {@code sortImpl(int[], ...)}, except that no 
+     * sign bit is flipped.
+     * 
+     * @param array      the array to sort.
+     * @param buffer     the sorting buffer array.
+     * @param counterMap the bucket counter array holding at least 
+     *                   {@code 2 * RADIX} counters.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclsuive index of the sorting range.
+     */
+    private static void sortImpl(char[] array,
+                                 char[] buffer, 
+                                 int[] counterMap,
+                                 int fromIndex,
+                                 int toIndex) {
+        int rangeLength = toIndex - fromIndex;
+        
+        // Build the histograms of both the digits in a single read:
+        Arrays.fill(counterMap, 0, 2 * RADIX, 0);
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            int datum = array[i];
+            
+            counterMap[datum & 0xff]++;
+            counterMap[(datum >>> 8) + RADIX]++;
+        }
+        
+        // Each pass reads from source and writes to target, after which the 
+        // two swap their roles:
+        char[] source = array;
+        char[] target = buffer;
+        int sourceOffset = fromIndex;
+        int targetOffset = 0;
+        
+        for (int pass = 0; pass != 2; pass++) {
+            int shift = pass * 8;
+            int counterMapOffset = pass * RADIX;
+            
+            if (isTrivialPass(counterMap, 
+                              counterMapOffset 
+                                      + extractCounterIndex(array[fromIndex],
+                                                            shift), 
+                              rangeLength)) {
+                continue;
+            }
+            
+            // Make the counter map accummulative:
+            for (int i = counterMapOffset + 1; 
+                    i != counterMapOffset + RADIX; 
+                    i++) {
+                counterMap[i] += counterMap[i - 1];
+            }
+            
+            // Build the target range (which will end up sorted by the digit):
+            for (int i = sourceOffset + rangeLength - 1; 
+                    i >= sourceOffset; 
+                    i--) {
+                char datum = source[i];
+                int index = counterMapOffset 
+                          + extractCounterIndex(datum, shift);
+                
+                target[targetOffset + --counterMap[index]] = datum;
+            }
+            
+            char[] tmpArray = source;
+            source = target;
+            target = tmpArray;
+            
+            int tmpOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tmpOffset;
+        }
+        
+        if (source != array) {
+            // An odd number of passes was made, the sorted data is in the 
+            // buffer. Copy it back to the array:
+            System.arraycopy(buffer, 
+                             0, 
+                             array, 
+                             fromIndex, 
+                             rangeLength);
+        }
+    }
+    
+    /**
+     * Sorts {@code array[fromIndex ... toIndex - 1]} by counting the 
+     * occurrences of each of the {@code 2^16} possible values and writing 
+     * them back in order.
+     * 
+     * @param array      the array to sort.
+     * @param counterMap the counter array holding at least {@code 2^16} 
+     *                   counters.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclusive index of the sorting range.
+     */
+    private static void countingSortDirect(char[] array,
+                                           int[] counterMap,
+                                           int fromIndex,
+                                           int toIndex) {
+        Arrays.fill(counterMap, 0, 1 << 16, 0);
+        
+        // Count the elements:
+        for (int i = fromIndex; i != toIndex; i++) {
+            counterMap[array[i]]++;
+        }
+        
+        // Write the elements back in sorted order:
+        for (int counterIndex = 0; 
+                fromIndex != toIndex; 
+                counterIndex++) {
+            int count = counterMap[counterIndex];
+            
+            Arrays.fill(array, 
+                        fromIndex, 
+                        fromIndex + count, 
+                        (char) counterIndex);
+            
+            fromIndex += count;
+        }
+    }
+    
+    /**
+     * Extracts the counter array index from the {@code char} datum. 
+     * 
+     * @param datum the {@code char} key.
+     * @param shift the number of bits to shift the datum right in order to
+     *              get the digit.
+     * @return      the index into counter array.
+     */
+    private static int extractCounterIndex(char datum, int shift) {
+        return (datum >>> shift) & 0xff;
+    }
+    
+    /**
+     * Implements the actual sorting. All the digit histograms are built in a 
+     * single read of the range, after which each counting sort pass whose 
+     * digit is the same for all the elements of the range is skipped.
+     * 
+     * @param array         the array to sort.
+     * @param buffer        the sorting buffer array.
+     * @param stagingBuffer the write-combining buffer of at least 
+     *                      {@code 2^digitBits} cache lines, or 
+     *                      {@code null} for scattering the elements 
+     *                      directly.
+     * @param counterMap    the bucket counter array holding at least 
+     *                      {@code passes * 2^digitBits} counters, plus 
+     *                      {@code 2^digitBits} if {@code stagingBuffer} is
+     *                      not {@code null}.
+     * @param fromIndex     the starting, inclusive index of the sorting 
+     *                      range.
+     * @param toIndex       the ending, exclsuive index of the sorting range.
+     * @param digitBits     the number of bits in a digit.
+     * @param signMask      the mask to xor each datum with before extracting
+     *                      its digits.
+     * @param recorder      the recorder of the statistics, or 
+     *                      {@code null}.
+     */
+    private static void sortImpl(int[] array,
+                                 int[] buffer, 
+                                 int[] stagingBuffer,
+                                 int[] counterMap,
+                                 int fromIndex,
+                                 int toIndex,
+                                 int digitBits,
+                                 int signMask,
+                                 SortRecorder recorder) {
+        int rangeLength = toIndex - fromIndex;
+        int passes = computeNumberOfPasses(Integer.SIZE, digitBits);
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        
+        long startNanos = recorder != null ? System.nanoTime() : 0L;
+        
+        buildCounterMaps(array, 
+                         counterMap,
+                         fromIndex, 
+                         toIndex,
+                         digitBits,
+                         signMask);
+        
+        if (recorder != null) {
+            recorder.recordHistogram(startNanos);
+        }
+        
+        // Each pass reads from source and writes to target, after which the 
+        // two swap their roles:
+        int[] source = array;
+        int[] target = buffer;
+        int sourceOffset = fromIndex;
+        int targetOffset = 0;
+        
+        // Sort first by the least-significant digit, then by the second 
+        // least-significant, and so on. The last digit contains the sign bit:
+        for (int pass = 0; pass != passes; pass++) {
+            int shift = pass * digitBits;
+            int counterMapOffset = pass * radix;
+            
+            if (isTrivialPass(counterMap, 
+                              counterMapOffset 
+                                      + extractCounterIndex(array[fromIndex],
+                                                            shift,
+                                                            mask,
+                                                            signMask), 
+                              rangeLength)) {
+                if (recorder != null) {
+                    recorder.recordSkippedPass();
+                }
+                
+                continue;
+            }
+            
+            if (recorder != null) {
+                startNanos = System.nanoTime();
+            }
+            
+            if (stagingBuffer == null) {
+                countingSortImpl(source, 
+                                 target, 
+                                 counterMap, 
+                                 counterMapOffset,
+                                 shift,
+                                 mask,
+                                 signMask,
+                                 sourceOffset,
+                                 targetOffset,
+                                 rangeLength);
+            } else {
+                writeCombiningCountingSortImpl(source, 
+                                               target, 
+                                               stagingBuffer,
+                                               counterMap, 
+                                               counterMapOffset,
+                                               passes * radix,
+                                               shift,
+                                               mask,
+                                               signMask,
+                                               sourceOffset,
+                                               targetOffset,
+                                               rangeLength);
+            }
+            
+            if (recorder != null) {
+                recorder.recordPass(startNanos);
+            }
+            
+            int[] tmpArray = source;
+            source = target;
+            target = tmpArray;
+            
+            int tmpOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tmpOffset;
+        }
+        
+        if (source != array) {
+            // An odd number of passes was made, the sorted data is in the 
+            // buffer. Copy it back to the array:
+            System.arraycopy(buffer, 
+                             0, 
+                             array, 
+                             fromIndex, 
+                             rangeLength);
+        }
+    }
+    
+    /**
+     * Implements the actual sorting. All the digit histograms are built in a 
+     * single read of the range, after which each counting sort pass whose 
+     * digit is the same for all the elements of the range is skipped.
+     * 
+     * @param array         the array to sort.
+     * @param buffer        the sorting buffer array.
+     * @param stagingBuffer the write-combining buffer of at least 
+     *                      {@code 2^digitBits} cache lines, or 
+     *                      {@code null} for scattering the elements 
+     *                      directly.
+     * @param counterMap    the bucket counter array holding at least 
+     *                      {@code passes * 2^digitBits} counters, plus 
+     *                      {@code 2^digitBits} if {@code stagingBuffer} is
+     *                      not {@code null}.
+     * @param fromIndex     the starting, inclusive index of the sorting 
+     *                      range.
+     * @param toIndex       the ending, exclsuive index of the sorting range.
+     * @param digitBits     the number of bits in a digit.
+     * @param signMask      the mask to xor each datum with before extracting
+     *                      its digits.
+     * @param recorder      the recorder of the statistics, or 
+     *                      {@code null}.
+     */
+    private static void sortImpl(long[] array,
+                                 long[] buffer, 
+                                 long[] stagingBuffer,
+                                 int[] counterMap,
+                                 int fromIndex,
+                                 int toIndex,
+                                 int digitBits,
+                                 long signMask,
+                                 SortRecorder recorder) {
+        int rangeLength = toIndex - fromIndex;
+        int passes = computeNumberOfPasses(Long.SIZE, digitBits);
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        
+        long startNanos = recorder != null ? System.nanoTime() : 0L;
+        
+        buildCounterMaps(array, 
+                         counterMap,
+                         fromIndex, 
+                         toIndex,
+                         digitBits,
+                         signMask);
+        
+        if (recorder != null) {
+            recorder.recordHistogram(startNanos);
+        }
+        
+        // Each pass reads from source and writes to target, after which the 
+        // two swap their roles:
+        long[] source = array;
+        long[] target = buffer;
+        int sourceOffset = fromIndex;
+        int targetOffset = 0;
+        
+        // Sort first by the least-significant digit, then by the second 
+        // least-significant, and so on. The last digit contains the sign bit:
+        for (int pass = 0; pass != passes; pass++) {
+            int shift = pass * digitBits;
+            int counterMapOffset = pass * radix;
+            
+            if (isTrivialPass(counterMap, 
+                              counterMapOffset 
+                                      + extractCounterIndex(array[fromIndex],
+                                                            shift,
+                                                            mask,
+                                                            signMask), 
+                              rangeLength)) {
+                if (recorder != null) {
+                    recorder.recordSkippedPass();
+                }
+                
+                continue;
+            }
+            
+            if (recorder != null) {
+                startNanos = System.nanoTime();
+            }
+            
+            if (stagingBuffer == null) {
+                countingSortImpl(source, 
+                                 target, 
+                                 counterMap, 
+                                 counterMapOffset,
+                                 shift,
+                                 mask,
+                                 signMask,
+                                 sourceOffset,
+                                 targetOffset,
+                                 rangeLength);
+            } else {
+                writeCombiningCountingSortImpl(source, 
+                                               target, 
+                                               stagingBuffer,
+                                               counterMap, 
+                                               counterMapOffset,
+                                               passes * radix,
+                                               shift,
+                                               mask,
+                                               signMask,
+                                               sourceOffset,
+                                               targetOffset,
+                                               rangeLength);
+            }
+            
+            if (recorder != null) {
+                recorder.recordPass(startNanos);
+            }
+            
+            long[] tmpArray = source;
+            source = target;
+            target = tmpArray;
+            
+            int tmpOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tmpOffset;
+        }
+        
+        if (source != array) {
+            // An odd number of passes was made, the sorted data is in the 
+            // buffer. Copy it back to the array:
+            System.arraycopy(buffer, 
+                             0, 
+                             array, 
+                             fromIndex, 
+                             rangeLength);
+        }
+    }
+    
+    /**
+     * Builds the histograms of all the digits of the elements in 
+     * {@code array[fromIndex ... toIndex - 1]} in a single read. The histogram 
+     * of the {@code pass}th digit is stored in 
+     * {@code counterMap[pass * 2^digitBits ... (pass + 1) * 2^digitBits - 1]}.
+     * 
+     * @param array      the array to sort.
+     * @param counterMap the counter array to fill.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclusive index of the sorting range.
+     * @param digitBits  the number of bits in a digit.
+     * @param signMask   the mask to xor each datum with before extracting
+     *                   its digits.
+     */
+    private static void buildCounterMaps(int[] array,
+                                         int[] counterMap,
+                                         int fromIndex,
+                                         int toIndex,
+                                         int digitBits,
+                                         int signMask) {
+        int passes = computeNumberOfPasses(Integer.SIZE, digitBits);
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        
+        Arrays.fill(counterMap, 0, passes * radix, 0);
+        
+        if (digitBits == 8) {
+            // The most common case, unrolled:
+            for (int i = fromIndex; i != toIndex; i++) {
+                int datum = array[i] ^ signMask;
+
+                counterMap[datum & 0xff]++;
+                counterMap[((datum >>> 8) & 0xff) + RADIX]++;
+                counterMap[((datum >>> 16) & 0xff) + 2 * RADIX]++;
+                counterMap[(datum >>> 24) + 3 * RADIX]++;
+            }
+            
+            return;
+        }
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            int datum = array[i] ^ signMask;
+            
+            for (int pass = 0; pass != passes; pass++) {
+                counterMap[((datum >>> (pass * digitBits)) & mask) 
+                           + pass * radix]++;
+            }
+        }
+    }
+    
+    /**
+     * Builds the histograms of all the digits of the elements in 
+     * {@code array[fromIndex ... toIndex - 1]} in a single read. The histogram 
+     * of the {@code pass}th digit is stored in 
+     * {@code counterMap[pass * 2^digitBits ... (pass + 1) * 2^digitBits - 1]}.
+     * 
+     * @param array      the array to sort.
+     * @param counterMap the counter array to fill.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclusive index of the sorting range.
+     * @param digitBits  the number of bits in a digit.
+     * @param signMask   the mask to xor each datum with before extracting
+     *                   its digits.
+     */
+    private static void buildCounterMaps(long[] array,
+                                         int[] counterMap,
+                                         int fromIndex,
+                                         int toIndex,
+                                         int digitBits,
+                                         long signMask) {
+        int passes = computeNumberOfPasses(Long.SIZE, digitBits);
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        
+        Arrays.fill(counterMap, 0, passes * radix, 0);
+        
+        if (digitBits == 8) {
+            // The most common case, unrolled:
+            for (int i = fromIndex; i != toIndex; i++) {
+                long datum = array[i] ^ signMask;
+                
+                counterMap[(int)(datum & 0xff)]++;
+                counterMap[(int)((datum >>> 8) & 0xff) + RADIX]++;
+                counterMap[(int)((datum >>> 16) & 0xff) + 2 * RADIX]++;
+                counterMap[(int)((datum >>> 24) & 0xff) + 3 * RADIX]++;
+                counterMap[(int)((datum >>> 32) & 0xff) + 4 * RADIX]++;
+                counterMap[(int)((datum >>> 40) & 0xff) + 5 * RADIX]++;
+                counterMap[(int)((datum >>> 48) & 0xff) + 6 * RADIX]++;
+                counterMap[(int)(datum >>> 56) + 7 * RADIX]++;
+            }
+            
+            return;
+        }
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            long datum = array[i] ^ signMask;
+            
+            for (int pass = 0; pass != passes; pass++) {
+                counterMap[((int)(datum >>> (pass * digitBits)) & mask) 
+                           + pass * radix]++;
+            }
+        }
+    }
+    
+    /**
+     * Checks whether a single bucket holds the entire range, in which case 
+     * the counting sort pass over that digit would not move any element and 
+     * may be skipped.
+     * 
+     * @param counterMap   the counter array built by 
+     *                     {@code buildCounterMaps}.
+     * @param counterIndex the index of the counter of an arbitrary element of
+     *                     the range.
+     * @param rangeLength  the length of the sorting range.
+     * @return {@code true} if the pass may be skipped.
+     */
+    private static boolean isTrivialPass(int[] counterMap,
+                                         int counterIndex,
+                                         int rangeLength) {
+        return counterMap[counterIndex] == rangeLength;
+    }
+    
+    /**
+     * Performs the counting sort on 
+     * {@code source[sourceOffset ... sourceOffset + rangeLength - 1]} and 
+     * stores the result in 
+     * {@code target[targetOffset ... targetOffset + rangeLength - 1]}.
+     * 
+     * @param source           the array to read the elements from.
+     * @param target           the array to write the sorted elements to.
+     * @param counterMap       the counter array built by 
+     *                         {@code buildCounterMaps}.
+     * @param counterMapOffset the index of the first counter of the digit.
+     * @param shift            the number of bits to shift the datum right in
+     *                         order to get the digit.
+     * @param mask             the mask selecting the digit bits.
+     * @param signMask         the mask to xor each datum with before 
+     *                         extracting the digit.
+     * @param sourceOffset     the starting index of the range in 
+     *                         {@code source}.
+     * @param targetOffset     the starting index of the range in 
+     *                         {@code target}.
+     * @param rangeLength      the length of the sorting range.
+     */
+    private static void countingSortImpl(int[] source,
+                                         int[] target,
+                                         int[] counterMap,
+                                         int counterMapOffset,
+                                         int shift,
+                                         int mask,
+                                         int signMask,
+                                         int sourceOffset,
+                                         int targetOffset,
+                                         int rangeLength) {
+        // Make the counter map accummulative:
+        for (int i = counterMapOffset + 1; 
+                i != counterMapOffset + mask + 1; 
+                i++) {
+            counterMap[i] += counterMap[i - 1];
+        }
+        
+        // Build the target range (which will end up sorted by the digit):
+        for (int i = sourceOffset + rangeLength - 1; i >= sourceOffset; i--) {
+            int datum = source[i];
+            int index = counterMapOffset 
+                      + extractCounterIndex(datum, shift, mask, signMask);
+            
+            target[targetOffset + --counterMap[index]] = datum;
+        }
+    }
+    
+    /**
+     * Performs the counting sort on 
+     * {@code source[sourceOffset ... sourceOffset + rangeLength - 1]} and 
+     * stores the result in 
+     * {@code target[targetOffset ... targetOffset + rangeLength - 1]}, just
+     * as {@code countingSortImpl} does, but with software write-combining.
+     * Instead of being written to one of {@code 2^digitBits} scattered 
+     * positions of {@code target}, each element is staged in a cache line 
+     * sized slot of its bucket in {@code stagingBuffer}, which stays in the
+     * cache. Each slot mirrors the line of {@code target} the bucket is 
+     * currently filling, and is copied there in a single burst once the 
+     * line is full. The source is read forward, which keeps the scatter 
+     * stable.
+     * 
+     * @param source            the array to read the elements from.
+     * @param target            the array to write the sorted elements to.
+     * @param stagingBuffer     the write-combining buffer of at least 
+     *                          {@code 2^digitBits} cache lines.
+     * @param counterMap        the counter array built by 
+     *                          {@code buildCounterMaps}.
+     * @param counterMapOffset  the index of the first counter of the digit.
+     * @param bucketStartOffset the index of the first of the 
+     *                          {@code 2^digitBits} counters to store the 
+     *                          bucket starts in.
+     * @param shift             the number of bits to shift the datum right 
+     *                          in order to get the digit.
+     * @param mask              the mask selecting the digit bits.
+     * @param signMask          the mask to xor each datum with before 
+     *                          extracting the digit.
+     * @param sourceOffset      the starting index of the range in 
+     *                          {@code source}.
+     * @param targetOffset      the starting index of the range in 
+     *                          {@code target}.
+     * @param rangeLength       the length of the sorting range.
+     */
+    private static void writeCombiningCountingSortImpl(
+            int[] source,
+            int[] target,
+            int[] stagingBuffer,
+            int[] counterMap,
+            int counterMapOffset,
+            int bucketStartOffset,
+            int shift,
+            int mask,
+            int signMask,
+            int sourceOffset,
+            int targetOffset,
+            int rangeLength) {
+        // Turn the counters into the indices of the next target position of
+        // each bucket, and remember where each bucket starts:
+        int targetIndex = targetOffset;
+        
+        for (int bucket = 0; bucket != mask + 1; bucket++) {
+            int count = counterMap[counterMapOffset + bucket];
+            counterMap[counterMapOffset + bucket] = targetIndex;
+            counterMap[bucketStartOffset + bucket] = targetIndex;
+            targetIndex += count;
+        }
+        
+        for (int i = sourceOffset; i != sourceOffset + rangeLength; i++) {
+            int datum = source[i];
+            int bucket = extractCounterIndex(datum, shift, mask, signMask);
+            int index = counterMap[counterMapOffset + bucket]++;
+            int lineIndex = index & (INT_LINE_LENGTH - 1);
+            
+            stagingBuffer[bucket * INT_LINE_LENGTH + lineIndex] = datum;
+            
+            if (lineIndex == INT_LINE_LENGTH - 1) {
+                // The line is full. The first line of a bucket may start 
+                // after the beginning of the line:
+                flushLine(stagingBuffer, 
+                          target, 
+                          bucket * INT_LINE_LENGTH, 
+                          Math.max(index - lineIndex, 
+                                   counterMap[bucketStartOffset + bucket]), 
+                          index + 1);
+            }
+        }
+        
+        // Flush the partially filled last lines:
+        for (int bucket = 0; bucket != mask + 1; bucket++) {
+            int toIndex = counterMap[counterMapOffset + bucket];
+            
+            flushLine(stagingBuffer, 
+                      target, 
+                      bucket * INT_LINE_LENGTH, 
+                      Math.max(toIndex & ~(INT_LINE_LENGTH - 1), 
+                               counterMap[bucketStartOffset + bucket]), 
+                      toIndex);
+        }
+    }
+    
+    /**
+     * Copies the staged elements of a bucket to 
+     * {@code target[fromIndex ... toIndex - 1]}, which lies within a single
+     * cache line sized block of {@code target}.
+     * 
+     * @param stagingBuffer the write-combining buffer.
+     * @param target        the array to write the elements to.
+     * @param lineOffset    the index of the first element of the slot of the
+     *                      bucket in {@code stagingBuffer}.
+     * @param fromIndex     the starting, inclusive index of the block.
+     * @param toIndex       the ending, exclusive index of the block.
+     */
+    private static void flushLine(int[] stagingBuffer,
+                                  int[] target,
+                                  int lineOffset,
+                                  int fromIndex,
+                                  int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            int lineIndex = i & (INT_LINE_LENGTH - 1);
+            target[i] = stagingBuffer[lineOffset + lineIndex];
+        }
+    }
+    
+    /**
+     * Performs the counting sort on 
+     * {@code source[sourceOffset ... sourceOffset + rangeLength - 1]} and 
+     * stores the result in 
+     * {@code target[targetOffset ... targetOffset + rangeLength - 1]}.
+     * 
+     * @param source           the array to read the elements from.
+     * @param target           the array to write the sorted elements to.
+     * @param counterMap       the counter array built by 
+     *                         {@code buildCounterMaps}.
+     * @param counterMapOffset the index of the first counter of the digit.
+     * @param shift            the number of bits to shift the datum right in
+     *                         order to get the digit.
+     * @param mask             the mask selecting the digit bits.
+     * @param signMask         the mask to xor each datum with before 
+     *                         extracting the digit.
+     * @param sourceOffset     the starting index of the range in 
+     *                         {@code source}.
+     * @param targetOffset     the starting index of the range in 
+     *                         {@code target}.
+     * @param rangeLength      the length of the sorting range.
+     */
+    private static void countingSortImpl(long[] source,
+                                         long[] target,
+                                         int[] counterMap,
+                                         int counterMapOffset,
+                                         int shift,
+                                         int mask,
+                                         long signMask,
+                                         int sourceOffset,
+                                         int targetOffset,
+                                         int rangeLength) {
+        // Make the counter map accummulative:
+        for (int i = counterMapOffset + 1; 
+                i != counterMapOffset + mask + 1; 
+                i++) {
+            counterMap[i] += counterMap[i - 1];
+        }
+        
+        // Build the target range (which will end up sorted by the digit):
+        for (int i = sourceOffset + rangeLength - 1; i >= sourceOffset; i--) {
+            long datum = source[i];
+            int index = counterMapOffset 
+                      + extractCounterIndex(datum, shift, mask, signMask);
+            
+            target[targetOffset + --counterMap[index]] = datum;
+        }
+    }
+    
+    /**
+     * Performs the counting sort on 
+     * {@code source[sourceOffset ... sourceOffset + rangeLength - 1]} and 
+     * stores the result in 
+     * {@code target[targetOffset ... targetOffset + rangeLength - 1]}, just
+     * as {@code countingSortImpl} does, but with software write-combining.
+     * Instead of being written to one of {@code 2^digitBits} scattered 
+     * positions of {@code target}, each element is staged in a cache line 
+     * sized slot of its bucket in {@code stagingBuffer}, which stays in the
+     * cache. Each slot mirrors the line of {@code target} the bucket is 
+     * currently filling, and is copied there in a single burst once the 
+     * line is full. The source is read forward, which keeps the scatter 
+     * stable.
+     * 
+     * @param source            the array to read the elements from.
+     * @param target            the array to write the sorted elements to.
+     * @param stagingBuffer     the write-combining buffer of at least 
+     *                          {@code 2^digitBits} cache lines.
+     * @param counterMap        the counter array built by 
+     *                          {@code buildCounterMaps}.
+     * @param counterMapOffset  the index of the first counter of the digit.
+     * @param bucketStartOffset the index of the first of the 
+     *                          {@code 2^digitBits} counters to store the 
+     *                          bucket starts in.
+     * @param shift             the number of bits to shift the datum right 
+     *                          in order to get the digit.
+     * @param mask              the mask selecting the digit bits.
+     * @param signMask          the mask to xor each datum with before 
+     *                          extracting the digit.
+     * @param sourceOffset      the starting index of the range in 
+     *                          {@code source}.
+     * @param targetOffset      the starting index of the range in 
+     *                          {@code target}.
+     * @param rangeLength       the length of the sorting range.
+     */
+    private static void writeCombiningCountingSortImpl(
+            long[] source,
+            long[] target,
+            long[] stagingBuffer,
+            int[] counterMap,
+            int counterMapOffset,
+            int bucketStartOffset,
+            int shift,
+            int mask,
+            long signMask,
+            int sourceOffset,
+            int targetOffset,
+            int rangeLength) {
+        // Turn the counters into the indices of the next target position of
+        // each bucket, and remember where each bucket starts:
+        int targetIndex = targetOffset;
+        
+        for (int bucket = 0; bucket != mask + 1; bucket++) {
+            int count = counterMap[counterMapOffset + bucket];
+            counterMap[counterMapOffset + bucket] = targetIndex;
+            counterMap[bucketStartOffset + bucket] = targetIndex;
+            targetIndex += count;
+        }
+        
+        for (int i = sourceOffset; i != sourceOffset + rangeLength; i++) {
+            long datum = source[i];
+            int bucket = extractCounterIndex(datum, shift, mask, signMask);
+            int index = counterMap[counterMapOffset + bucket]++;
+            int lineIndex = index & (LONG_LINE_LENGTH - 1);
+            
+            stagingBuffer[bucket * LONG_LINE_LENGTH + lineIndex] = datum;
+            
+            if (lineIndex == LONG_LINE_LENGTH - 1) {
+                // The line is full. The first line of a bucket may start 
+                // after the beginning of the line:
+                flushLine(stagingBuffer, 
+                          target, 
+                          bucket * LONG_LINE_LENGTH, 
+                          Math.max(index - lineIndex, 
+                                   counterMap[bucketStartOffset + bucket]), 
+                          index + 1);
+            }
+        }
+        
+        // Flush the partially filled last lines:
+        for (int bucket = 0; bucket != mask + 1; bucket++) {
+            int toIndex = counterMap[counterMapOffset + bucket];
+            
+            flushLine(stagingBuffer, 
+                      target, 
+                      bucket * LONG_LINE_LENGTH, 
+                      Math.max(toIndex & ~(LONG_LINE_LENGTH - 1), 
+                               counterMap[bucketStartOffset + bucket]), 
+                      toIndex);
+        }
+    }
+    
+    /**
+     * Copies the staged elements of a bucket to 
+     * {@code target[fromIndex ... toIndex - 1]}, which lies within a single
+     * cache line sized block of {@code target}.
+     * 
+     * @param stagingBuffer the write-combining buffer.
+     * @param target        the array to write the elements to.
+     * @param lineOffset    the index of the first element of the slot of the
+     *                      bucket in {@code stagingBuffer}.
+     * @param fromIndex     the starting, inclusive index of the block.
+     * @param toIndex       the ending, exclusive index of the block.
+     */
+    private static void flushLine(long[] stagingBuffer,
+                                  long[] target,
+                                  int lineOffset,
+                                  int fromIndex,
+                                  int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            int lineIndex = i & (LONG_LINE_LENGTH - 1);
+            target[i] = stagingBuffer[lineOffset + lineIndex];
+        }
+    }
+    
+    /**
+     * Extracts the counter array index from the integer datum. The datum is 
+     * first xored with {@code signMask}: flipping the sign bit puts the 
+     * negative data before the non-negative data in the counter array of the
+     * most significant digit.
+     * 
+     * @param datum    the integer key.
+     * @param shift    the number of bits to shift the datum right in order to
+     *                 get the digit.
+     * @param mask     the mask selecting the digit bits.
+     * @param signMask the mask to xor the datum with.
+     * @return         the index into counter array.
+     */
+    private static int extractCounterIndex(int datum, 
+                                           int shift, 
+                                           int mask,
+                                           int signMask) {
+        return ((datum ^ signMask) >>> shift) & mask;
+    }
+    
+    /**
+     * Extracts the counter array index from the {@code long} integer datum. 
+     * The datum is first xored with {@code signMask}: flipping the sign bit 
+     * puts the negative data before the non-negative data in the counter 
+     * array of the most significant digit.
+     * 
+     * @param datum    the {@code long} integer key.
+     * @param shift    the number of bits to shift the datum right in order to
+     *                 get the digit.
+     * @param mask     the mask selecting the digit bits.
+     * @param signMask the mask to xor the datum with.
+     * @return         the index into counter array.
+     */
+    static int extractCounterIndex(long datum, 
+                                   int shift, 
+                                   int mask,
+                                   long signMask) {
+        return (int)((datum ^ signMask) >>> shift) & mask;
+    }
+    
+    /**
+     * Implements the actual sorting of {@code float} data. Works exactly as
+     * {@code sortImpl(int[], ...)}, except that the digits are extracted from
+     * the sortable bits of each datum. The range must not contain NaNs.
+     * 
+     * @param array      the array to sort.
+     * @param buffer     the sorting buffer array.
+     * @param counterMap the bucket counter array holding at least 
+     *                   {@code passes * 2^digitBits} counters.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclsuive index of the sorting range.
+     * @param digitBits  the number of bits in a digit.
+     */
+    private static void sortImpl(float[] array,
+                                 float[] buffer, 
+                                 int[] counterMap,
+                                 int fromIndex,
+                                 int toIndex,
+                                 int digitBits) {
+        int rangeLength = toIndex - fromIndex;
+        int passes = computeNumberOfPasses(Integer.SIZE, digitBits);
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        
+        buildCounterMaps(array, 
+                         counterMap,
+                         fromIndex, 
+                         toIndex,
+                         digitBits);
+        
+        // Each pass reads from source and writes to target, after which the 
+        // two swap their roles:
+        float[] source = array;
+        float[] target = buffer;
+        int sourceOffset = fromIndex;
+        int targetOffset = 0;
+        
+        for (int pass = 0; pass != passes; pass++) {
+            int shift = pass * digitBits;
+            int counterMapOffset = pass * radix;
+            
+            if (isTrivialPass(counterMap, 
+                              counterMapOffset 
+                                      + extractCounterIndex(array[fromIndex],
+                                                            shift,
+                                                            mask), 
+                              rangeLength)) {
+                continue;
+            }
+            
+            countingSortImpl(source, 
+                             target, 
+                             counterMap, 
+                             counterMapOffset,
+                             shift,
+                             mask,
+                             sourceOffset,
+                             targetOffset,
+                             rangeLength);
+            
+            float[] tmpArray = source;
+            source = target;
+            target = tmpArray;
+            
+            int tmpOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tmpOffset;
+        }
+        
+        if (source != array) {
+            // An odd number of passes was made, the sorted data is in the 
+            // buffer. Copy it back to the array:
+            System.arraycopy(buffer, 
+                             0, 
+                             array, 
+                             fromIndex, 
+                             rangeLength);
+        }
+    }
+    
+    /**
+     * Builds the histograms of all the digits of the sortable bits of the 
+     * elements in {@code array[fromIndex ... toIndex - 1]} in a single read.
+     * 
+     * @param array      the array to sort.
+     * @param counterMap the counter array to fill.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclusive index of the sorting range.
+     * @param digitBits  the number of bits in a digit.
+     */
+    private static void buildCounterMaps(float[] array,
+                                         int[] counterMap,
+                                         int fromIndex,
+                                         int toIndex,
+                                         int digitBits) {
+        int passes = computeNumberOfPasses(Integer.SIZE, digitBits);
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        
+        Arrays.fill(counterMap, 0, passes * radix, 0);
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            int datum = toSortableBits(array[i]);
+            
+            for (int pass = 0; pass != passes; pass++) {
+                counterMap[((datum >>> (pass * digitBits)) & mask) 
+                           + pass * radix]++;
+            }
+        }
+    }
+    
+    /**
+     * Performs the counting sort of {@code float} data on 
+     * {@code source[sourceOffset ... sourceOffset + rangeLength - 1]} and 
+     * stores the result in 
+     * {@code target[targetOffset ... targetOffset + rangeLength - 1]}.
+     * 
+     * @param source           the array to read the elements from.
+     * @param target           the array to write the sorted elements to.
+     * @param counterMap       the counter array built by 
+     *                         {@code buildCounterMaps}.
+     * @param counterMapOffset the index of the first counter of the digit.
+     * @param shift            the number of bits to shift the sortable bits
+     *                         right in order to get the digit.
+     * @param mask             the mask selecting the digit bits.
+     * @param sourceOffset     the starting index of the range in 
+     *                         {@code source}.
+     * @param targetOffset     the starting index of the range in 
+     *                         {@code target}.
+     * @param rangeLength      the length of the sorting range.
+     */
+    private static void countingSortImpl(float[] source,
+                                         float[] target,
+                                         int[] counterMap,
+                                         int counterMapOffset,
+                                         int shift,
+                                         int mask,
+                                         int sourceOffset,
+                                         int targetOffset,
+                                         int rangeLength) {
+        // Make the counter map accummulative:
+        for (int i = counterMapOffset + 1; 
+                i != counterMapOffset + mask + 1; 
+                i++) {
+            counterMap[i] += counterMap[i - 1];
+        }
+        
+        // Build the target range (which will end up sorted by the digit):
+        for (int i = sourceOffset + rangeLength - 1; i >= sourceOffset; i--) {
+            float datum = source[i];
+            int index = counterMapOffset 
+                      + extractCounterIndex(datum, shift, mask);
+            
+            target[targetOffset + --counterMap[index]] = datum;
+        }
+    }
+    
+    /**
+     * Extracts the counter array index from the sortable bits of the 
+     * {@code float} datum.
+     * 
+     * @param datum the {@code float} key.
+     * @param shift the number of bits to shift the sortable bits right in 
+     *              order to get the digit.
+     * @param mask  the mask selecting the digit bits.
+     * @return      the index into counter array.
+     */
+    private static int extractCounterIndex(float datum, int shift, int mask) {
+        return (toSortableBits(datum) >>> shift) & mask;
+    }
+    
+    /**
+     * Maps the {@code float} datum to bits whose unsigned order is the numeric
+     * order of the data. The sign bit of a non-negative datum is flipped, 
+     * which puts it above all the negative data; all the bits of a negative
+     * datum are flipped, which in addition reverses the order of the 
+     * magnitudes. Under this mapping {@code -0.0} precedes {@code 0.0}.
+     * 
+     * @param datum the {@code float} datum. Must not be NaN.
+     * @return the sortable bits.
+     */
+    private static int toSortableBits(float datum) {
+        int bits = Float.floatToRawIntBits(datum);
+        return bits ^ ((bits >> (Integer.SIZE - 1)) | Integer.MIN_VALUE);
+    }
+    
+    /**
+     * Moves all the NaN values of {@code array[fromIndex ... toIndex - 1]} to
+     * the end of the range.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @return the index of the first NaN in the range after the move, or 
+     *         {@code toIndex} if there are no NaNs in the range.
+     */
+    private static int moveNaNsToEnd(float[] array, 
+                                     int fromIndex, 
+                                     int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            float datum = array[i];
+            
+            if (Float.isNaN(datum)) {
+                array[i] = array[--toIndex];
+                array[toIndex] = datum;
+            }
+        }
+        
+        return toIndex;
+    }
+    
+    /**
+     * Implements the actual sorting of {@code double} data. Works exactly as
+     * {@code sortImpl(long[], ...)}, except that the digits are extracted from
+     * the sortable bits of each datum. The range must not contain NaNs.
+     * 
+     * @param array      the array to sort.
+     * @param buffer     the sorting buffer array.
+     * @param counterMap the bucket counter array holding at least 
+     *                   {@code passes * 2^digitBits} counters.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclsuive index of the sorting range.
+     * @param digitBits  the number of bits in a digit.
+     */
+    private static void sortImpl(double[] array,
+                                 double[] buffer, 
+                                 int[] counterMap,
+                                 int fromIndex,
+                                 int toIndex,
+                                 int digitBits) {
+        int rangeLength = toIndex - fromIndex;
+        int passes = computeNumberOfPasses(Long.SIZE, digitBits);
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        
+        buildCounterMaps(array, 
+                         counterMap,
+                         fromIndex, 
+                         toIndex,
+                         digitBits);
+        
+        // Each pass reads from source and writes to target, after which the 
+        // two swap their roles:
+        double[] source = array;
+        double[] target = buffer;
+        int sourceOffset = fromIndex;
+        int targetOffset = 0;
+        
+        for (int pass = 0; pass != passes; pass++) {
+            int shift = pass * digitBits;
+            int counterMapOffset = pass * radix;
+            
+            if (isTrivialPass(counterMap, 
+                              counterMapOffset 
+                                      + extractCounterIndex(array[fromIndex],
+                                                            shift,
+                                                            mask), 
+                              rangeLength)) {
+                continue;
+            }
+            
+            countingSortImpl(source, 
+                             target, 
+                             counterMap, 
+                             counterMapOffset,
+                             shift,
+                             mask,
+                             sourceOffset,
+                             targetOffset,
+                             rangeLength);
+            
+            double[] tmpArray = source;
+            source = target;
+            target = tmpArray;
+            
+            int tmpOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tmpOffset;
+        }
+        
+        if (source != array) {
+            // An odd number of passes was made, the sorted data is in the 
+            // buffer. Copy it back to the array:
+            System.arraycopy(buffer, 
+                             0, 
+                             array, 
+                             fromIndex, 
+                             rangeLength);
+        }
+    }
+    
+    /**
+     * Builds the histograms of all the digits of the sortable bits of the 
+     * elements in {@code array[fromIndex ... toIndex - 1]} in a single read.
+     * 
+     * @param array      the array to sort.
+     * @param counterMap the counter array to fill.
+     * @param fromIndex  the starting, inclusive index of the sorting range.
+     * @param toIndex    the ending, exclusive index of the sorting range.
+     * @param digitBits  the number of bits in a digit.
+     */
+    private static void buildCounterMaps(double[] array,
+                                         int[] counterMap,
+                                         int fromIndex,
+                                         int toIndex,
+                                         int digitBits) {
+        int passes = computeNumberOfPasses(Long.SIZE, digitBits);
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        
+        Arrays.fill(counterMap, 0, passes * radix, 0);
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            long datum = toSortableBits(array[i]);
+            
+            for (int pass = 0; pass != passes; pass++) {
+                counterMap[((int)(datum >>> (pass * digitBits)) & mask) 
+                           + pass * radix]++;
+            }
+        }
+    }
+    
+    /**
+     * Performs the counting sort of {@code double} data on 
+     * {@code source[sourceOffset ... sourceOffset + rangeLength - 1]} and 
+     * stores the result in 
+     * {@code target[targetOffset ... targetOffset + rangeLength - 1]}.
+     * 
+     * @param source           the array to read the elements from.
+     * @param target           the array to write the sorted elements to.
+     * @param counterMap       the counter array built by 
+     *                         {@code buildCounterMaps}.
+     * @param counterMapOffset the index of the first counter of the digit.
+     * @param shift            the number of bits to shift the sortable bits
+     *                         right in order to get the digit.
+     * @param mask             the mask selecting the digit bits.
+     * @param sourceOffset     the starting index of the range in 
+     *                         {@code source}.
+     * @param targetOffset     the starting index of the range in 
+     *                         {@code target}.
+     * @param rangeLength      the length of the sorting range.
+     */
+    private static void countingSortImpl(double[] source,
+                                         double[] target,
+                                         int[] counterMap,
+                                         int counterMapOffset,
+                                         int shift,
+                                         int mask,
+                                         int sourceOffset,
+                                         int targetOffset,
+                                         int rangeLength) {
+        // Make the counter map accummulative:
+        for (int i = counterMapOffset + 1; 
+                i != counterMapOffset + mask + 1; 
+                i++) {
+            counterMap[i] += counterMap[i - 1];
+        }
+        
+        // Build the target range (which will end up sorted by the digit):
+        for (int i = sourceOffset + rangeLength - 1; i >= sourceOffset; i--) {
+            double datum = source[i];
+            int index = counterMapOffset 
+                      + extractCounterIndex(datum, shift, mask);
+            
+            target[targetOffset + --counterMap[index]] = datum;
+        }
+    }
+    
+    /**
+     * Extracts the counter array index from the sortable bits of the 
+     * {@code double} datum.
+     * 
+     * @param datum the {@code double} key.
+     * @param shift the number of bits to shift the sortable bits right in 
+     *              order to get the digit.
+     * @param mask  the mask selecting the digit bits.
+     * @return      the index into counter array.
+     */
+    private static int extractCounterIndex(double datum, 
+                                           int shift, 
+                                           int mask) {
+        return (int)(toSortableBits(datum) >>> shift) & mask;
+    }
+    
+    /**
+     * Maps the {@code double} datum to bits whose unsigned order is the numeric
+     * order of the data. The sign bit of a non-negative datum is flipped, 
+     * which puts it above all the negative data; all the bits of a negative
+     * datum are flipped, which in addition reverses the order of the 
+     * magnitudes. Under this mapping {@code -0.0} precedes {@code 0.0}.
+     * 
+     * @param datum the {@code double} datum. Must not be NaN.
+     * @return the sortable bits.
+     */
+    private static long toSortableBits(double datum) {
+        long bits = Double.doubleToRawLongBits(datum);
+        return bits ^ ((bits >> (Long.SIZE - 1)) | Long.MIN_VALUE);
+    }
+    
+    /**
+     * Moves all the NaN values of {@code array[fromIndex ... toIndex - 1]} to
+     * the end of the range.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @return the index of the first NaN in the range after the move, or 
+     *         {@code toIndex} if there are no NaNs in the range.
+     */
+    private static int moveNaNsToEnd(double[] array, 
+                                     int fromIndex, 
+                                     int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            double datum = array[i];
+            
+            if (Double.isNaN(datum)) {
+                array[i] = array[--toIndex];
+                array[toIndex] = datum;
+            }
+        }
+        
+        return toIndex;
+    }
+    
+    /**
+     * Computes the number of counting sort passes needed to sort 
+     * {@code keyBits}-bit keys by {@code digitBits}-bit digits.
+     * 
+     * @param keyBits   the number of bits in a key.
+     * @param digitBits the number of bits in a digit.
+     * @return the number of passes.
+     */
+    private static int computeNumberOfPasses(int keyBits, int digitBits) {
+        return (keyBits + digitBits - 1) / digitBits;
+    }
+    
+    /**
+     * Selects the digit width for sorting a range of length 
+     * {@code rangeLength}. Short ranges use 8-bit digits whose counter arrays
+     * are cheap to clear and accumulate; longer ranges amortize the larger 
+     * counter arrays of wider digits over fewer passes.
+     * 
+     * @param rangeLength the length of the sorting range.
+     * @return the number of bits in a digit.
+     */
+    private static int selectDigitBits(int rangeLength) {
+        if (rangeLength < ELEVEN_BIT_DIGIT_THRESHOLD) {
+            return 8;
+        }
+        
+        if (rangeLength < SIXTEEN_BIT_DIGIT_THRESHOLD) {
+            return 11;
+        }
+        
+        return 16;
+    }
+    
+    /**
+     * Selects the digit width for sorting an {@code int} or {@code long} 
+     * range of length {@code rangeLength}. Works as {@code selectDigitBits},
+     * except that the digits of a range scattered through write-combining 
+     * buffers are at most {@code WRITE_COMBINING_MAXIMUM_DIGIT_BITS} bits 
+     * wide.
+     * 
+     * @param rangeLength the length of the sorting range.
+     * @return the number of bits in a digit.
+     */
+    private static int selectSortRangeDigitBits(int rangeLength) {
+        int digitBits = selectDigitBits(rangeLength);
+        
+        if (rangeLength >= WRITE_COMBINING_THRESHOLD) {
+            return Math.min(digitBits, WRITE_COMBINING_MAXIMUM_DIGIT_BITS);
+        }
+        
+        return digitBits;
+    }
+    
+    /**
+     * Implements the actual sorting of keys with an {@code int} payload. 
+     * Works exactly as {@code sortImpl}, except that each move of a key is 
+     * mirrored by the same move of its payload element.
+     * 
+     * @param keys          the keys to sort.
+     * @param payload       the payload to reorder along the keys.
+     * @param keyBuffer     the sorting buffer for the keys.
+     * @param payloadBuffer the sorting buffer for the payload.
+     * @param counterMap    the bucket counter array holding at least 
+     *                      {@code passes * 2^digitBits} counters.
+     * @param fromIndex     the starting, inclusive index of the sorting range.
+     * @param toIndex       the ending, exclsuive index of the sorting range.
+     * @param digitBits     the number of bits in a digit.
+     * @param signMask      the mask to xor each key with before extracting
+     *                      its digits.
+     */
+    private static void sortByKeyImpl(int[] keys,
+                                      int[] payload,
+                                      int[] keyBuffer,
+                                      int[] payloadBuffer,
+                                      int[] counterMap,
+                                      int fromIndex,
+                                      int toIndex,
+                                      int digitBits,
+                                      int signMask) {
+        int rangeLength = toIndex - fromIndex;
+        int passes = computeNumberOfPasses(Integer.SIZE, digitBits);
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        
+        buildCounterMaps(keys, 
+                         counterMap,
+                         fromIndex, 
+                         toIndex,
+                         digitBits,
+                         signMask);
+        
+        // Each pass reads from source and writes to target, after which the 
+        // two swap their roles:
+        int[] sourceKeys = keys;
+        int[] targetKeys = keyBuffer;
+        int[] sourcePayload = payload;
+        int[] targetPayload = payloadBuffer;
+        int sourceOffset = fromIndex;
+        int targetOffset = 0;
+        
+        for (int pass = 0; pass != passes; pass++) {
+            int shift = pass * digitBits;
+            int counterMapOffset = pass * radix;
+            
+            if (isTrivialPass(counterMap, 
+                              counterMapOffset 
+                                      + extractCounterIndex(keys[fromIndex],
+                                                            shift,
+                                                            mask,
+                                                            signMask), 
+                              rangeLength)) {
+                continue;
+            }
+            
+            // Make the counter map accummulative:
+            for (int i = counterMapOffset + 1; 
+                    i != counterMapOffset + radix; 
+                    i++) {
+                counterMap[i] += counterMap[i - 1];
+            }
+            
+            // Move the keys and the payload to the target range:
+            for (int i = sourceOffset + rangeLength - 1; 
+                    i >= sourceOffset; 
+                    i--) {
+                int key = sourceKeys[i];
+                int index = counterMapOffset 
+                          + extractCounterIndex(key, shift, mask, signMask);
+                
+                int targetIndex = targetOffset + --counterMap[index];
+                targetKeys[targetIndex] = key;
+                targetPayload[targetIndex] = sourcePayload[i];
+            }
+            
+            int[] tmpKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = tmpKeys;
+            
+            int[] tmpPayload = sourcePayload;
+            sourcePayload = targetPayload;
+            targetPayload = tmpPayload;
+            
+            int tmpOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tmpOffset;
+        }
+        
+        if (sourceKeys != keys) {
+            // An odd number of passes was made, the sorted data is in the 
+            // buffers. Copy it back:
+            System.arraycopy(keyBuffer, 
+                             0, 
+                             keys, 
+                             fromIndex, 
+                             rangeLength);
+            
+            System.arraycopy(payloadBuffer, 
+                             0, 
+                             payload, 
+                             fromIndex, 
+                             rangeLength);
+        }
+    }
+    
+    /**
+     * Sorts a short range of keys along with the payload via insertion sort, 
+     * which is stable.
+     * 
+     * @param keys      the keys to sort.
+     * @param payload   the payload to reorder along the keys.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    private static void insertionSortByKey(int[] keys,
+                                           int[] payload,
+                                           int fromIndex,
+                                           int toIndex) {
+        for (int i = fromIndex + 1; i != toIndex; i++) {
+            int key = keys[i];
+            int payloadDatum = payload[i];
+            int j = i - 1;
+            
+            while (j >= fromIndex && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                payload[j + 1] = payload[j];
+                j--;
+            }
+            
+            keys[j + 1] = key;
+            payload[j + 1] = payloadDatum;
+        }
+    }
+    
+    /**
+     * Implements the actual sorting of keys with an {@code int} payload. 
+     * Works exactly as {@code sortImpl}, except that each move of a key is 
+     * mirrored by the same move of its payload element.
+     * 
+     * @param keys          the keys to sort.
+     * @param payload       the payload to reorder along the keys.
+     * @param keyBuffer     the sorting buffer for the keys.
+     * @param payloadBuffer the sorting buffer for the payload.
+     * @param counterMap    the bucket counter array holding at least 
+     *                      {@code passes * 2^digitBits} counters.
+     * @param fromIndex     the starting, inclusive index of the sorting range.
+     * @param toIndex       the ending, exclsuive index of the sorting range.
+     * @param digitBits     the number of bits in a digit.
+     * @param signMask      the mask to xor each key with before extracting
+     *                      its digits.
+     */
+    private static void sortByKeyImpl(long[] keys,
+                                      int[] payload,
+                                      long[] keyBuffer,
+                                      int[] payloadBuffer,
+                                      int[] counterMap,
+                                      int fromIndex,
+                                      int toIndex,
+                                      int digitBits,
+                                      long signMask) {
+        int rangeLength = toIndex - fromIndex;
+        int passes = computeNumberOfPasses(Long.SIZE, digitBits);
+        int radix = 1 << digitBits;
+        int mask = radix - 1;
+        
+        buildCounterMaps(keys, 
+                         counterMap,
+                         fromIndex, 
+                         toIndex,
+                         digitBits,
+                         signMask);
+        
+        // Each pass reads from source and writes to target, after which the 
+        // two swap their roles:
+        long[] sourceKeys = keys;
+        long[] targetKeys = keyBuffer;
+        int[] sourcePayload = payload;
+        int[] targetPayload = payloadBuffer;
+        int sourceOffset = fromIndex;
+        int targetOffset = 0;
+        
+        for (int pass = 0; pass != passes; pass++) {
+            int shift = pass * digitBits;
+            int counterMapOffset = pass * radix;
+            
+            if (isTrivialPass(counterMap, 
+                              counterMapOffset 
+                                      + extractCounterIndex(keys[fromIndex],
+                                                            shift,
+                                                            mask,
+                                                            signMask), 
+                              rangeLength)) {
+                continue;
+            }
+            
+            // Make the counter map accummulative:
+            for (int i = counterMapOffset + 1; 
+                    i != counterMapOffset + radix; 
+                    i++) {
+                counterMap[i] += counterMap[i - 1];
+            }
+            
+            // Move the keys and the payload to the target range:
+            for (int i = sourceOffset + rangeLength - 1; 
+                    i >= sourceOffset; 
+                    i--) {
+                long key = sourceKeys[i];
+                int index = counterMapOffset 
+                          + extractCounterIndex(key, shift, mask, signMask);
+                
+                int targetIndex = targetOffset + --counterMap[index];
+                targetKeys[targetIndex] = key;
+                targetPayload[targetIndex] = sourcePayload[i];
+            }
+            
+            long[] tmpKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = tmpKeys;
+            
+            int[] tmpPayload = sourcePayload;
+            sourcePayload = targetPayload;
+            targetPayload = tmpPayload;
+            
+            int tmpOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tmpOffset;
+        }
+        
+        if (sourceKeys != keys) {
+            // An odd number of passes was made, the sorted data is in the 
+            // buffers. Copy it back:
+            System.arraycopy(keyBuffer, 
+                             0, 
+                             keys, 
+                             fromIndex, 
+                             rangeLength);
+            
+            System.arraycopy(payloadBuffer, 
+                             0, 
+                             payload, 
+                             fromIndex, 
+                             rangeLength);
+        }
+    }
+    
+    /**
+     * Sorts a short range of keys along with the payload via insertion sort, 
+     * which is stable.
+     * 
+     * @param keys      the keys to sort.
+     * @param payload   the payload to reorder along the keys.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    private static void insertionSortByKey(long[] keys,
+                                           int[] payload,
+                                           int fromIndex,
+                                           int toIndex) {
+        for (int i = fromIndex + 1; i != toIndex; i++) {
+            long key = keys[i];
+            int payloadDatum = payload[i];
+            int j = i - 1;
+            
+            while (j >= fromIndex && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                payload[j + 1] = payload[j];
+                j--;
+            }
+            
+            keys[j + 1] = key;
+            payload[j + 1] = payloadDatum;
+        }
+    }
+    
+    /**
+     * Implements the actual parallel sorting.
+     * 
+     * @param array       the array to sort.
+     * @param buffer      the sorting buffer array.
+     * @param counterMaps the bucket counter arrays, one per chunk.
+     * @param fromIndex   the starting, inclusive index of the sorting range.
+     * @param toIndex     the ending, exclusive index of the sorting range.
+     * @param pool        the fork/join pool to run the sorting tasks in.
+     */
+    private static void parallelSortImpl(int[] array,
+                                         int[] buffer,
+                                         int[][] counterMaps,
+                                         int fromIndex,
+                                         int toIndex,
+                                         ForkJoinPool pool) {
+        int rangeLength = toIndex - fromIndex;
+        
+        // Each pass reads from source and writes to target, after which the 
+        // two swap their roles:
+        int[] source = array;
+        int[] target = buffer;
+        int sourceOffset = fromIndex;
+        int targetOffset = 0;
+        
+        // The last byte contains the sign bit:
+        for (int byteIndex = 0; byteIndex != 4; byteIndex++) {
+            if (!parallelCountingSortImpl(source,
+                                          target,
+                                          counterMaps,
+                                          byteIndex,
+                                          Integer.MIN_VALUE,
+                                          sourceOffset,
+                                          targetOffset,
+                                          rangeLength,
+                                          pool)) {
+                continue;
+            }
+            
+            int[] tmpArray = source;
+            source = target;
+            target = tmpArray;
+            
+            int tmpOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tmpOffset;
+        }
+        
+        if (source != array) {
+            // An odd number of passes was made, the sorted data is in the 
+            // buffer. Copy it back to the array:
+            int chunks = counterMaps.length;
+            
+            invokeChunks(pool, chunks, (chunk) -> {
+                int chunkFromIndex = 
+                        chunkBoundary(0, rangeLength, chunks, chunk);
+                
+                int chunkToIndex = 
+                        chunkBoundary(0, rangeLength, chunks, chunk + 1);
+
+                System.arraycopy(buffer,
+                                 chunkFromIndex,
+                                 array,
+                                 fromIndex + chunkFromIndex,
+                                 chunkToIndex - chunkFromIndex);
+            });
+        }
+    }
+    
+    /**
+     * Implements the actual parallel sorting.
+     * 
+     * @param array       the array to sort.
+     * @param buffer      the sorting buffer array.
+     * @param counterMaps the bucket counter arrays, one per chunk.
+     * @param fromIndex   the starting, inclusive index of the sorting range.
+     * @param toIndex     the ending, exclusive index of the sorting range.
+     * @param pool        the fork/join pool to run the sorting tasks in.
+     */
+    private static void parallelSortImpl(long[] array,
+                                         long[] buffer,
+                                         int[][] counterMaps,
+                                         int fromIndex,
+                                         int toIndex,
+                                         ForkJoinPool pool) {
+        int rangeLength = toIndex - fromIndex;
+        
+        // Each pass reads from source and writes to target, after which the 
+        // two swap their roles:
+        long[] source = array;
+        long[] target = buffer;
+        int sourceOffset = fromIndex;
+        int targetOffset = 0;
+        
+        // The last byte contains the sign bit:
+        for (int byteIndex = 0; byteIndex != 8; byteIndex++) {
+            if (!parallelCountingSortImpl(source,
+                                          target,
+                                          counterMaps,
+                                          byteIndex,
+                                          Long.MIN_VALUE,
+                                          sourceOffset,
+                                          targetOffset,
+                                          rangeLength,
+                                          pool)) {
+                continue;
+            }
+            
+            long[] tmpArray = source;
+            source = target;
+            target = tmpArray;
+            
+            int tmpOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = tmpOffset;
+        }
+        
+        if (source != array) {
+            // An odd number of passes was made, the sorted data is in the 
+            // buffer. Copy it back to the array:
+            int chunks = counterMaps.length;
+            
+            invokeChunks(pool, chunks, (chunk) -> {
+                int chunkFromIndex = 
+                        chunkBoundary(0, rangeLength, chunks, chunk);
+                
+                int chunkToIndex = 
+                        chunkBoundary(0, rangeLength, chunks, chunk + 1);
+
+                System.arraycopy(buffer,
+                                 chunkFromIndex,
+                                 array,
+                                 fromIndex + chunkFromIndex,
+                                 chunkToIndex - chunkFromIndex);
+            });
+        }
+    }
+    
+    /**
+     * Performs the parallel counting sort on 
+     * {@code source[sourceOffset ... sourceOffset + rangeLength - 1]} and 
+     * stores the result in 
+     * {@code target[targetOffset ... targetOffset + rangeLength - 1]}, unless
+     * all the elements fall into the same bucket.
+     * 
+     * @param source       the array to read the elements from.
+     * @param target       the array to write the sorted elements to.
+     * @param counterMaps  the counter arrays, one per chunk.
+     * @param byteIndex    the index of the byte that serves as the sorting 
+     *                     key.
+     * @param signMask     the mask to xor each datum with before 
+     *                     extracting the digit.
+     * @param sourceOffset the starting index of the range in {@code source}.
+     * @param targetOffset the starting index of the range in {@code target}.
+     * @param rangeLength  the length of the sorting range.
+     * @param pool         the fork/join pool to run the sorting tasks in.
+     * @return {@code true} if the pass was made, {@code false} if it was 
+     *         skipped.
+     */
+    private static boolean parallelCountingSortImpl(int[] source,
+                                                    int[] target,
+                                                    int[][] counterMaps,
+                                                    int byteIndex,
+                                                    int signMask,
+                                                    int sourceOffset,
+                                                    int targetOffset,
+                                                    int rangeLength,
+                                                    ForkJoinPool pool) {
+        int chunks = counterMaps.length;
+        
+        // Count the elements of each chunk:
+        invokeChunks(pool, chunks, (chunk) -> {
+            int[] counterMap = counterMaps[chunk];
+            int chunkFromIndex = 
+                    chunkBoundary(sourceOffset, rangeLength, chunks, chunk);
+            
+            int chunkToIndex = 
+                    chunkBoundary(sourceOffset, rangeLength, chunks, chunk + 1);
+            
+            Arrays.fill(counterMap, 0);
+            
+            for (int i = chunkFromIndex; i != chunkToIndex; i++) {
+                counterMap[extractCounterIndex(source[i], 
+                                               byteIndex * 8, 
+                                               0xff,
+                                               signMask)]++;
+            }
+        });
+        
+        if (isTrivialPass(counterMaps,
+                          extractCounterIndex(source[sourceOffset], 
+                                              byteIndex * 8,
+                                              0xff,
+                                              signMask),
+                          rangeLength)) {
+            // All the elements fall into the same bucket, nothing to do:
+            return false;
+        }
+        
+        computeChunkOffsets(counterMaps, targetOffset);
+        
+        // Scatter each chunk into the target, front to back, so that the sort
+        // remains stable:
+        invokeChunks(pool, chunks, (chunk) -> {
+            int[] counterMap = counterMaps[chunk];
+            int chunkFromIndex = 
+                    chunkBoundary(sourceOffset, rangeLength, chunks, chunk);
+            
+            int chunkToIndex = 
+                    chunkBoundary(sourceOffset, rangeLength, chunks, chunk + 1);
+            
+            for (int i = chunkFromIndex; i != chunkToIndex; i++) {
+                int index = extractCounterIndex(source[i], 
+                                                byteIndex * 8,
+                                                0xff,
+                                                signMask);
+                
+                target[counterMap[index]++] = source[i];
+            }
+        });
+        
+        return true;
+    }
+    
+    /**
+     * Performs the parallel counting sort on 
+     * {@code source[sourceOffset ... sourceOffset + rangeLength - 1]} and 
+     * stores the result in 
+     * {@code target[targetOffset ... targetOffset + rangeLength - 1]}, unless
+     * all the elements fall into the same bucket.
+     * 
+     * @param source       the array to read the elements from.
+     * @param target       the array to write the sorted elements to.
+     * @param counterMaps  the counter arrays, one per chunk.
+     * @param byteIndex    the index of the byte that serves as the sorting 
+     *                     key.
+     * @param signMask     the mask to xor each datum with before 
+     *                     extracting the digit.
+     * @param sourceOffset the starting index of the range in {@code source}.
+     * @param targetOffset the starting index of the range in {@code target}.
+     * @param rangeLength  the length of the sorting range.
+     * @param pool         the fork/join pool to run the sorting tasks in.
+     * @return {@code true} if the pass was made, {@code false} if it was 
+     *         skipped.
+     */
+    private static boolean parallelCountingSortImpl(long[] source,
+                                                    long[] target,
+                                                    int[][] counterMaps,
+                                                    int byteIndex,
+                                                    long signMask,
+                                                    int sourceOffset,
+                                                    int targetOffset,
+                                                    int rangeLength,
+                                                    ForkJoinPool pool) {
+        int chunks = counterMaps.length;
+        
+        // Count the elements of each chunk:
+        invokeChunks(pool, chunks, (chunk) -> {
+            int[] counterMap = counterMaps[chunk];
+            int chunkFromIndex = 
+                    chunkBoundary(sourceOffset, rangeLength, chunks, chunk);
+            
+            int chunkToIndex = 
+                    chunkBoundary(sourceOffset, rangeLength, chunks, chunk + 1);
+            
+            Arrays.fill(counterMap, 0);
+            
+            for (int i = chunkFromIndex; i != chunkToIndex; i++) {
+                counterMap[extractCounterIndex(source[i], 
+                                               byteIndex * 8, 
+                                               0xff,
+                                               signMask)]++;
+            }
+        });
+        
+        if (isTrivialPass(counterMaps,
+                          extractCounterIndex(source[sourceOffset], 
+                                              byteIndex * 8,
+                                              0xff,
+                                              signMask),
+                          rangeLength)) {
+            // All the elements fall into the same bucket, nothing to do:
+            return false;
+        }
+        
+        computeChunkOffsets(counterMaps, targetOffset);
+        
+        // Scatter each chunk into the target, front to back, so that the sort
+        // remains stable:
+        invokeChunks(pool, chunks, (chunk) -> {
+            int[] counterMap = counterMaps[chunk];
+            int chunkFromIndex = 
+                    chunkBoundary(sourceOffset, rangeLength, chunks, chunk);
+            
+            int chunkToIndex = 
+                    chunkBoundary(sourceOffset, rangeLength, chunks, chunk + 1);
+            
+            for (int i = chunkFromIndex; i != chunkToIndex; i++) {
+                int index = extractCounterIndex(source[i], 
+                                                byteIndex * 8,
+                                                0xff,
+                                                signMask);
+                
+                target[counterMap[index]++] = source[i];
+            }
+        });
+        
+        return true;
+    }
+    
+    /**
+     * Checks whether a single bucket holds the entire range in the per-chunk
+     * histograms {@code counterMaps}.
+     * 
+     * @param counterMaps  the per-chunk histograms.
+     * @param counterIndex the counter index of an arbitrary element of the 
+     *                     range.
+     * @param rangeLength  the length of the sorting range.
+     * @return {@code true} if the pass may be skipped.
+     */
+    private static boolean isTrivialPass(int[][] counterMaps,
+                                         int counterIndex,
+                                         int rangeLength) {
+        int count = 0;
+        
+        for (int[] counterMap : counterMaps) {
+            count += counterMap[counterIndex];
+        }
+        
+        return count == rangeLength;
+    }
+    
+    /**
+     * Converts the per-chunk histograms into per-chunk starting offsets. 
+     * After this method returns, {@code counterMaps[chunk][bucket]} holds the
+     * index in the target array at which the first element of {@code bucket}
+     * coming from {@code chunk} must be written. Buckets are laid out in 
+     * ascending order, and within each bucket the chunks are laid out in 
+     * ascending order, which keeps the scatter stable.
+     * 
+     * @param counterMaps  the per-chunk histograms.
+     * @param targetOffset the starting index of the range in the target 
+     *                     array.
+     */
+    private static void computeChunkOffsets(int[][] counterMaps, 
+                                            int targetOffset) {
+        int offset = targetOffset;
+        
+        for (int bucket = 0; bucket != RADIX; bucket++) {
+            for (int[] counterMap : counterMaps) {
+                int count = counterMap[bucket];
+                counterMap[bucket] = offset;
+                offset += count;
+            }
+        }
+    }
+    
+    /**
+     * Computes the number of chunks to split a range of length 
+     * {@code rangeLength} into.
+     * 
+     * @param rangeLength the length of the range to sort.
+     * @param pool        the fork/join pool to run the sorting tasks in.
+     * @return the number of chunks.
+     */
+    private static int computeNumberOfChunks(int rangeLength, 
+                                             ForkJoinPool pool) {
+        return Math.min(pool.getParallelism(),
+                        rangeLength / MINIMUM_PARALLEL_CHUNK_LENGTH);
+    }
+    
+    /**
+     * Returns the starting, inclusive index of the chunk {@code chunk}. 
+     * Passing {@code chunks} as {@code chunk} returns the ending, exclusive 
+     * index of the last chunk.
+     * 
+     * @param fromIndex   the starting, inclusive index of the sorting range.
+     * @param rangeLength the length of the sorting range.
+     * @param chunks      the total number of chunks.
+     * @param chunk       the index of the chunk.
+     * @return the starting index of the chunk.
+     */
+    private static int chunkBoundary(int fromIndex, 
+                                     int rangeLength,
+                                     int chunks, 
+                                     int chunk) {
+        return fromIndex + (int)((long) rangeLength * chunk / chunks);
+    }
+    
+    /**
+     * Runs {@code chunkAction} for each chunk index in {@code pool} and waits
+     * for all of them to complete.
+     * 
+     * @param pool        the fork/join pool to run the tasks in.
+     * @param chunks      the number of chunks.
+     * @param chunkAction the action to run on each chunk index.
+     */
+    private static void invokeChunks(ForkJoinPool pool,
+                                     int chunks, 
+                                     IntConsumer chunkAction) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+        
+        for (int chunk = 0; chunk != chunks; chunk++) {
+            int taskChunk = chunk;
+            tasks.add(ForkJoinTask.adapt(() -> chunkAction.accept(taskChunk)));
+        }
+        
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+    
+    /**
+     * Sorts a short range for which radix sort does not pay off.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    private static void sortSmallRange(int[] array, 
+                                       int fromIndex, 
+                                       int toIndex) {
+        if (toIndex - fromIndex > INSERTION_SORT_THRESHOLD) {
+            Arrays.sort(array, fromIndex, toIndex);
+            return;
+        }
+        
+        for (int i = fromIndex + 1; i != toIndex; i++) {
+            int datum = array[i];
+            int j = i - 1;
+            
+            while (j >= fromIndex && array[j] > datum) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            
+            array[j + 1] = datum;
+        }
+    }
+    
+    /**
+     * Sorts a short range for which radix sort does not pay off.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range. 
+     */
+    private static void sortSmallRange(long[] array, 
+                                       int fromIndex, 
+                                       int toIndex) {
+        if (toIndex - fromIndex > INSERTION_SORT_THRESHOLD) {
+            Arrays.sort(array, fromIndex, toIndex);
+            return;
+        }
+        
+        for (int i = fromIndex + 1; i != toIndex; i++) {
+            long datum = array[i];
+            int j = i - 1;
+            
+            while (j >= fromIndex && array[j] > datum) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            
+            array[j + 1] = datum;
+        }
+    }
+    
+    /**
+     * Loads the vectorized kernels if they may be used. The 
+     * {@code VectorizedKernels} class is loaded reflectively, and only if the
+     * Vector API module is present, since it is missing from builds without
+     * the {@code vector} profile. Any failure to load or link it falls back 
+     * to the scalar code.
+     * 
+     * @return the kernels, or {@code null} if they may not be used.
+     */
+    private static RunEndFinder loadVectorizedKernels() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE_NAME).isEmpty()) {
+            return null;
+        }
+        
+        try {
+            Object kernels = Class.forName(VECTORIZED_KERNELS_CLASS_NAME)
+                                  .getDeclaredConstructor()
+                                  .newInstance();
+            
+            return (boolean) kernels.getClass()
+                                    .getDeclaredMethod("isSupported")
+                                    .invoke(kernels) ? 
+                   (RunEndFinder) kernels : 
+                   null;
+        } catch (ReflectiveOperationException | LinkageError error) {
+            return null;
+        }
+    }
+    
+    /**
+     * Reads a range length threshold from the system property 
+     * {@code propertyName}, falling back to {@code defaultThreshold} if it is
+     * not set.
+     * 
+     * @param propertyName     the name of the system property.
+     * @param defaultThreshold the default threshold.
+     * @return the range length threshold.
+     */
+    private static int readThreshold(String propertyName,
+                                     int defaultThreshold) {
+        int threshold = Integer.getInteger(propertyName, defaultThreshold);
+        
+        if (threshold < 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "%s(%d) is negative. Must be at least 0.",
+                            propertyName,
+                            threshold));
+        }
+        
+        return threshold;
+    }
+    
+    /**
+     * Returns the {@code int} views of the off-heap chunks 
+     * {@code chunks}.
+     * 
+     * @param chunks the chunks holding the bytes of the scratch buffer.
+     * @return the {@code int} views of the chunks.
+     */
+    private static IntBuffer[] asIntChunks(ByteBuffer[] chunks) {
+        IntBuffer[] views = new IntBuffer[chunks.length];
+        
+        for (int i = 0; i != chunks.length; i++) {
+            views[i] = chunks[i].duplicate()
+                                .order(ByteOrder.nativeOrder())
+                                .asIntBuffer();
+        }
+        
+        return views;
+    }
+    
+    /**
+     * Returns the {@code long} views of the off-heap chunks 
+     * {@code chunks}.
+     * 
+     * @param chunks the chunks holding the bytes of the scratch buffer.
+     * @return the {@code long} views of the chunks.
+     */
+    private static LongBuffer[] asLongChunks(ByteBuffer[] chunks) {
+        LongBuffer[] views = new LongBuffer[chunks.length];
+        
+        for (int i = 0; i != chunks.length; i++) {
+            views[i] = chunks[i].duplicate()
+                                .order(ByteOrder.nativeOrder())
+                                .asLongBuffer();
+        }
+        
+        return views;
+    }
+    
+    /**
+     * Returns the workspace to sort a range of length {@code rangeLength} 
+     * with when the caller did not supply one.
+     * 
+     * @param rangeLength the length of the sorting range.
+     * @return the workspace to use.
+     */
+    private static Workspace getDefaultWorkspace(int rangeLength) {
+        if (rangeLength > MAXIMUM_THREAD_LOCAL_BUFFER_LENGTH) {
+            return new Workspace();
+        }
+        
+        return THREAD_LOCAL_WORKSPACE.get();
+    }
+    
+    /**
+     * Checks that the specified digit width is supported.
+     * 
+     * @param digitBits the number of bits in a digit.
+     */
+    private static void checkDigitBits(int digitBits) {
+        if (digitBits < MINIMUM_DIGIT_BITS || digitBits > MAXIMUM_DIGIT_BITS) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "digitBits(%d) is out of range. Must be within " + 
+                            "[%d, %d].", 
+                            digitBits,
+                            MINIMUM_DIGIT_BITS,
+                            MAXIMUM_DIGIT_BITS));
+        }
+    }
+    
+    /**
+     * Extracts the {@code int} key of each element and returns the 
+     * permutation that stably sorts the elements by their keys.
+     * 
+     * @param <T>          the element type.
+     * @param elements     the elements.
+     * @param keyExtractor the function extracting the key of an element.
+     * @return the sorting permutation of the indices of {@code elements}.
+     */
+    private static <T> int[] computeIntKeyPermutation(
+            T[] elements,
+            ToIntFunction<? super T> keyExtractor) {
+        int[] keys = new int[elements.length];
+        int[] permutation = new int[elements.length];
+        
+        for (int i = 0; i != elements.length; i++) {
+            keys[i] = keyExtractor.applyAsInt(elements[i]);
+            permutation[i] = i;
+        }
+        
+        sortByKey(keys, permutation);
+        return permutation;
+    }
+    
+    /**
+     * Extracts the {@code long} key of each element and returns the 
+     * permutation that stably sorts the elements by their keys.
+     * 
+     * @param <T>          the element type.
+     * @param elements     the elements.
+     * @param keyExtractor the function extracting the key of an element.
+     * @return the sorting permutation of the indices of {@code elements}.
+     */
+    private static <T> int[] computeLongKeyPermutation(
+            T[] elements,
+            ToLongFunction<? super T> keyExtractor) {
+        long[] keys = new long[elements.length];
+        int[] permutation = new int[elements.length];
+        
+        for (int i = 0; i != elements.length; i++) {
+            keys[i] = keyExtractor.applyAsLong(elements[i]);
+            permutation[i] = i;
+        }
+        
+        sortByKey(keys, permutation);
+        return permutation;
+    }
+    
+    /**
+     * Copies the range {@code list[fromIndex ... toIndex - 1]} into an array.
+     * 
+     * @param <T>       the element type.
+     * @param list      the list holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @return the elements of the range.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] toArray(List<T> list, int fromIndex, int toIndex) {
+        // The array is never exposed, so its runtime type being 
+        // Object[] is harmless.
+        return (T[]) list.subList(fromIndex, toIndex).toArray();
+    }
+    
+    /**
+     * Writes {@code elements} in the order of {@code permutation} into the 
+     * list, starting at {@code fromIndex}.
+     * 
+     * @param <T>         the element type.
+     * @param list        the list to write to.
+     * @param fromIndex   the index of the first element to write.
+     * @param elements    the elements.
+     * @param permutation the order of the elements.
+     */
+    private static <T> void setElements(List<T> list,
+                                        int fromIndex,
+                                        T[] elements,
+                                        int[] permutation) {
+        ListIterator<T> iterator = list.listIterator(fromIndex);
+        
+        for (int index : permutation) {
+            iterator.next();
+            iterator.set(elements[index]);
+        }
+    }
+    
+    /**
+     * Checks that the rank {@code k} is within {@code [0, bound)}.
+     * 
+     * @param k     the rank to check.
+     * @param bound the exclusive upper bound of the rank.
+     */
+    private static void checkRank(int k, int bound) {
+        if (k < 0 || k >= bound) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "k(%d) is out of range. Must be within [0, %d).",
+                            k,
+                            bound));
+        }
+    }
+    
+    /**
+     * Checks that the specified sorting range is reasonable.
+     * 
+     * @param arrayLength the total length of the target array.
+     * @param fromIndex   the starting, inclusive index of the sorting range.
+     * @param toIndex     the ending, exclusive index of the sorting range.
+     */
+    static void checkRangeIndices(int arrayLength, 
+                                  int fromIndex,
+                                  int toIndex) {
+        if (fromIndex < 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "fromIndex(%d) is negative. Must be at least 0.", 
+                            fromIndex));
+        }
+        
+        if (toIndex > arrayLength) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "toIndex(%d) is too large. Must be at most %d.",
+                            toIndex, 
+                            arrayLength));
+        }
+        
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "toIndex(%d) > fromIndex(%d).", 
+                            toIndex,
+                            fromIndex));
+        }
+    }
+    
+    /**
+     * This class holds the scratch buffers needed by the sorting routines. The
+     * buffers grow on demand and are then reused by subsequent sorts, so 
+     * sorting many arrays with the same workspace reaches a steady state in 
+     * which nothing is allocated. A workspace is not thread-safe: each thread
+     * must use its own.
+     */
+    public static final class Workspace {
+        
+        /**
+         * The buffer for sorting {@code int} arrays.
+         */
+        private int[] intBuffer = new int[0];
+        
+        /**
+         * The buffer for sorting {@code long} arrays.
+         */
+        private long[] longBuffer = new long[0];
+        
+        /**
+         * The buffer for sorting {@code short} arrays.
+         */
+        private short[] shortBuffer = new short[0];
+        
+        /**
+         * The buffer for sorting {@code char} arrays.
+         */
+        private char[] charBuffer = new char[0];
+        
+        /**
+         * The buffer for sorting {@code float} arrays.
+         */
+        private float[] floatBuffer = new float[0];
+        
+        /**
+         * The buffer for sorting {@code double} arrays.
+         */
+        private double[] doubleBuffer = new double[0];
+        
+        /**
+         * The buffer for the indices or the payload moved along the keys.
+         */
+        private int[] indexBuffer = new int[0];
+        
+        /**
+         * The bucket counter array.
+         */
+        private int[] counterMap = new int[0];
+        
+        /**
+         * The write-combining buffer for sorting {@code int} arrays.
+         */
+        private int[] intStagingBuffer = new int[0];
+        
+        /**
+         * The write-combining buffer for sorting {@code long} arrays.
+         */
+        private long[] longStagingBuffer = new long[0];
+        
+        /**
+         * The chunks of the off-heap scratch buffer for sorting 
+         * {@code IntBuffer}s and {@code LongBuffer}s. All but the last chunk
+         * hold exactly {@code 2^OFF_HEAP_CHUNK_SHIFT} bytes.
+         */
+        private ByteBuffer[] offHeapBuffer = new ByteBuffer[0];
+        
+        /**
+         * The total number of bytes allocated for the buffers so far.
+         */
+        private long allocatedBytes;
+        
+        /**
+         * Constructs an empty workspace. The buffers are allocated on first 
+         * use.
+         */
+        public Workspace() {}
+        
+        /**
+         * Constructs a workspace capable of sorting ranges of up to 
+         * {@code capacity} elements of any supported type, with or without
+         * payload, without growing. Note that this allocates a buffer per 
+         * supported type, and the write-combining buffers if ranges of 
+         * {@code capacity} elements are scattered through them.
+         * 
+         * @param capacity the initial buffer capacity.
+         */
+        public Workspace(int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "capacity(%d) is negative.", 
+                                capacity));
+            }
+            
+            intBuffer = new int[capacity];
+            longBuffer = new long[capacity];
+            shortBuffer = new short[capacity];
+            charBuffer = new char[capacity];
+            floatBuffer = new float[capacity];
+            doubleBuffer = new double[capacity];
+            indexBuffer = new int[capacity];
+            counterMap = new int[computeCounterMapLength(capacity)];
+            
+            if (capacity >= WRITE_COMBINING_THRESHOLD) {
+                intStagingBuffer = 
+                        new int[INT_LINE_LENGTH 
+                                << WRITE_COMBINING_MAXIMUM_DIGIT_BITS];
+                longStagingBuffer = 
+                        new long[LONG_LINE_LENGTH 
+                                 << WRITE_COMBINING_MAXIMUM_DIGIT_BITS];
+            }
+        }
+        
+        /**
+         * Computes the number of counters needed to sort ranges of up to 
+         * {@code capacity} elements. The digits of a range widen with its 
+         * length, so the longest range needs the most counters: 
+         * {@code passes * 2^digitBits} for {@code long} keys, and one more 
+         * {@code 2^digitBits} for the bucket starts if it is write-combined. 
+         * Never less than {@code 2^16}, the counters of {@code short} and 
+         * {@code char} counting sorts.
+         * 
+         * @param capacity the maximum length of the sorting ranges.
+         * @return the length of the counter array.
+         */
+        private static int computeCounterMapLength(int capacity) {
+            int digitBits = selectDigitBits(capacity);
+            int length = 
+                    Math.max(computeNumberOfPasses(Long.SIZE, digitBits) 
+                                    << digitBits,
+                             1 << 16);
+            
+            if (capacity >= WRITE_COMBINING_THRESHOLD) {
+                digitBits = selectSortRangeDigitBits(capacity);
+                length = 
+                        Math.max(
+                                (computeNumberOfPasses(Long.SIZE, digitBits) 
+                                        + 1) << digitBits,
+                                length);
+            }
+            
+            return length;
+        }
+        
+        /**
+         * Drops all the buffers so that they may be garbage collected.
+         */
+        public void release() {
+            intBuffer = new int[0];
+            longBuffer = new long[0];
+            shortBuffer = new short[0];
+            charBuffer = new char[0];
+            floatBuffer = new float[0];
+            doubleBuffer = new double[0];
+            indexBuffer = new int[0];
+            counterMap = new int[0];
+            intStagingBuffer = new int[0];
+            longStagingBuffer = new long[0];
+            offHeapBuffer = new ByteBuffer[0];
+        }
+        
+        /**
+         * Returns an {@code int} buffer of at least {@code length} elements.
+         * 
+         * @param length the minimum length of the buffer.
+         * @return the buffer.
+         */
+        int[] getIntBuffer(int length) {
+            if (intBuffer.length < length) {
+                intBuffer = new int[computeCapacity(intBuffer.length, length)];
+                allocatedBytes += (long) intBuffer.length * Integer.BYTES;
+            }
+            
+            return intBuffer;
+        }
+        
+        /**
+         * Returns a {@code long} buffer of at least {@code length} elements.
+         * 
+         * @param length the minimum length of the buffer.
+         * @return the buffer.
+         */
+        long[] getLongBuffer(int length) {
+            if (longBuffer.length < length) {
+                longBuffer = 
+                        new long[computeCapacity(longBuffer.length, length)];
+                allocatedBytes += (long) longBuffer.length * Long.BYTES;
+            }
+            
+            return longBuffer;
+        }
+        
+        /**
+         * Returns a {@code short} buffer of at least {@code length} elements.
+         * 
+         * @param length the minimum length of the buffer.
+         * @return the buffer.
+         */
+        short[] getShortBuffer(int length) {
+            if (shortBuffer.length < length) {
+                shortBuffer = 
+                        new short[computeCapacity(shortBuffer.length, length)];
+                allocatedBytes += (long) shortBuffer.length * Short.BYTES;
+            }
+            
+            return shortBuffer;
+        }
+        
+        /**
+         * Returns a {@code char} buffer of at least {@code length} elements.
+         * 
+         * @param length the minimum length of the buffer.
+         * @return the buffer.
+         */
+        char[] getCharBuffer(int length) {
+            if (charBuffer.length < length) {
+                charBuffer = 
+                        new char[computeCapacity(charBuffer.length, length)];
+                allocatedBytes += (long) charBuffer.length * Character.BYTES;
+            }
+            
+            return charBuffer;
+        }
+        
+        /**
+         * Returns a {@code float} buffer of at least {@code length} elements.
+         * 
+         * @param length the minimum length of the buffer.
+         * @return the buffer.
+         */
+        float[] getFloatBuffer(int length) {
+            if (floatBuffer.length < length) {
+                floatBuffer = 
+                        new float[computeCapacity(floatBuffer.length, length)];
+                allocatedBytes += (long) floatBuffer.length * Float.BYTES;
+            }
+            
+            return floatBuffer;
+        }
+        
+        /**
+         * Returns a {@code double} buffer of at least {@code length} elements.
+         * 
+         * @param length the minimum length of the buffer.
+         * @return the buffer.
+         */
+        double[] getDoubleBuffer(int length) {
+            if (doubleBuffer.length < length) {
+                doubleBuffer = 
+                        new double[computeCapacity(doubleBuffer.length, 
+                                                   length)];
+                allocatedBytes += (long) doubleBuffer.length * Double.BYTES;
+            }
+            
+            return doubleBuffer;
+        }
+        
+        /**
+         * Returns an {@code int} buffer for indices or payload of at least 
+         * {@code length} elements.
+         * 
+         * @param length the minimum length of the buffer.
+         * @return the buffer.
+         */
+        int[] getIndexBuffer(int length) {
+            if (indexBuffer.length < length) {
+                indexBuffer = 
+                        new int[computeCapacity(indexBuffer.length, length)];
+                allocatedBytes += (long) indexBuffer.length * Integer.BYTES;
+            }
+            
+            return indexBuffer;
+        }
+        
+        /**
+         * Returns a counter array of at least {@code length} counters. The 
+         * contents of the returned array are unspecified.
+         * 
+         * @param length the minimum number of counters.
+         * @return the counter array.
+         */
+        int[] getCounterMap(int length) {
+            if (counterMap.length < length) {
+                counterMap = new int[length];
+                allocatedBytes += (long) counterMap.length * Integer.BYTES;
+            }
+            
+            return counterMap;
+        }
+        
+        /**
+         * Returns an {@code int} write-combining buffer of at least 
+         * {@code length} elements. The contents of the returned array are
+         * unspecified.
+         * 
+         * @param length the minimum length of the buffer.
+         * @return the buffer.
+         */
+        int[] getIntStagingBuffer(int length) {
+            if (intStagingBuffer.length < length) {
+                intStagingBuffer = new int[length];
+                allocatedBytes += (long) length * Integer.BYTES;
+            }
+            
+            return intStagingBuffer;
+        }
+        
+        /**
+         * Returns a {@code long} write-combining buffer of at least 
+         * {@code length} elements. The contents of the returned array are
+         * unspecified.
+         * 
+         * @param length the minimum length of the buffer.
+         * @return the buffer.
+         */
+        long[] getLongStagingBuffer(int length) {
+            if (longStagingBuffer.length < length) {
+                longStagingBuffer = new long[length];
+                allocatedBytes += (long) length * Long.BYTES;
+            }
+            
+            return longStagingBuffer;
+        }
+        
+        /**
+         * Returns the chunks of an off-heap scratch buffer of at least 
+         * {@code bytes} bytes. Each chunk but the last one holds exactly 
+         * {@code 2^OFF_HEAP_CHUNK_SHIFT} bytes. The direct memory of the 
+         * chunks dropped by growing or releasing the buffer is freed once 
+         * they are garbage collected.
+         * 
+         * @param bytes the minimum number of bytes in the buffer.
+         * @return the chunks of the buffer.
+         */
+        ByteBuffer[] getOffHeapBuffer(long bytes) {
+            int chunkCount = (int) ((bytes - 1) >>> OFF_HEAP_CHUNK_SHIFT) + 1;
+            
+            if (offHeapBuffer.length < chunkCount) {
+                offHeapBuffer = Arrays.copyOf(offHeapBuffer, chunkCount);
+            }
+            
+            for (int i = 0; i != chunkCount; i++) {
+                long chunkBytes = 
+                        Math.min(bytes - ((long) i << OFF_HEAP_CHUNK_SHIFT),
+                                 1L << OFF_HEAP_CHUNK_SHIFT);
+                
+                if (offHeapBuffer[i] == null 
+                        || offHeapBuffer[i].capacity() < chunkBytes) {
+                    offHeapBuffer[i] = 
+                            ByteBuffer.allocateDirect((int) chunkBytes);
+                    allocatedBytes += chunkBytes;
+                }
+            }
+            
+            return offHeapBuffer;
+        }
+        
+        /**
+         * Returns the total number of bytes allocated for the buffers by 
+         * growing them on demand.
+         * 
+         * @return the number of allocated bytes.
+         */
+        long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+        
+        /**
+         * Computes the new capacity of a buffer. Grows by at least 50% in 
+         * order to avoid reallocating on every slightly longer range.
+         * 
+         * @param currentCapacity the current capacity of the buffer.
+         * @param length          the requested length.
+         * @return the new capacity.
+         */
+        private static int computeCapacity(int currentCapacity, int length) {
+            long grownCapacity = currentCapacity + (currentCapacity >> 1);
+            
+            return (int) Math.max(length, 
+                                  Math.min(grownCapacity, 
+                                           Integer.MAX_VALUE - 8));
+        }
+    }
+}
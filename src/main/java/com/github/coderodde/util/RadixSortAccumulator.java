@@ -0,0 +1,377 @@
+package com.github.coderodde.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * This class accumulates {@code long} keys arriving in batches and emits
+ * them in ascending order. Each key is distributed by its most significant
+ * byte into one of 256 buckets as soon as it is added, which amounts to the
+ * first pass of a most-significant digit radix sort overlapped with the
+ * ingestion. When the keys are requested, each bucket is sorted by
+ * {@link LsdRadixsort} on its own. The buckets grow in chunks, so no key is
+ * ever copied while accumulating. The sorted iterator copies one bucket at a
+ * time into an array, so it needs as much extra memory as the largest 
+ * bucket. As the buckets are chosen by the most significant byte alone, 
+ * keys sharing it all go into a single bucket; with small non-negative keys,
+ * for instance, that bucket holds all the keys, and the iterator then needs
+ * as much extra memory as {@link #toSortedArray()}.
+ * 
+ * <p>This class is not thread-safe.
+ */
+public final class RadixSortAccumulator {
+    
+    /**
+     * The number of buckets.
+     */
+    private static final int BUCKETS = 256;
+    
+    /**
+     * The mask selecting the bucket bits of a key.
+     */
+    private static final int BUCKET_MASK = BUCKETS - 1;
+    
+    /**
+     * The number of bits to shift a key right in order to get its most
+     * significant byte.
+     */
+    private static final int BUCKET_SHIFT = Long.SIZE - Byte.SIZE;
+    
+    /**
+     * The length of the first chunk of a bucket. Each following chunk is
+     * twice as long as the previous one.
+     */
+    private static final int MINIMUM_CHUNK_LENGTH = 16;
+    
+    /**
+     * The maximum length of a chunk.
+     */
+    private static final int MAXIMUM_CHUNK_LENGTH = 1 << 16;
+    
+    /**
+     * The maximum length of an array.
+     */
+    private static final int MAXIMUM_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    
+    /**
+     * The chunks of each bucket.
+     */
+    private final long[][][] bucketChunks = new long[BUCKETS][][];
+    
+    /**
+     * The number of chunks in each bucket.
+     */
+    private final int[] chunkCounts = new int[BUCKETS];
+    
+    /**
+     * The last chunk of each bucket.
+     */
+    private final long[][] lastChunks = new long[BUCKETS][];
+    
+    /**
+     * The number of keys in the last chunk of each bucket.
+     */
+    private final int[] lastChunkLengths = new int[BUCKETS];
+    
+    /**
+     * The number of keys in each bucket.
+     */
+    private final long[] bucketLengths = new long[BUCKETS];
+    
+    /**
+     * The workspace for sorting the buckets.
+     */
+    private final LsdRadixsort.Workspace workspace =
+            new LsdRadixsort.Workspace();
+    
+    /**
+     * The total number of keys.
+     */
+    private long size;
+    
+    /**
+     * The number of modifications made to this accumulator, used to detect
+     * modifications during iteration.
+     */
+    private int modificationCount;
+    
+    /**
+     * Adds a key to this accumulator.
+     * 
+     * @param key the key to add.
+     */
+    public void add(long key) {
+        int bucket = LsdRadixsort.extractCounterIndex(key,
+                                                      BUCKET_SHIFT,
+                                                      BUCKET_MASK,
+                                                      Long.MIN_VALUE);
+        long[] chunk = lastChunks[bucket];
+        int chunkLength = lastChunkLengths[bucket];
+        
+        if (chunk == null || chunkLength == chunk.length) {
+            chunk = appendChunk(bucket);
+            chunkLength = 0;
+        }
+        
+        chunk[chunkLength] = key;
+        lastChunkLengths[bucket] = chunkLength + 1;
+        bucketLengths[bucket]++;
+        size++;
+        modificationCount++;
+    }
+    
+    /**
+     * Adds all the keys of {@code keys} to this accumulator.
+     * 
+     * @param keys the keys to add.
+     */
+    public void addAll(long[] keys) {
+        addAll(keys, 0, keys.length);
+    }
+    
+    /**
+     * Adds the keys {@code keys[fromIndex ... toIndex - 1]} to this
+     * accumulator.
+     * 
+     * @param keys      the array holding the keys to add.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range.
+     */
+    public void addAll(long[] keys, int fromIndex, int toIndex) {
+        LsdRadixsort.checkRangeIndices(keys.length,
+                                       fromIndex,
+                                       toIndex);
+        
+        for (int i = fromIndex; i != toIndex; i++) {
+            add(keys[i]);
+        }
+    }
+    
+    /**
+     * Returns the number of keys in this accumulator.
+     * 
+     * @return the number of keys.
+     */
+    public long size() {
+        return size;
+    }
+    
+    /**
+     * Removes all the keys from this accumulator.
+     */
+    public void clear() {
+        for (int bucket = 0; bucket != BUCKETS; bucket++) {
+            releaseBucket(bucket);
+        }
+        
+        size = 0L;
+        modificationCount++;
+    }
+    
+    /**
+     * Returns all the keys in ascending order and removes them from this
+     * accumulator. Each bucket is released as soon as it has been copied
+     * into the returned array.
+     * 
+     * @return the sorted keys.
+     */
+    public long[] toSortedArray() {
+        if (size > MAXIMUM_ARRAY_LENGTH) {
+            throw new IllegalStateException(
+                    String.format(
+                            "size(%d) > MAXIMUM_ARRAY_LENGTH(%d).",
+                            size,
+                            MAXIMUM_ARRAY_LENGTH));
+        }
+        
+        long[] array = new long[(int) size];
+        int fromIndex = 0;
+        
+        for (int bucket = 0; bucket != BUCKETS; bucket++) {
+            int toIndex = copyBucket(bucket, array, fromIndex);
+            releaseBucket(bucket);
+            LsdRadixsort.sort(array, fromIndex, toIndex, workspace);
+            fromIndex = toIndex;
+        }
+        
+        size = 0L;
+        modificationCount++;
+        return array;
+    }
+    
+    /**
+     * Returns an iterator over all the keys in ascending order, and removes
+     * the keys from this accumulator. The buckets are sorted lazily one at a
+     * time, and the keys of each bucket are removed from this accumulator, 
+     * and no longer counted by {@link #size()}, as soon as the iterator 
+     * reaches the bucket. Once this accumulator is modified, the iterator 
+     * throws a {@link ConcurrentModificationException}.
+     * 
+     * @return the iterator over the sorted keys.
+     */
+    public PrimitiveIterator.OfLong sortedIterator() {
+        modificationCount++;
+        return new SortedIterator();
+    }
+    
+    /**
+     * Appends a new chunk to the bucket {@code bucket}.
+     * 
+     * @param bucket the index of the bucket.
+     * @return the new chunk.
+     */
+    private long[] appendChunk(int bucket) {
+        long[][] chunks = bucketChunks[bucket];
+        int chunkCount = chunkCounts[bucket];
+        
+        if (chunks == null) {
+            chunks = new long[1][];
+        } else if (chunkCount == chunks.length) {
+            long[][] newChunks = new long[2 * chunkCount][];
+            System.arraycopy(chunks, 0, newChunks, 0, chunkCount);
+            chunks = newChunks;
+        }
+        
+        long[] lastChunk = lastChunks[bucket];
+        long[] chunk = new long[lastChunk == null ?
+                                MINIMUM_CHUNK_LENGTH :
+                                Math.min(2 * lastChunk.length,
+                                         MAXIMUM_CHUNK_LENGTH)];
+        
+        chunks[chunkCount] = chunk;
+        bucketChunks[bucket] = chunks;
+        chunkCounts[bucket] = chunkCount + 1;
+        lastChunks[bucket] = chunk;
+        return chunk;
+    }
+    
+    /**
+     * Copies the keys of the bucket {@code bucket} into {@code array}
+     * starting at {@code fromIndex}.
+     * 
+     * @param bucket    the index of the bucket.
+     * @param array     the array to copy to.
+     * @param fromIndex the index of the first copied key in {@code array}.
+     * @return the index one past the last copied key in {@code array}.
+     */
+    private int copyBucket(int bucket, long[] array, int fromIndex) {
+        int chunkCount = chunkCounts[bucket];
+        int index = fromIndex;
+        
+        for (int chunk = 0; chunk != chunkCount; chunk++) {
+            long[] chunkArray = bucketChunks[bucket][chunk];
+            int chunkLength = chunk == chunkCount - 1 ?
+                              lastChunkLengths[bucket] :
+                              chunkArray.length;
+            
+            System.arraycopy(chunkArray, 0, array, index, chunkLength);
+            index += chunkLength;
+        }
+        
+        return index;
+    }
+    
+    /**
+     * Removes all the keys from the bucket {@code bucket} and lets its
+     * chunks be garbage collected.
+     * 
+     * @param bucket the index of the bucket.
+     */
+    private void releaseBucket(int bucket) {
+        bucketChunks[bucket] = null;
+        chunkCounts[bucket] = 0;
+        lastChunks[bucket] = null;
+        lastChunkLengths[bucket] = 0;
+        bucketLengths[bucket] = 0L;
+    }
+    
+    /**
+     * Iterates over the keys of the accumulator in ascending order, sorting
+     * the buckets one at a time.
+     */
+    private final class SortedIterator implements PrimitiveIterator.OfLong {
+        
+        /**
+         * The index of the next bucket to sort.
+         */
+        private int nextBucket;
+        
+        /**
+         * The sorted keys of the current bucket.
+         */
+        private long[] keys = new long[0];
+        
+        /**
+         * The number of keys in the current bucket.
+         */
+        private int keysLength;
+        
+        /**
+         * The index of the next key to return.
+         */
+        private int index;
+        
+        /**
+         * The modification count of the accumulator this iterator expects.
+         */
+        private final int expectedModificationCount = modificationCount;
+        
+        @Override
+        public boolean hasNext() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException(
+                        "The accumulator was modified during iteration.");
+            }
+            
+            while (index == keysLength) {
+                if (nextBucket == BUCKETS) {
+                    return false;
+                }
+                
+                loadBucket(nextBucket++);
+            }
+            
+            return true;
+        }
+        
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException(
+                        "The iterator is exhausted.");
+            }
+            
+            return keys[index++];
+        }
+        
+        /**
+         * Copies the keys of the bucket {@code bucket} into {@code keys},
+         * releases the bucket and sorts the keys.
+         * 
+         * @param bucket the index of the bucket.
+         */
+        private void loadBucket(int bucket) {
+            long bucketLength = bucketLengths[bucket];
+            
+            if (bucketLength > MAXIMUM_ARRAY_LENGTH) {
+                throw new IllegalStateException(
+                        String.format(
+                                "Bucket %d holds %d > %d keys.",
+                                bucket,
+                                bucketLength,
+                                MAXIMUM_ARRAY_LENGTH));
+            }
+            
+            if (keys.length < bucketLength) {
+                keys = new long[(int) bucketLength];
+            }
+            
+            keysLength = copyBucket(bucket, keys, 0);
+            index = 0;
+            releaseBucket(bucket);
+            size -= keysLength;
+            LsdRadixsort.sort(keys, 0, keysLength, workspace);
+        }
+    }
+}
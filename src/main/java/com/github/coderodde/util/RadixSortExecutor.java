@@ -0,0 +1,377 @@
+package com.github.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class sorts many independent {@code int} and {@code long} arrays
+ * concurrently with {@link LsdRadixsort}. Each submitted array or range is
+ * sorted sequentially by a single task, so the throughput scales with the
+ * number of arrays rather than with their length. By default, the tasks run
+ * on a work-stealing {@link ForkJoinPool} owned by this executor; any other
+ * executor, such as a virtual-thread-per-task one, may be supplied instead.
+ * 
+ * <p>The scratch buffers are held in a pool of workspaces shared by the
+ * tasks. A task borrows a workspace for as long as it runs, so at most as
+ * many workspaces exist as there are tasks running at once, and sorting
+ * reaches a steady state in which nothing is allocated. Ranges longer than
+ * {@code MAXIMUM_POOLED_RANGE_LENGTH} get a workspace of their own, so that
+ * a single huge array does not leave huge buffers in the pool.
+ * 
+ * <p>The submitted arrays must not be accessed until their futures have
+ * completed. This class is thread-safe.
+ */
+public final class RadixSortExecutor implements AutoCloseable {
+    
+    /**
+     * The minimum total length of the arrays sorted by a single task of a
+     * batch. Shorter arrays are grouped together so that the cost of
+     * scheduling a task is amortized over enough work.
+     */
+    private static final int MINIMUM_BATCH_TASK_LENGTH = 1 << 16;
+    
+    /**
+     * The maximum length of a range sorted with a pooled workspace.
+     */
+    private static final int MAXIMUM_POOLED_RANGE_LENGTH = 1 << 20;
+    
+    /**
+     * The executor running the sorting tasks.
+     */
+    private final Executor executor;
+    
+    /**
+     * The executor to shut down on closing, or {@code null} if the executor
+     * was supplied by the user.
+     */
+    private final ExecutorService ownedExecutor;
+    
+    /**
+     * The pool of idle workspaces.
+     */
+    private final BlockingQueue<LsdRadixsort.Workspace> workspaces;
+    
+    /**
+     * Constructs an executor running on its own work-stealing pool with as
+     * many threads as there are available processors.
+     */
+    public RadixSortExecutor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Constructs an executor running on its own work-stealing pool with
+     * {@code parallelism} threads.
+     * 
+     * @param parallelism the number of threads.
+     */
+    public RadixSortExecutor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "parallelism(%d) < 1.",
+                            parallelism));
+        }
+        
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        this.executor = pool;
+        this.ownedExecutor = pool;
+        this.workspaces = new ArrayBlockingQueue<>(parallelism);
+    }
+    
+    /**
+     * Constructs an executor running its tasks on {@code executor}, which is
+     * not shut down on closing. At most as many idle workspaces as there are
+     * available processors are pooled; workspaces borrowed beyond that are
+     * dropped on return.
+     * 
+     * @param executor the executor to run the sorting tasks on.
+     */
+    public RadixSortExecutor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor,
+                                               "The executor is null.");
+        this.ownedExecutor = null;
+        this.workspaces = new ArrayBlockingQueue<>(
+                Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Submits the entire {@code int} array for sorting into ascending order.
+     * 
+     * @param array the array to sort.
+     * @return the future completed with {@code array} once it is sorted.
+     */
+    public CompletableFuture<int[]> submit(int[] array) {
+        return submit(array, 0, array.length);
+    }
+    
+    /**
+     * Submits the range {@code array[fromIndex ... toIndex - 1]} for sorting
+     * into ascending order.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range.
+     * @return the future completed with {@code array} once the range is
+     *         sorted.
+     */
+    public CompletableFuture<int[]> submit(int[] array,
+                                           int fromIndex,
+                                           int toIndex) {
+        LsdRadixsort.checkRangeIndices(array.length, fromIndex, toIndex);
+        
+        return CompletableFuture.supplyAsync(() -> {
+            sort(array, fromIndex, toIndex);
+            return array;
+        }, executor);
+    }
+    
+    /**
+     * Submits the entire {@code long} array for sorting into ascending order.
+     * 
+     * @param array the array to sort.
+     * @return the future completed with {@code array} once it is sorted.
+     */
+    public CompletableFuture<long[]> submit(long[] array) {
+        return submit(array, 0, array.length);
+    }
+    
+    /**
+     * Submits the range {@code array[fromIndex ... toIndex - 1]} for sorting
+     * into ascending order.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range.
+     * @return the future completed with {@code array} once the range is
+     *         sorted.
+     */
+    public CompletableFuture<long[]> submit(long[] array,
+                                            int fromIndex,
+                                            int toIndex) {
+        LsdRadixsort.checkRangeIndices(array.length, fromIndex, toIndex);
+        
+        return CompletableFuture.supplyAsync(() -> {
+            sort(array, fromIndex, toIndex);
+            return array;
+        }, executor);
+    }
+    
+    /**
+     * Submits a batch of {@code int} arrays for sorting into ascending order.
+     * Consecutive short arrays are sorted by the same task.
+     * 
+     * @param arrays the arrays to sort.
+     * @return the future completed once all the arrays are sorted.
+     */
+    public CompletableFuture<Void> submitAll(int[]... arrays) {
+        int[][] batch = arrays.clone();
+        
+        for (int[] array : batch) {
+            Objects.requireNonNull(array, "An array is null.");
+        }
+        
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        int taskFromIndex = 0;
+        long taskLength = 0L;
+        
+        for (int i = 0; i != batch.length; i++) {
+            taskLength += batch[i].length;
+            
+            if (taskLength >= MINIMUM_BATCH_TASK_LENGTH
+                    || i == batch.length - 1) {
+                int fromIndex = taskFromIndex;
+                int toIndex = i + 1;
+                
+                tasks.add(CompletableFuture.runAsync(
+                        () -> sortAll(batch, fromIndex, toIndex),
+                        executor));
+                
+                taskFromIndex = toIndex;
+                taskLength = 0L;
+            }
+        }
+        
+        return CompletableFuture.allOf(
+                tasks.toArray(new CompletableFuture<?>[tasks.size()]));
+    }
+    
+    /**
+     * Submits a batch of {@code long} arrays for sorting into ascending
+     * order. Consecutive short arrays are sorted by the same task.
+     * 
+     * @param arrays the arrays to sort.
+     * @return the future completed once all the arrays are sorted.
+     */
+    public CompletableFuture<Void> submitAll(long[]... arrays) {
+        long[][] batch = arrays.clone();
+        
+        for (long[] array : batch) {
+            Objects.requireNonNull(array, "An array is null.");
+        }
+        
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        int taskFromIndex = 0;
+        long taskLength = 0L;
+        
+        for (int i = 0; i != batch.length; i++) {
+            taskLength += batch[i].length;
+            
+            if (taskLength >= MINIMUM_BATCH_TASK_LENGTH
+                    || i == batch.length - 1) {
+                int fromIndex = taskFromIndex;
+                int toIndex = i + 1;
+                
+                tasks.add(CompletableFuture.runAsync(
+                        () -> sortAll(batch, fromIndex, toIndex),
+                        executor));
+                
+                taskFromIndex = toIndex;
+                taskLength = 0L;
+            }
+        }
+        
+        return CompletableFuture.allOf(
+                tasks.toArray(new CompletableFuture<?>[tasks.size()]));
+    }
+    
+    /**
+     * Shuts down the pool of this executor, if it owns one, and drops the
+     * pooled workspaces. The tasks already submitted run to completion;
+     * submitting new ones to an owned pool is rejected.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+        
+        workspaces.clear();
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} with a
+     * borrowed workspace.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range.
+     */
+    private void sort(int[] array, int fromIndex, int toIndex) {
+        LsdRadixsort.Workspace workspace = borrowWorkspace(toIndex - fromIndex);
+        
+        try {
+            LsdRadixsort.sort(array, fromIndex, toIndex, workspace);
+        } finally {
+            returnWorkspace(workspace, toIndex - fromIndex);
+        }
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} with a
+     * borrowed workspace.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range.
+     */
+    private void sort(long[] array, int fromIndex, int toIndex) {
+        LsdRadixsort.Workspace workspace = borrowWorkspace(toIndex - fromIndex);
+        
+        try {
+            LsdRadixsort.sort(array, fromIndex, toIndex, workspace);
+        } finally {
+            returnWorkspace(workspace, toIndex - fromIndex);
+        }
+    }
+    
+    /**
+     * Sorts the arrays {@code batch[fromIndex ... toIndex - 1]}, borrowing a
+     * single workspace for all of them but the too long ones.
+     * 
+     * @param batch     the batch of arrays.
+     * @param fromIndex the index of the first array to sort.
+     * @param toIndex   the index one past the last array to sort.
+     */
+    private void sortAll(int[][] batch, int fromIndex, int toIndex) {
+        LsdRadixsort.Workspace workspace = borrowWorkspace(0);
+        
+        try {
+            for (int i = fromIndex; i != toIndex; i++) {
+                int[] array = batch[i];
+                
+                if (array.length > MAXIMUM_POOLED_RANGE_LENGTH) {
+                    sort(array, 0, array.length);
+                } else {
+                    LsdRadixsort.sort(array, 0, array.length, workspace);
+                }
+            }
+        } finally {
+            returnWorkspace(workspace, 0);
+        }
+    }
+    
+    /**
+     * Sorts the arrays {@code batch[fromIndex ... toIndex - 1]}, borrowing a
+     * single workspace for all of them but the too long ones.
+     * 
+     * @param batch     the batch of arrays.
+     * @param fromIndex the index of the first array to sort.
+     * @param toIndex   the index one past the last array to sort.
+     */
+    private void sortAll(long[][] batch, int fromIndex, int toIndex) {
+        LsdRadixsort.Workspace workspace = borrowWorkspace(0);
+        
+        try {
+            for (int i = fromIndex; i != toIndex; i++) {
+                long[] array = batch[i];
+                
+                if (array.length > MAXIMUM_POOLED_RANGE_LENGTH) {
+                    sort(array, 0, array.length);
+                } else {
+                    LsdRadixsort.sort(array, 0, array.length, workspace);
+                }
+            }
+        } finally {
+            returnWorkspace(workspace, 0);
+        }
+    }
+    
+    /**
+     * Borrows a workspace for sorting a range of length {@code rangeLength}.
+     * 
+     * @param rangeLength the length of the sorting range.
+     * @return a pooled workspace, or a new one if none is idle or the range
+     *         is too long to be sorted with a pooled workspace.
+     */
+    private LsdRadixsort.Workspace borrowWorkspace(int rangeLength) {
+        LsdRadixsort.Workspace workspace =
+                rangeLength > MAXIMUM_POOLED_RANGE_LENGTH ?
+                null :
+                workspaces.poll();
+        
+        return workspace != null ? workspace : new LsdRadixsort.Workspace();
+    }
+    
+    /**
+     * Returns a workspace borrowed for sorting a range of length
+     * {@code rangeLength} to the pool, unless the range was too long or the
+     * pool is full.
+     * 
+     * @param workspace   the workspace to return.
+     * @param rangeLength the length of the sorted range.
+     */
+    private void returnWorkspace(LsdRadixsort.Workspace workspace,
+                                 int rangeLength) {
+        if (rangeLength <= MAXIMUM_POOLED_RANGE_LENGTH) {
+            workspaces.offer(workspace);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.coderodde.util;
+
+/**
+ * This interface defines the scan for the end of a monotonic run used by the
+ * presortedness detection of {@link LsdRadixsort}. It decouples
+ * {@code LsdRadixsort} from {@link VectorizedKernels}, which is compiled only
+ * by the {@code vector} build profile and is loaded reflectively when
+ * present.
+ */
+interface RunEndFinder {
+    
+    /**
+     * Returns the smallest index {@code i} at least {@code runEnd} for which
+     * {@code i == toIndex} or {@code array[i - 1], array[i]} break the order
+     * of the run ending at {@code runEnd}.
+     * 
+     * @param array      the array holding the run.
+     * @param runEnd     the index just past the known part of the run. Must
+     *                   be positive.
+     * @param toIndex    the ending, exclusive index of the range.
+     * @param orderMask  the mask to xor each datum with before comparing.
+     * @param descending whether the run is non-ascending rather than
+     *                   non-descending.
+     * @return the end of the run.
+     */
+    int findRunEnd(int[] array,
+                   int runEnd,
+                   int toIndex,
+                   int orderMask,
+                   boolean descending);
+    
+    /**
+     * Returns the smallest index {@code i} at least {@code runEnd} for which
+     * {@code i == toIndex} or {@code array[i - 1], array[i]} break the order
+     * of the run ending at {@code runEnd}.
+     * 
+     * @param array      the array holding the run.
+     * @param runEnd     the index just past the known part of the run. Must
+     *                   be positive.
+     * @param toIndex    the ending, exclusive index of the range.
+     * @param orderMask  the mask to xor each datum with before comparing.
+     * @param descending whether the run is non-ascending rather than
+     *                   non-descending.
+     * @return the end of the run.
+     */
+    int findRunEnd(long[] array,
+                   int runEnd,
+                   int toIndex,
+                   long orderMask,
+                   boolean descending);
+}
@@ -0,0 +1,56 @@
+package com.github.coderodde.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * This class defines the JDK Flight Recorder event committed for each 
+ * instrumented sort. The event duration is the duration of the sort.
+ */
+@Name("com.github.coderodde.util.Sort")
+@Label("LSD Radix Sort")
+@Description("A range sorted by LsdRadixsort")
+@Category({ "Java Application", "LsdRadixsort" })
+@StackTrace(false)
+final class SortEvent extends Event {
+    
+    @Label("Element Type")
+    String elementType;
+    
+    @Label("Range Length")
+    int rangeLength;
+    
+    @Label("Digit Bits")
+    int digitBits;
+    
+    @Label("Strategy")
+    String strategy;
+    
+    @Label("Passes Run")
+    int passesRun;
+    
+    @Label("Passes Skipped")
+    int passesSkipped;
+    
+    @Label("Bytes Allocated")
+    @DataAmount(DataAmount.BYTES)
+    long bytesAllocated;
+    
+    @Label("Histogram Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long histogramDuration;
+    
+    @Label("Longest Pass Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long longestPassDuration;
+    
+    @Label("Pass Durations")
+    @Description("The duration of each pass run in nanoseconds")
+    String passDurations;
+}
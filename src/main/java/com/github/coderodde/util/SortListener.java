@@ -0,0 +1,17 @@
+package com.github.coderodde.util;
+
+/**
+ * This interface defines the callback notified after each instrumented sort.
+ * A listener is installed with {@link LsdRadixsort#setSortListener}. It is 
+ * invoked in the sorting thread, so it should return quickly.
+ */
+@FunctionalInterface
+public interface SortListener {
+    
+    /**
+     * Called after a range has been sorted.
+     * 
+     * @param statistics the statistics of the sort.
+     */
+    void sorted(SortStatistics statistics);
+}
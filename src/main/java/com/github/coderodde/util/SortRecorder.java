@@ -0,0 +1,220 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+
+/**
+ * This class records the statistics of a single sort, and hands them to the
+ * installed {@link SortListener} and to the JDK Flight Recorder. An instance
+ * exists only if either of them is interested; otherwise the sorting 
+ * routines get {@code null} and pay a single null check per pass.
+ */
+final class SortRecorder {
+    
+    /**
+     * The installed listener, or {@code null}.
+     */
+    private static volatile SortListener sortListener;
+    
+    /**
+     * The listener to notify, or {@code null}.
+     */
+    private final SortListener listener;
+    
+    /**
+     * The flight recorder event.
+     */
+    private final SortEvent event;
+    
+    /**
+     * The type of the sorted elements.
+     */
+    private final Class<?> elementType;
+    
+    /**
+     * The length of the sorted range.
+     */
+    private final int rangeLength;
+    
+    /**
+     * The number of bits in a digit.
+     */
+    private final int digitBits;
+    
+    /**
+     * The workspace providing the buffers.
+     */
+    private final LsdRadixsort.Workspace workspace;
+    
+    /**
+     * The number of bytes allocated by the workspace before the sort.
+     */
+    private final long initialAllocatedBytes;
+    
+    /**
+     * The value of {@code System.nanoTime()} at the start of the sort.
+     */
+    private final long startNanos;
+    
+    /**
+     * The duration of each pass run.
+     */
+    private final long[] passNanos;
+    
+    /**
+     * The number of passes run.
+     */
+    private int passesRun;
+    
+    /**
+     * The number of passes skipped.
+     */
+    private int passesSkipped;
+    
+    /**
+     * The duration of building the histograms.
+     */
+    private long histogramNanos;
+    
+    private SortRecorder(SortListener listener,
+                         SortEvent event,
+                         Class<?> elementType,
+                         int rangeLength,
+                         int digitBits,
+                         int passes,
+                         LsdRadixsort.Workspace workspace) {
+        this.listener = listener;
+        this.event = event;
+        this.elementType = elementType;
+        this.rangeLength = rangeLength;
+        this.digitBits = digitBits;
+        this.workspace = workspace;
+        this.initialAllocatedBytes = workspace.getAllocatedBytes();
+        this.passNanos = new long[passes];
+        this.startNanos = System.nanoTime();
+    }
+    
+    /**
+     * Installs the listener notified after each sort.
+     * 
+     * @param listener the listener, or {@code null} for none.
+     */
+    static void setSortListener(SortListener listener) {
+        sortListener = listener;
+    }
+    
+    /**
+     * Returns the installed listener.
+     * 
+     * @return the listener, or {@code null}.
+     */
+    static SortListener getSortListener() {
+        return sortListener;
+    }
+    
+    /**
+     * Starts recording a sort if a listener is installed or the flight 
+     * recorder event is enabled.
+     * 
+     * @param elementType the type of the sorted elements.
+     * @param rangeLength the length of the sorted range.
+     * @param digitBits   the number of bits in a digit.
+     * @param passes      the maximum number of passes.
+     * @param workspace   the workspace providing the buffers.
+     * @return the recorder, or {@code null} if nobody is interested.
+     */
+    static SortRecorder start(Class<?> elementType,
+                              int rangeLength,
+                              int digitBits,
+                              int passes,
+                              LsdRadixsort.Workspace workspace) {
+        SortListener listener = sortListener;
+        
+        // The event does not escape unless it is enabled, so the JIT
+        // compiler eliminates its allocation.
+        SortEvent event = new SortEvent();
+        
+        if (listener == null && !event.isEnabled()) {
+            return null;
+        }
+        
+        event.begin();
+        
+        return new SortRecorder(listener,
+                                event,
+                                elementType,
+                                rangeLength,
+                                digitBits,
+                                passes,
+                                workspace);
+    }
+    
+    /**
+     * Records the duration of building the histograms.
+     * 
+     * @param startNanos the value of {@code System.nanoTime()} before 
+     *                   building the histograms.
+     */
+    void recordHistogram(long startNanos) {
+        histogramNanos = System.nanoTime() - startNanos;
+    }
+    
+    /**
+     * Records the duration of a pass run.
+     * 
+     * @param startNanos the value of {@code System.nanoTime()} before the 
+     *                   pass.
+     */
+    void recordPass(long startNanos) {
+        passNanos[passesRun++] = System.nanoTime() - startNanos;
+    }
+    
+    /**
+     * Records a skipped pass.
+     */
+    void recordSkippedPass() {
+        passesSkipped++;
+    }
+    
+    /**
+     * Finishes recording, notifies the listener and commits the flight 
+     * recorder event.
+     * 
+     * @param strategy the way the range was sorted.
+     */
+    void finish(SortStatistics.Strategy strategy) {
+        long totalNanos = System.nanoTime() - startNanos;
+        event.end();
+        
+        SortStatistics statistics = 
+                new SortStatistics(elementType,
+                                   rangeLength,
+                                   digitBits,
+                                   strategy,
+                                   passesSkipped,
+                                   workspace.getAllocatedBytes() 
+                                           - initialAllocatedBytes,
+                                   histogramNanos,
+                                   Arrays.copyOf(passNanos, passesRun),
+                                   totalNanos);
+        
+        if (event.shouldCommit()) {
+            event.elementType = elementType.getName();
+            event.rangeLength = rangeLength;
+            event.digitBits = digitBits;
+            event.strategy = strategy.name();
+            event.passesRun = passesRun;
+            event.passesSkipped = passesSkipped;
+            event.bytesAllocated = statistics.getBytesAllocated();
+            event.histogramDuration = histogramNanos;
+            event.longestPassDuration = 
+                    Arrays.stream(passNanos, 0, passesRun).max().orElse(0L);
+            event.passDurations = 
+                    Arrays.toString(Arrays.copyOf(passNanos, passesRun));
+            event.commit();
+        }
+        
+        if (listener != null) {
+            listener.sorted(statistics);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+
+/**
+ * This class holds the statistics of a single sort: what was sorted, how it
+ * was sorted, how many counting sort passes were run and skipped, how long 
+ * they took and how many bytes of buffers had to be allocated.
+ */
+public final class SortStatistics {
+    
+    /**
+     * This enumeration lists the ways a range may be sorted.
+     */
+    public enum Strategy {
+        
+        /**
+         * The range was too short to radix sort, and was sorted by 
+         * comparisons.
+         */
+        SMALL_RANGE,
+        
+        /**
+         * The range consisted of few monotonic runs, and was reversed and 
+         * merged.
+         */
+        PRESORTED,
+        
+        /**
+         * The range was radix sorted.
+         */
+        RADIX;
+    }
+    
+    /**
+     * The type of the sorted elements.
+     */
+    private final Class<?> elementType;
+    
+    /**
+     * The length of the sorted range.
+     */
+    private final int rangeLength;
+    
+    /**
+     * The number of bits in a digit.
+     */
+    private final int digitBits;
+    
+    /**
+     * The way the range was sorted.
+     */
+    private final Strategy strategy;
+    
+    /**
+     * The number of counting sort passes skipped, because all the elements
+     * had the same digit.
+     */
+    private final int passesSkipped;
+    
+    /**
+     * The number of bytes allocated for the buffers.
+     */
+    private final long bytesAllocated;
+    
+    /**
+     * The duration of building the digit histograms in nanoseconds.
+     */
+    private final long histogramNanos;
+    
+    /**
+     * The duration of each counting sort pass run in nanoseconds.
+     */
+    private final long[] passNanos;
+    
+    /**
+     * The duration of the entire sort in nanoseconds.
+     */
+    private final long totalNanos;
+    
+    SortStatistics(Class<?> elementType,
+                   int rangeLength,
+                   int digitBits,
+                   Strategy strategy,
+                   int passesSkipped,
+                   long bytesAllocated,
+                   long histogramNanos,
+                   long[] passNanos,
+                   long totalNanos) {
+        this.elementType = elementType;
+        this.rangeLength = rangeLength;
+        this.digitBits = digitBits;
+        this.strategy = strategy;
+        this.passesSkipped = passesSkipped;
+        this.bytesAllocated = bytesAllocated;
+        this.histogramNanos = histogramNanos;
+        this.passNanos = passNanos;
+        this.totalNanos = totalNanos;
+    }
+    
+    /**
+     * Returns the type of the sorted elements, such as {@code int.class}.
+     * 
+     * @return the element type.
+     */
+    public Class<?> getElementType() {
+        return elementType;
+    }
+    
+    /**
+     * Returns the length of the sorted range.
+     * 
+     * @return the range length.
+     */
+    public int getRangeLength() {
+        return rangeLength;
+    }
+    
+    /**
+     * Returns the number of bits in a digit.
+     * 
+     * @return the digit width.
+     */
+    public int getDigitBits() {
+        return digitBits;
+    }
+    
+    /**
+     * Returns the way the range was sorted.
+     * 
+     * @return the strategy.
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+    
+    /**
+     * Returns the number of counting sort passes run.
+     * 
+     * @return the number of passes run.
+     */
+    public int getPassesRun() {
+        return passNanos.length;
+    }
+    
+    /**
+     * Returns the number of counting sort passes skipped, because all the 
+     * elements had the same digit.
+     * 
+     * @return the number of passes skipped.
+     */
+    public int getPassesSkipped() {
+        return passesSkipped;
+    }
+    
+    /**
+     * Returns the number of bytes allocated for the buffers during the sort.
+     * Zero once the workspace has grown large enough.
+     * 
+     * @return the number of allocated bytes.
+     */
+    public long getBytesAllocated() {
+        return bytesAllocated;
+    }
+    
+    /**
+     * Returns the duration of building the digit histograms.
+     * 
+     * @return the duration in nanoseconds.
+     */
+    public long getHistogramNanos() {
+        return histogramNanos;
+    }
+    
+    /**
+     * Returns the duration of each counting sort pass run, from the least
+     * significant digit onwards.
+     * 
+     * @return the durations in nanoseconds.
+     */
+    public long[] getPassNanos() {
+        return passNanos.clone();
+    }
+    
+    /**
+     * Returns the duration of the entire sort.
+     * 
+     * @return the duration in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(
+                "[elementType=%s, rangeLength=%d, digitBits=%d, " +
+                "strategy=%s, passesRun=%d, passesSkipped=%d, " + 
+                "bytesAllocated=%d, histogramNanos=%d, passNanos=%s, " +
+                "totalNanos=%d]",
+                elementType,
+                rangeLength,
+                digitBits,
+                strategy,
+                getPassesRun(),
+                passesSkipped,
+                bytesAllocated,
+                histogramNanos,
+                Arrays.toString(passNanos),
+                totalNanos);
+    }
+}
@@ -0,0 +1,1147 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class provides the operations for combining {@code int} and 
+ * {@code long} arrays sorted into ascending order, for instance by 
+ * {@link LsdRadixsort}: k-way merging, in-place deduplication, and the 
+ * intersection, union and difference of sorted ranges. The operations work
+ * on the primitive arrays directly and allocate nothing but their results; 
+ * the range variants write into a caller-supplied array and allocate 
+ * nothing at all.
+ * 
+ * <p>The set operations treat their inputs as multisets: if an element 
+ * occurs {@code m} times in the first range and {@code n} times in the 
+ * second one, it occurs {@code min(m, n)} times in the intersection, 
+ * {@code max(m, n)} times in the union and {@code max(m - n, 0)} times in 
+ * the difference. On duplicate-free inputs, they are the usual set 
+ * operations. The results of operating on unsorted inputs are unspecified.
+ */
+public final class SortedArrays {
+    
+    /**
+     * The maximum length of an array.
+     */
+    private static final int MAXIMUM_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    
+    private SortedArrays() {}
+    
+    /**
+     * Merges the ascending {@code int} arrays {@code arrays} into a new 
+     * ascending array.
+     * 
+     * @param arrays the sorted arrays to merge.
+     * @return the merged array.
+     */
+    public static int[] merge(int[]... arrays) {
+        int[] target = new int[checkTotalLength(arrays)];
+        merge(arrays, target, 0);
+        return target;
+    }
+    
+    /**
+     * Merges the ascending {@code int} arrays {@code arrays} into 
+     * {@code target} starting at {@code targetOffset}. The arrays are 
+     * merged by a loser tree, which finds the next smallest element in 
+     * {@code ceil(log2(k))} comparisons for {@code k} arrays. The 
+     * {@code target} must not overlap any of the arrays.
+     * 
+     * @param arrays       the sorted arrays to merge.
+     * @param target       the array to write the merged elements to.
+     * @param targetOffset the index of the first merged element in 
+     *                     {@code target}.
+     */
+    public static void merge(int[][] arrays, int[] target, int targetOffset) {
+        checkTargetCapacity(target.length, 
+                            targetOffset, 
+                            checkTotalLength(arrays));
+        
+        switch (arrays.length) {
+            case 0 -> {}
+            
+            case 1 -> System.arraycopy(arrays[0], 
+                                       0, 
+                                       target, 
+                                       targetOffset, 
+                                       arrays[0].length);
+            
+            default -> new LoserTreeInteger(arrays).mergeInto(target, 
+                                                        targetOffset);
+        }
+    }
+    
+    /**
+     * Removes the adjacent duplicates from the entire {@code int} array in
+     * place. If the array is sorted, all the duplicates are removed.
+     * 
+     * @param array the array to deduplicate.
+     * @return the number of distinct elements, which now occupy 
+     *         {@code array[0 ... return value - 1]}.
+     */
+    public static int unique(int[] array) {
+        return unique(array, 0, array.length);
+    }
+    
+    /**
+     * Removes the adjacent duplicates from the range 
+     * {@code array[fromIndex ... toIndex - 1]} in place. If the range is 
+     * sorted, all the duplicates are removed. The elements past the new end 
+     * of the range are left unspecified.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @return the new ending, exclusive index of the range.
+     */
+    public static int unique(int[] array, int fromIndex, int toIndex) {
+        LsdRadixsort.checkRangeIndices(array.length, fromIndex, toIndex);
+        
+        if (toIndex - fromIndex < 2) {
+            return toIndex;
+        }
+        
+        int writeIndex = fromIndex + 1;
+        
+        for (int readIndex = fromIndex + 1; 
+                readIndex != toIndex; 
+                readIndex++) {
+            int datum = array[readIndex];
+            
+            if (datum != array[writeIndex - 1]) {
+                array[writeIndex++] = datum;
+            }
+        }
+        
+        return writeIndex;
+    }
+    
+    /**
+     * Returns the intersection of the ascending {@code int} arrays 
+     * {@code a} and {@code b}.
+     * 
+     * @param a the first sorted array.
+     * @param b the second sorted array.
+     * @return the sorted intersection.
+     */
+    public static int[] intersect(int[] a, int[] b) {
+        int[] target = new int[Math.min(a.length, b.length)];
+        int length = intersect(a, 0, a.length, b, 0, b.length, target, 0);
+        return trim(target, length);
+    }
+    
+    /**
+     * Writes the intersection of the ascending ranges 
+     * {@code a[aFromIndex ... aToIndex - 1]} and 
+     * {@code b[bFromIndex ... bToIndex - 1]} to {@code target} starting at
+     * {@code targetOffset}. An element occurring {@code m} times in the 
+     * first range and {@code n} times in the second one occurs 
+     * {@code min(m, n)} times in the intersection. Whenever an element of 
+     * one range is smaller than the current element of the other, the 
+     * latter gallops ahead, so intersecting a short range with a long one 
+     * takes time logarithmic in the length of the long one per element of 
+     * the short one. The {@code target} must not overlap either range.
+     * 
+     * @param a            the array holding the first range.
+     * @param aFromIndex   the starting, inclusive index of the first range.
+     * @param aToIndex     the ending, exclusive index of the first range.
+     * @param b            the array holding the second range.
+     * @param bFromIndex   the starting, inclusive index of the second range.
+     * @param bToIndex     the ending, exclusive index of the second range.
+     * @param target       the array of at least 
+     *                     {@code min(aToIndex - aFromIndex, 
+     *                     bToIndex - bFromIndex)} elements past 
+     *                     {@code targetOffset}.
+     * @param targetOffset the index of the first element of the intersection
+     *                     in {@code target}.
+     * @return the length of the intersection.
+     */
+    public static int intersect(int[] a, 
+                                int aFromIndex, 
+                                int aToIndex,
+                                int[] b,
+                                int bFromIndex,
+                                int bToIndex,
+                                int[] target,
+                                int targetOffset) {
+        LsdRadixsort.checkRangeIndices(a.length, aFromIndex, aToIndex);
+        LsdRadixsort.checkRangeIndices(b.length, bFromIndex, bToIndex);
+        checkTargetCapacity(target.length,
+                            targetOffset,
+                            Math.min(aToIndex - aFromIndex, 
+                                     bToIndex - bFromIndex));
+        
+        int i = aFromIndex;
+        int j = bFromIndex;
+        int targetIndex = targetOffset;
+        
+        while (i < aToIndex && j < bToIndex) {
+            int x = a[i];
+            int y = b[j];
+            
+            if (x < y) {
+                i = gallop(a, i + 1, aToIndex, y);
+            } else if (y < x) {
+                j = gallop(b, j + 1, bToIndex, x);
+            } else {
+                target[targetIndex++] = x;
+                i++;
+                j++;
+            }
+        }
+        
+        return targetIndex - targetOffset;
+    }
+    
+    /**
+     * Returns the union of the ascending {@code int} arrays {@code a} and 
+     * {@code b}.
+     * 
+     * @param a the first sorted array.
+     * @param b the second sorted array.
+     * @return the sorted union.
+     */
+    public static int[] union(int[] a, int[] b) {
+        int[] target = new int[checkTotalLength(a.length, b.length)];
+        int length = union(a, 0, a.length, b, 0, b.length, target, 0);
+        return trim(target, length);
+    }
+    
+    /**
+     * Writes the union of the ascending ranges 
+     * {@code a[aFromIndex ... aToIndex - 1]} and 
+     * {@code b[bFromIndex ... bToIndex - 1]} to {@code target} starting at
+     * {@code targetOffset}. An element occurring {@code m} times in the 
+     * first range and {@code n} times in the second one occurs 
+     * {@code max(m, n)} times in the union. The stretches of either range
+     * below the current element of the other one are found by galloping and
+     * copied in bulk. The {@code target} must not overlap either range.
+     * 
+     * @param a            the array holding the first range.
+     * @param aFromIndex   the starting, inclusive index of the first range.
+     * @param aToIndex     the ending, exclusive index of the first range.
+     * @param b            the array holding the second range.
+     * @param bFromIndex   the starting, inclusive index of the second range.
+     * @param bToIndex     the ending, exclusive index of the second range.
+     * @param target       the array of at least 
+     *                     {@code (aToIndex - aFromIndex) 
+     *                     + (bToIndex - bFromIndex)} elements past 
+     *                     {@code targetOffset}.
+     * @param targetOffset the index of the first element of the union in 
+     *                     {@code target}.
+     * @return the length of the union.
+     */
+    public static int union(int[] a, 
+                            int aFromIndex, 
+                            int aToIndex,
+                            int[] b,
+                            int bFromIndex,
+                            int bToIndex,
+                            int[] target,
+                            int targetOffset) {
+        LsdRadixsort.checkRangeIndices(a.length, aFromIndex, aToIndex);
+        LsdRadixsort.checkRangeIndices(b.length, bFromIndex, bToIndex);
+        checkTargetCapacity(target.length,
+                            targetOffset,
+                            checkTotalLength(aToIndex - aFromIndex, 
+                                             bToIndex - bFromIndex));
+        
+        int i = aFromIndex;
+        int j = bFromIndex;
+        int targetIndex = targetOffset;
+        
+        while (i < aToIndex && j < bToIndex) {
+            int x = a[i];
+            int y = b[j];
+            
+            if (x < y) {
+                int end = gallop(a, i + 1, aToIndex, y);
+                System.arraycopy(a, i, target, targetIndex, end - i);
+                targetIndex += end - i;
+                i = end;
+            } else if (y < x) {
+                int end = gallop(b, j + 1, bToIndex, x);
+                System.arraycopy(b, j, target, targetIndex, end - j);
+                targetIndex += end - j;
+                j = end;
+            } else {
+                target[targetIndex++] = x;
+                i++;
+                j++;
+            }
+        }
+        
+        // Copy the rest of the range that is left:
+        System.arraycopy(a, i, target, targetIndex, aToIndex - i);
+        targetIndex += aToIndex - i;
+        System.arraycopy(b, j, target, targetIndex, bToIndex - j);
+        targetIndex += bToIndex - j;
+        return targetIndex - targetOffset;
+    }
+    
+    /**
+     * Returns the elements of the ascending {@code int} array {@code a} 
+     * that are not in the ascending array {@code b}.
+     * 
+     * @param a the sorted array to subtract from.
+     * @param b the sorted array to subtract.
+     * @return the sorted difference.
+     */
+    public static int[] difference(int[] a, int[] b) {
+        int[] target = new int[a.length];
+        int length = difference(a, 0, a.length, b, 0, b.length, target, 0);
+        return trim(target, length);
+    }
+    
+    /**
+     * Writes the elements of the ascending range 
+     * {@code a[aFromIndex ... aToIndex - 1]} that are not in the ascending 
+     * range {@code b[bFromIndex ... bToIndex - 1]} to {@code target} 
+     * starting at {@code targetOffset}. An element occurring {@code m} 
+     * times in the first range and {@code n} times in the second one occurs
+     * {@code max(m - n, 0)} times in the difference. The stretches of either
+     * range below the current element of the other one are skipped or 
+     * copied in bulk after galloping over them. The {@code target} must not
+     * overlap the second range; it may be the first range itself, that is, 
+     * {@code target == a} and {@code targetOffset == aFromIndex}, for an 
+     * in-place difference.
+     * 
+     * @param a            the array holding the range to subtract from.
+     * @param aFromIndex   the starting, inclusive index of the first range.
+     * @param aToIndex     the ending, exclusive index of the first range.
+     * @param b            the array holding the range to subtract.
+     * @param bFromIndex   the starting, inclusive index of the second range.
+     * @param bToIndex     the ending, exclusive index of the second range.
+     * @param target       the array of at least 
+     *                     {@code aToIndex - aFromIndex} elements past 
+     *                     {@code targetOffset}.
+     * @param targetOffset the index of the first element of the difference 
+     *                     in {@code target}.
+     * @return the length of the difference.
+     */
+    public static int difference(int[] a, 
+                                 int aFromIndex, 
+                                 int aToIndex,
+                                 int[] b,
+                                 int bFromIndex,
+                                 int bToIndex,
+                                 int[] target,
+                                 int targetOffset) {
+        LsdRadixsort.checkRangeIndices(a.length, aFromIndex, aToIndex);
+        LsdRadixsort.checkRangeIndices(b.length, bFromIndex, bToIndex);
+        checkTargetCapacity(target.length,
+                            targetOffset,
+                            aToIndex - aFromIndex);
+        
+        int i = aFromIndex;
+        int j = bFromIndex;
+        int targetIndex = targetOffset;
+        
+        while (i < aToIndex && j < bToIndex) {
+            int x = a[i];
+            int y = b[j];
+            
+            if (x < y) {
+                int end = gallop(a, i + 1, aToIndex, y);
+                System.arraycopy(a, i, target, targetIndex, end - i);
+                targetIndex += end - i;
+                i = end;
+            } else if (y < x) {
+                j = gallop(b, j + 1, bToIndex, x);
+            } else {
+                i++;
+                j++;
+            }
+        }
+        
+        System.arraycopy(a, i, target, targetIndex, aToIndex - i);
+        targetIndex += aToIndex - i;
+        return targetIndex - targetOffset;
+    }
+    
+    /**
+     * Merges the ascending {@code long} arrays {@code arrays} into a new 
+     * ascending array.
+     * 
+     * @param arrays the sorted arrays to merge.
+     * @return the merged array.
+     */
+    public static long[] merge(long[]... arrays) {
+        long[] target = new long[checkTotalLength(arrays)];
+        merge(arrays, target, 0);
+        return target;
+    }
+    
+    /**
+     * Merges the ascending {@code long} arrays {@code arrays} into 
+     * {@code target} starting at {@code targetOffset}. The arrays are 
+     * merged by a loser tree, which finds the next smallest element in 
+     * {@code ceil(log2(k))} comparisons for {@code k} arrays. The 
+     * {@code target} must not overlap any of the arrays.
+     * 
+     * @param arrays       the sorted arrays to merge.
+     * @param target       the array to write the merged elements to.
+     * @param targetOffset the index of the first merged element in 
+     *                     {@code target}.
+     */
+    public static void merge(long[][] arrays, long[] target, int targetOffset) {
+        checkTargetCapacity(target.length, 
+                            targetOffset, 
+                            checkTotalLength(arrays));
+        
+        switch (arrays.length) {
+            case 0 -> {}
+            
+            case 1 -> System.arraycopy(arrays[0], 
+                                       0, 
+                                       target, 
+                                       targetOffset, 
+                                       arrays[0].length);
+            
+            default -> new LoserTreeLong(arrays).mergeInto(target, 
+                                                        targetOffset);
+        }
+    }
+    
+    /**
+     * Removes the adjacent duplicates from the entire {@code long} array in
+     * place. If the array is sorted, all the duplicates are removed.
+     * 
+     * @param array the array to deduplicate.
+     * @return the number of distinct elements, which now occupy 
+     *         {@code array[0 ... return value - 1]}.
+     */
+    public static int unique(long[] array) {
+        return unique(array, 0, array.length);
+    }
+    
+    /**
+     * Removes the adjacent duplicates from the range 
+     * {@code array[fromIndex ... toIndex - 1]} in place. If the range is 
+     * sorted, all the duplicates are removed. The elements past the new end 
+     * of the range are left unspecified.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @return the new ending, exclusive index of the range.
+     */
+    public static int unique(long[] array, int fromIndex, int toIndex) {
+        LsdRadixsort.checkRangeIndices(array.length, fromIndex, toIndex);
+        
+        if (toIndex - fromIndex < 2) {
+            return toIndex;
+        }
+        
+        int writeIndex = fromIndex + 1;
+        
+        for (int readIndex = fromIndex + 1; 
+                readIndex != toIndex; 
+                readIndex++) {
+            long datum = array[readIndex];
+            
+            if (datum != array[writeIndex - 1]) {
+                array[writeIndex++] = datum;
+            }
+        }
+        
+        return writeIndex;
+    }
+    
+    /**
+     * Returns the intersection of the ascending {@code long} arrays 
+     * {@code a} and {@code b}.
+     * 
+     * @param a the first sorted array.
+     * @param b the second sorted array.
+     * @return the sorted intersection.
+     */
+    public static long[] intersect(long[] a, long[] b) {
+        long[] target = new long[Math.min(a.length, b.length)];
+        int length = intersect(a, 0, a.length, b, 0, b.length, target, 0);
+        return trim(target, length);
+    }
+    
+    /**
+     * Writes the intersection of the ascending ranges 
+     * {@code a[aFromIndex ... aToIndex - 1]} and 
+     * {@code b[bFromIndex ... bToIndex - 1]} to {@code target} starting at
+     * {@code targetOffset}. An element occurring {@code m} times in the 
+     * first range and {@code n} times in the second one occurs 
+     * {@code min(m, n)} times in the intersection. Whenever an element of 
+     * one range is smaller than the current element of the other, the 
+     * latter gallops ahead, so intersecting a short range with a long one 
+     * takes time logarithmic in the length of the long one per element of 
+     * the short one. The {@code target} must not overlap either range.
+     * 
+     * @param a            the array holding the first range.
+     * @param aFromIndex   the starting, inclusive index of the first range.
+     * @param aToIndex     the ending, exclusive index of the first range.
+     * @param b            the array holding the second range.
+     * @param bFromIndex   the starting, inclusive index of the second range.
+     * @param bToIndex     the ending, exclusive index of the second range.
+     * @param target       the array of at least 
+     *                     {@code min(aToIndex - aFromIndex, 
+     *                     bToIndex - bFromIndex)} elements past 
+     *                     {@code targetOffset}.
+     * @param targetOffset the index of the first element of the intersection
+     *                     in {@code target}.
+     * @return the length of the intersection.
+     */
+    public static int intersect(long[] a, 
+                                int aFromIndex, 
+                                int aToIndex,
+                                long[] b,
+                                int bFromIndex,
+                                int bToIndex,
+                                long[] target,
+                                int targetOffset) {
+        LsdRadixsort.checkRangeIndices(a.length, aFromIndex, aToIndex);
+        LsdRadixsort.checkRangeIndices(b.length, bFromIndex, bToIndex);
+        checkTargetCapacity(target.length,
+                            targetOffset,
+                            Math.min(aToIndex - aFromIndex, 
+                                     bToIndex - bFromIndex));
+        
+        int i = aFromIndex;
+        int j = bFromIndex;
+        int targetIndex = targetOffset;
+        
+        while (i < aToIndex && j < bToIndex) {
+            long x = a[i];
+            long y = b[j];
+            
+            if (x < y) {
+                i = gallop(a, i + 1, aToIndex, y);
+            } else if (y < x) {
+                j = gallop(b, j + 1, bToIndex, x);
+            } else {
+                target[targetIndex++] = x;
+                i++;
+                j++;
+            }
+        }
+        
+        return targetIndex - targetOffset;
+    }
+    
+    /**
+     * Returns the union of the ascending {@code long} arrays {@code a} and 
+     * {@code b}.
+     * 
+     * @param a the first sorted array.
+     * @param b the second sorted array.
+     * @return the sorted union.
+     */
+    public static long[] union(long[] a, long[] b) {
+        long[] target = new long[checkTotalLength(a.length, b.length)];
+        int length = union(a, 0, a.length, b, 0, b.length, target, 0);
+        return trim(target, length);
+    }
+    
+    /**
+     * Writes the union of the ascending ranges 
+     * {@code a[aFromIndex ... aToIndex - 1]} and 
+     * {@code b[bFromIndex ... bToIndex - 1]} to {@code target} starting at
+     * {@code targetOffset}. An element occurring {@code m} times in the 
+     * first range and {@code n} times in the second one occurs 
+     * {@code max(m, n)} times in the union. The stretches of either range
+     * below the current element of the other one are found by galloping and
+     * copied in bulk. The {@code target} must not overlap either range.
+     * 
+     * @param a            the array holding the first range.
+     * @param aFromIndex   the starting, inclusive index of the first range.
+     * @param aToIndex     the ending, exclusive index of the first range.
+     * @param b            the array holding the second range.
+     * @param bFromIndex   the starting, inclusive index of the second range.
+     * @param bToIndex     the ending, exclusive index of the second range.
+     * @param target       the array of at least 
+     *                     {@code (aToIndex - aFromIndex) 
+     *                     + (bToIndex - bFromIndex)} elements past 
+     *                     {@code targetOffset}.
+     * @param targetOffset the index of the first element of the union in 
+     *                     {@code target}.
+     * @return the length of the union.
+     */
+    public static int union(long[] a, 
+                            int aFromIndex, 
+                            int aToIndex,
+                            long[] b,
+                            int bFromIndex,
+                            int bToIndex,
+                            long[] target,
+                            int targetOffset) {
+        LsdRadixsort.checkRangeIndices(a.length, aFromIndex, aToIndex);
+        LsdRadixsort.checkRangeIndices(b.length, bFromIndex, bToIndex);
+        checkTargetCapacity(target.length,
+                            targetOffset,
+                            checkTotalLength(aToIndex - aFromIndex, 
+                                             bToIndex - bFromIndex));
+        
+        int i = aFromIndex;
+        int j = bFromIndex;
+        int targetIndex = targetOffset;
+        
+        while (i < aToIndex && j < bToIndex) {
+            long x = a[i];
+            long y = b[j];
+            
+            if (x < y) {
+                int end = gallop(a, i + 1, aToIndex, y);
+                System.arraycopy(a, i, target, targetIndex, end - i);
+                targetIndex += end - i;
+                i = end;
+            } else if (y < x) {
+                int end = gallop(b, j + 1, bToIndex, x);
+                System.arraycopy(b, j, target, targetIndex, end - j);
+                targetIndex += end - j;
+                j = end;
+            } else {
+                target[targetIndex++] = x;
+                i++;
+                j++;
+            }
+        }
+        
+        // Copy the rest of the range that is left:
+        System.arraycopy(a, i, target, targetIndex, aToIndex - i);
+        targetIndex += aToIndex - i;
+        System.arraycopy(b, j, target, targetIndex, bToIndex - j);
+        targetIndex += bToIndex - j;
+        return targetIndex - targetOffset;
+    }
+    
+    /**
+     * Returns the elements of the ascending {@code long} array {@code a} 
+     * that are not in the ascending array {@code b}.
+     * 
+     * @param a the sorted array to subtract from.
+     * @param b the sorted array to subtract.
+     * @return the sorted difference.
+     */
+    public static long[] difference(long[] a, long[] b) {
+        long[] target = new long[a.length];
+        int length = difference(a, 0, a.length, b, 0, b.length, target, 0);
+        return trim(target, length);
+    }
+    
+    /**
+     * Writes the elements of the ascending range 
+     * {@code a[aFromIndex ... aToIndex - 1]} that are not in the ascending 
+     * range {@code b[bFromIndex ... bToIndex - 1]} to {@code target} 
+     * starting at {@code targetOffset}. An element occurring {@code m} 
+     * times in the first range and {@code n} times in the second one occurs
+     * {@code max(m - n, 0)} times in the difference. The stretches of either
+     * range below the current element of the other one are skipped or 
+     * copied in bulk after galloping over them. The {@code target} must not
+     * overlap the second range; it may be the first range itself, that is, 
+     * {@code target == a} and {@code targetOffset == aFromIndex}, for an 
+     * in-place difference.
+     * 
+     * @param a            the array holding the range to subtract from.
+     * @param aFromIndex   the starting, inclusive index of the first range.
+     * @param aToIndex     the ending, exclusive index of the first range.
+     * @param b            the array holding the range to subtract.
+     * @param bFromIndex   the starting, inclusive index of the second range.
+     * @param bToIndex     the ending, exclusive index of the second range.
+     * @param target       the array of at least 
+     *                     {@code aToIndex - aFromIndex} elements past 
+     *                     {@code targetOffset}.
+     * @param targetOffset the index of the first element of the difference 
+     *                     in {@code target}.
+     * @return the length of the difference.
+     */
+    public static int difference(long[] a, 
+                                 int aFromIndex, 
+                                 int aToIndex,
+                                 long[] b,
+                                 int bFromIndex,
+                                 int bToIndex,
+                                 long[] target,
+                                 int targetOffset) {
+        LsdRadixsort.checkRangeIndices(a.length, aFromIndex, aToIndex);
+        LsdRadixsort.checkRangeIndices(b.length, bFromIndex, bToIndex);
+        checkTargetCapacity(target.length,
+                            targetOffset,
+                            aToIndex - aFromIndex);
+        
+        int i = aFromIndex;
+        int j = bFromIndex;
+        int targetIndex = targetOffset;
+        
+        while (i < aToIndex && j < bToIndex) {
+            long x = a[i];
+            long y = b[j];
+            
+            if (x < y) {
+                int end = gallop(a, i + 1, aToIndex, y);
+                System.arraycopy(a, i, target, targetIndex, end - i);
+                targetIndex += end - i;
+                i = end;
+            } else if (y < x) {
+                j = gallop(b, j + 1, bToIndex, x);
+            } else {
+                i++;
+                j++;
+            }
+        }
+        
+        System.arraycopy(a, i, target, targetIndex, aToIndex - i);
+        targetIndex += aToIndex - i;
+        return targetIndex - targetOffset;
+    }
+    
+    /**
+     * Returns the index of the first element of the ascending range 
+     * {@code array[fromIndex ... toIndex - 1]} that is at least 
+     * {@code key}, or {@code toIndex} if there is none. The range is first
+     * probed at exponentially growing distances from {@code fromIndex}, 
+     * after which the bracketed part is binary searched, so finding an 
+     * element at distance {@code d} takes {@code O(log d)} comparisons.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param key       the key to search for.
+     * @return the index of the first element not less than {@code key}.
+     */
+    private static int gallop(int[] array, 
+                              int fromIndex, 
+                              int toIndex, 
+                              int key) {
+        // All the elements before low are less than key:
+        int low = fromIndex;
+        int bound = fromIndex;
+        int step = 1;
+        
+        while (bound < toIndex && array[bound] < key) {
+            low = bound + 1;
+            bound = toIndex - bound > step ? bound + step : toIndex;
+            step <<= 1;
+        }
+        
+        // The answer is within [low, bound]:
+        int high = bound;
+        
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            
+            if (array[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        
+        return low;
+    }
+    
+    /**
+     * Returns {@code array} if it holds exactly {@code length} elements, or
+     * a copy of its first {@code length} elements otherwise.
+     * 
+     * @param array  the array to trim.
+     * @param length the number of elements to keep.
+     * @return the trimmed array.
+     */
+    private static int[] trim(int[] array, int length) {
+        return length == array.length ? array : Arrays.copyOf(array, length);
+    }
+    
+    /**
+     * Checks that the total length of {@code arrays} fits in an array.
+     * 
+     * @param arrays the arrays.
+     * @return the total length.
+     */
+    private static int checkTotalLength(int[][] arrays) {
+        long totalLength = 0L;
+        
+        for (int[] array : arrays) {
+            totalLength += Objects.requireNonNull(array, 
+                                                  "An array is null.").length;
+        }
+        
+        return checkTotalLength(totalLength);
+    }
+    
+    /**
+     * Returns the index of the first element of the ascending range 
+     * {@code array[fromIndex ... toIndex - 1]} that is at least 
+     * {@code key}, or {@code toIndex} if there is none. The range is first
+     * probed at exponentially growing distances from {@code fromIndex}, 
+     * after which the bracketed part is binary searched, so finding an 
+     * element at distance {@code d} takes {@code O(log d)} comparisons.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range. 
+     * @param key       the key to search for.
+     * @return the index of the first element not less than {@code key}.
+     */
+    private static int gallop(long[] array, 
+                              int fromIndex, 
+                              int toIndex, 
+                              long key) {
+        // All the elements before low are less than key:
+        int low = fromIndex;
+        int bound = fromIndex;
+        int step = 1;
+        
+        while (bound < toIndex && array[bound] < key) {
+            low = bound + 1;
+            bound = toIndex - bound > step ? bound + step : toIndex;
+            step <<= 1;
+        }
+        
+        // The answer is within [low, bound]:
+        int high = bound;
+        
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            
+            if (array[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        
+        return low;
+    }
+    
+    /**
+     * Returns {@code array} if it holds exactly {@code length} elements, or
+     * a copy of its first {@code length} elements otherwise.
+     * 
+     * @param array  the array to trim.
+     * @param length the number of elements to keep.
+     * @return the trimmed array.
+     */
+    private static long[] trim(long[] array, int length) {
+        return length == array.length ? array : Arrays.copyOf(array, length);
+    }
+    
+    /**
+     * Checks that the total length of {@code arrays} fits in an array.
+     * 
+     * @param arrays the arrays.
+     * @return the total length.
+     */
+    private static int checkTotalLength(long[][] arrays) {
+        long totalLength = 0L;
+        
+        for (long[] array : arrays) {
+            totalLength += Objects.requireNonNull(array, 
+                                                  "An array is null.").length;
+        }
+        
+        return checkTotalLength(totalLength);
+    }
+    
+    /**
+     * Checks that the total length of two arrays fits in an array.
+     * 
+     * @param aLength the length of the first array.
+     * @param bLength the length of the second array.
+     * @return the total length.
+     */
+    private static int checkTotalLength(int aLength, int bLength) {
+        return checkTotalLength((long) aLength + bLength);
+    }
+    
+    /**
+     * Checks that {@code totalLength} elements fit in an array.
+     * 
+     * @param totalLength the total number of elements.
+     * @return the total length.
+     */
+    private static int checkTotalLength(long totalLength) {
+        if (totalLength > MAXIMUM_ARRAY_LENGTH) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The total length(%d) exceeds " 
+                                    + "MAXIMUM_ARRAY_LENGTH(%d).",
+                            totalLength,
+                            MAXIMUM_ARRAY_LENGTH));
+        }
+        
+        return (int) totalLength;
+    }
+    
+    /**
+     * Checks that {@code target} has room for {@code length} elements 
+     * starting at {@code targetOffset}.
+     * 
+     * @param targetLength the length of the target array.
+     * @param targetOffset the index of the first element in the target.
+     * @param length       the number of elements to fit.
+     */
+    private static void checkTargetCapacity(int targetLength,
+                                            int targetOffset,
+                                            int length) {
+        if (targetOffset < 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "targetOffset(%d) is negative. Must be at least "
+                                    + "0.", 
+                            targetOffset));
+        }
+        
+        if (targetOffset > targetLength 
+                || targetLength - targetOffset < length) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The target of length %d has no room for %d "
+                                    + "elements at targetOffset(%d).",
+                            targetLength,
+                            length,
+                            targetOffset));
+        }
+    }
+    
+    /**
+     * This class merges ascending {@code int} arrays with a loser tree. Each
+     * of the {@code k - 1} internal nodes holds the index of the array 
+     * that lost the match played at the node, and {@code tree[0]} holds 
+     * the overall winner. After the winner's head element is output, only 
+     * the matches on the path from its leaf to the root are replayed. An 
+     * exhausted array loses every match.
+     */
+    private static final class LoserTreeInteger {
+        
+        /**
+         * The arrays to merge.
+         */
+        private final int[][] arrays;
+        
+        /**
+         * The index of the head element of each array.
+         */
+        private final int[] heads;
+        
+        /**
+         * The losers of the internal nodes, and the winner at index 0.
+         */
+        private final int[] tree;
+        
+        /**
+         * Builds the tree by playing all the matches bottom-up.
+         * 
+         * @param arrays the arrays to merge, at least two.
+         */
+        LoserTreeInteger(int[][] arrays) {
+            int k = arrays.length;
+            this.arrays = arrays;
+            this.heads = new int[k];
+            this.tree = new int[k];
+            
+            // The winners of all the nodes, the leaves being k ... 2k - 1:
+            int[] winners = new int[2 * k];
+            
+            for (int i = 0; i != k; i++) {
+                winners[k + i] = i;
+            }
+            
+            for (int node = k - 1; node != 0; node--) {
+                int left = winners[2 * node];
+                int right = winners[2 * node + 1];
+                
+                if (precedes(right, left)) {
+                    winners[node] = right;
+                    tree[node] = left;
+                } else {
+                    winners[node] = left;
+                    tree[node] = right;
+                }
+            }
+            
+            tree[0] = winners[1];
+        }
+        
+        /**
+         * Writes all the elements in ascending order to {@code target} 
+         * starting at {@code targetOffset}.
+         * 
+         * @param target       the array to write to.
+         * @param targetOffset the index of the first element in 
+         *                     {@code target}.
+         */
+        void mergeInto(int[] target, int targetOffset) {
+            int k = arrays.length;
+            long totalLength = 0L;
+            
+            for (int[] array : arrays) {
+                totalLength += array.length;
+            }
+            
+            int targetIndex = targetOffset;
+            int targetEnd = targetOffset + (int) totalLength;
+            
+            while (targetIndex != targetEnd) {
+                int winner = tree[0];
+                target[targetIndex++] = arrays[winner][heads[winner]++];
+                
+                // Replay the matches on the path to the root:
+                for (int node = (winner + k) >>> 1; node != 0; node >>>= 1) {
+                    if (precedes(tree[node], winner)) {
+                        int loser = winner;
+                        winner = tree[node];
+                        tree[node] = loser;
+                    }
+                }
+                
+                tree[0] = winner;
+            }
+        }
+        
+        /**
+         * Checks whether the head element of the array {@code i} precedes
+         * the one of the array {@code j}. Ties are broken by the array 
+         * index, which keeps the merge stable.
+         * 
+         * @param i the index of the first array.
+         * @param j the index of the second array.
+         * @return {@code true} if the head of {@code i} wins.
+         */
+        private boolean precedes(int i, int j) {
+            int headI = heads[i];
+            int headJ = heads[j];
+            
+            if (headI == arrays[i].length) {
+                return false;
+            }
+            
+            if (headJ == arrays[j].length) {
+                return true;
+            }
+            
+            int x = arrays[i][headI];
+            int y = arrays[j][headJ];
+            return x < y || (x == y && i < j);
+        }
+    }
+    
+    /**
+     * This class merges ascending {@code long} arrays with a loser tree. Each
+     * of the {@code k - 1} internal nodes holds the index of the array 
+     * that lost the match played at the node, and {@code tree[0]} holds 
+     * the overall winner. After the winner's head element is output, only 
+     * the matches on the path from its leaf to the root are replayed. An 
+     * exhausted array loses every match.
+     */
+    private static final class LoserTreeLong {
+        
+        /**
+         * The arrays to merge.
+         */
+        private final long[][] arrays;
+        
+        /**
+         * The index of the head element of each array.
+         */
+        private final int[] heads;
+        
+        /**
+         * The losers of the internal nodes, and the winner at index 0.
+         */
+        private final int[] tree;
+        
+        /**
+         * Builds the tree by playing all the matches bottom-up.
+         * 
+         * @param arrays the arrays to merge, at least two.
+         */
+        LoserTreeLong(long[][] arrays) {
+            int k = arrays.length;
+            this.arrays = arrays;
+            this.heads = new int[k];
+            this.tree = new int[k];
+            
+            // The winners of all the nodes, the leaves being k ... 2k - 1:
+            int[] winners = new int[2 * k];
+            
+            for (int i = 0; i != k; i++) {
+                winners[k + i] = i;
+            }
+            
+            for (int node = k - 1; node != 0; node--) {
+                int left = winners[2 * node];
+                int right = winners[2 * node + 1];
+                
+                if (precedes(right, left)) {
+                    winners[node] = right;
+                    tree[node] = left;
+                } else {
+                    winners[node] = left;
+                    tree[node] = right;
+                }
+            }
+            
+            tree[0] = winners[1];
+        }
+        
+        /**
+         * Writes all the elements in ascending order to {@code target} 
+         * starting at {@code targetOffset}.
+         * 
+         * @param target       the array to write to.
+         * @param targetOffset the index of the first element in 
+         *                     {@code target}.
+         */
+        void mergeInto(long[] target, int targetOffset) {
+            int k = arrays.length;
+            long totalLength = 0L;
+            
+            for (long[] array : arrays) {
+                totalLength += array.length;
+            }
+            
+            int targetIndex = targetOffset;
+            int targetEnd = targetOffset + (int) totalLength;
+            
+            while (targetIndex != targetEnd) {
+                int winner = tree[0];
+                target[targetIndex++] = arrays[winner][heads[winner]++];
+                
+                // Replay the matches on the path to the root:
+                for (int node = (winner + k) >>> 1; node != 0; node >>>= 1) {
+                    if (precedes(tree[node], winner)) {
+                        int loser = winner;
+                        winner = tree[node];
+                        tree[node] = loser;
+                    }
+                }
+                
+                tree[0] = winner;
+            }
+        }
+        
+        /**
+         * Checks whether the head element of the array {@code i} precedes
+         * the one of the array {@code j}. Ties are broken by the array 
+         * index, which keeps the merge stable.
+         * 
+         * @param i the index of the first array.
+         * @param j the index of the second array.
+         * @return {@code true} if the head of {@code i} wins.
+         */
+        private boolean precedes(int i, int j) {
+            int headI = heads[i];
+            int headJ = heads[j];
+            
+            if (headI == arrays[i].length) {
+                return false;
+            }
+            
+            if (headJ == arrays[j].length) {
+                return true;
+            }
+            
+            long x = arrays[i][headI];
+            long y = arrays[j][headJ];
+            return x < y || (x == y && i < j);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.coderodde.util;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class implements the vectorized kernels of {@link LsdRadixsort} with
+ * the incubating Vector API. It is compiled only by the {@code vector} build
+ * profile, since compiling it needs the {@code jdk.incubator.vector} module,
+ * and {@code LsdRadixsort} loads it reflectively only if the module is 
+ * present at run time.
+ * 
+ * <p>The kernels scan for the monotonic runs of {@code int} and {@code long}
+ * ranges, comparing a whole vector of neighbouring pairs at a time. The 
+ * histograms are left scalar: extracting the digits of a vector of keys at a
+ * time does not pay off, since the counters must still be incremented one 
+ * lane at a time, there being no scatter-add instruction.
+ */
+final class VectorizedKernels implements RunEndFinder {
+    
+    /**
+     * The species of the {@code int} vectors.
+     */
+    private static final VectorSpecies<Integer> INT_SPECIES = 
+            IntVector.SPECIES_PREFERRED;
+    
+    /**
+     * The species of the {@code long} vectors.
+     */
+    private static final VectorSpecies<Long> LONG_SPECIES = 
+            LongVector.SPECIES_PREFERRED;
+    
+    /**
+     * The minimum vector width in bits for which the kernels pay off.
+     */
+    private static final int MINIMUM_VECTOR_BITS = 256;
+    
+    /**
+     * Checks whether the preferred vectors are wide enough for the kernels to
+     * pay off.
+     * 
+     * @return {@code true} if the kernels should be used.
+     */
+    boolean isSupported() {
+        return INT_SPECIES.vectorBitSize() >= MINIMUM_VECTOR_BITS;
+    }
+    
+    /**
+     * Returns the end of the monotonic run of
+     * {@code array[fromIndex ... toIndex - 1]} that continues up to
+     * {@code runEnd}, that is, the smallest index {@code i} at least
+     * {@code runEnd} for which {@code i == toIndex} or
+     * {@code array[i - 1], array[i]} break the order. A whole vector of
+     * neighbouring pairs is compared at a time.
+     * 
+     * @param array      the array holding the run.
+     * @param runEnd     the index just past the known part of the run.
+     *                   Must be positive.
+     * @param toIndex    the ending, exclusive index of the range.
+     * @param orderMask  the mask to xor each datum with before comparing.
+     * @param descending whether the run is non-ascending rather than
+     *                   non-descending.
+     * @return the end of the run.
+     */
+    @Override
+    public int findRunEnd(int[] array,
+                          int runEnd,
+                          int toIndex,
+                          int orderMask,
+                          boolean descending) {
+        int i = runEnd;
+        
+        for (; i <= toIndex - INT_SPECIES.length();
+                i += INT_SPECIES.length()) {
+            IntVector current =
+                    IntVector.fromArray(INT_SPECIES, array, i)
+                             .lanewise(VectorOperators.XOR, orderMask);
+            IntVector previous =
+                    IntVector.fromArray(INT_SPECIES, array, i - 1)
+                             .lanewise(VectorOperators.XOR, orderMask);
+            // The comparison operator must be a constant for the comparison
+            // to be compiled into a vector instruction:
+            VectorMask<Integer> breaks =
+                    descending ?
+                    current.compare(VectorOperators.GT, previous) :
+                    current.compare(VectorOperators.LT, previous);
+            
+            if (breaks.anyTrue()) {
+                return i + breaks.firstTrue();
+            }
+        }
+        
+        for (; i != toIndex; i++) {
+            int current = array[i] ^ orderMask;
+            int previous = array[i - 1] ^ orderMask;
+            
+            if (descending ? current > previous : current < previous) {
+                return i;
+            }
+        }
+        
+        return toIndex;
+    }
+    
+    /**
+     * Returns the end of the monotonic run of
+     * {@code array[fromIndex ... toIndex - 1]} that continues up to
+     * {@code runEnd}, that is, the smallest index {@code i} at least
+     * {@code runEnd} for which {@code i == toIndex} or
+     * {@code array[i - 1], array[i]} break the order. A whole vector of
+     * neighbouring pairs is compared at a time.
+     * 
+     * @param array      the array holding the run.
+     * @param runEnd     the index just past the known part of the run.
+     *                   Must be positive.
+     * @param toIndex    the ending, exclusive index of the range.
+     * @param orderMask  the mask to xor each datum with before comparing.
+     * @param descending whether the run is non-ascending rather than
+     *                   non-descending.
+     * @return the end of the run.
+     */
+    @Override
+    public int findRunEnd(long[] array,
+                          int runEnd,
+                          int toIndex,
+                          long orderMask,
+                          boolean descending) {
+        int i = runEnd;
+        
+        for (; i <= toIndex - LONG_SPECIES.length();
+                i += LONG_SPECIES.length()) {
+            LongVector current =
+                    LongVector.fromArray(LONG_SPECIES, array, i)
+                              .lanewise(VectorOperators.XOR, orderMask);
+            LongVector previous =
+                    LongVector.fromArray(LONG_SPECIES, array, i - 1)
+                              .lanewise(VectorOperators.XOR, orderMask);
+            VectorMask<Long> breaks =
+                    descending ?
+                    current.compare(VectorOperators.GT, previous) :
+                    current.compare(VectorOperators.LT, previous);
+            
+            if (breaks.anyTrue()) {
+                return i + breaks.firstTrue();
+            }
+        }
+        
+        for (; i != toIndex; i++) {
+            long current = array[i] ^ orderMask;
+            long previous = array[i - 1] ^ orderMask;
+            
+            if (descending ? current > previous : current < previous) {
+                return i;
+            }
+        }
+        
+        return toIndex;
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests sorting direct and heap {@code IntBuffer}s and {@code LongBuffer}s.
+ */
+public class BufferSortTest {
+    
+    /**
+     * The byte orders of the direct buffers.
+     */
+    private static final ByteOrder[] BYTE_ORDERS = {
+        ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN
+    };
+    
+    @Test
+    void sortsDirectIntBuffers() {
+        Random random = new Random(1L);
+        LsdRadixsort.Workspace workspace = new LsdRadixsort.Workspace();
+        
+        for (ByteOrder byteOrder : BYTE_ORDERS) {
+            for (Kind kind : Kind.values()) {
+                for (int length : TestInputs.LENGTHS) {
+                    int[] array = TestInputs.createIntArray(kind,
+                                                            length + 2,
+                                                            random);
+                    IntBuffer buffer =
+                            ByteBuffer.allocateDirect(array.length
+                                                      * Integer.BYTES)
+                                      .order(byteOrder)
+                                      .asIntBuffer()
+                                      .put(array);
+                    buffer.position(1).limit(length + 1);
+                    Arrays.sort(array, 1, length + 1);
+                    
+                    if (length % 2 == 0) {
+                        LsdRadixsort.sort(buffer);
+                    } else {
+                        LsdRadixsort.sort(buffer, workspace);
+                    }
+                    
+                    assertEquals(1, buffer.position());
+                    assertEquals(length + 1, buffer.limit());
+                    assertArrayEquals(array, toArray(buffer.clear()));
+                }
+            }
+        }
+    }
+    
+    @Test
+    void sortsDirectLongBuffers() {
+        Random random = new Random(2L);
+        LsdRadixsort.Workspace workspace = new LsdRadixsort.Workspace();
+        
+        for (ByteOrder byteOrder : BYTE_ORDERS) {
+            for (Kind kind : Kind.values()) {
+                for (int length : TestInputs.LENGTHS) {
+                    long[] array = TestInputs.createLongArray(kind,
+                                                              length + 2,
+                                                              random);
+                    LongBuffer buffer =
+                            ByteBuffer.allocateDirect(array.length
+                                                      * Long.BYTES)
+                                      .order(byteOrder)
+                                      .asLongBuffer()
+                                      .put(array);
+                    buffer.position(1).limit(length + 1);
+                    Arrays.sort(array, 1, length + 1);
+                    
+                    if (length % 2 == 0) {
+                        LsdRadixsort.sort(buffer);
+                    } else {
+                        LsdRadixsort.sort(buffer, workspace);
+                    }
+                    
+                    assertEquals(1, buffer.position());
+                    assertEquals(length + 1, buffer.limit());
+                    assertArrayEquals(array, toArray(buffer.clear()));
+                }
+            }
+        }
+    }
+    
+    @Test
+    void sortsSlicedHeapBuffers() {
+        Random random = new Random(3L);
+        int[] intArray = TestInputs.createIntArray(Kind.RANDOM,
+                                                   10_000,
+                                                   random);
+        long[] longArray = TestInputs.createLongArray(Kind.RANDOM,
+                                                      10_000,
+                                                      random);
+        int[] intExpected = intArray.clone();
+        long[] longExpected = longArray.clone();
+        Arrays.sort(intExpected, 150, 9_900);
+        Arrays.sort(longExpected, 150, 9_900);
+        
+        IntBuffer intBuffer = IntBuffer.wrap(intArray, 100, 9_800).slice();
+        LongBuffer longBuffer = LongBuffer.wrap(longArray, 100, 9_800).slice();
+        intBuffer.position(50);
+        longBuffer.position(50);
+        LsdRadixsort.sort(intBuffer);
+        LsdRadixsort.sort(longBuffer);
+        
+        assertArrayEquals(intExpected, intArray);
+        assertArrayEquals(longExpected, longArray);
+    }
+    
+    @Test
+    void rejectsReadOnlyBuffers() {
+        IntBuffer intBuffer = ByteBuffer.allocateDirect(400)
+                                        .asIntBuffer()
+                                        .asReadOnlyBuffer();
+        LongBuffer longBuffer = LongBuffer.wrap(new long[100])
+                                          .asReadOnlyBuffer();
+        
+        assertThrows(ReadOnlyBufferException.class,
+                     () -> LsdRadixsort.sort(intBuffer));
+        assertThrows(ReadOnlyBufferException.class,
+                     () -> LsdRadixsort.sort(longBuffer));
+    }
+    
+    /**
+     * Copies the remaining elements of {@code buffer} into a new array.
+     * 
+     * @param buffer the buffer to copy.
+     * @return the array.
+     */
+    private static int[] toArray(IntBuffer buffer) {
+        int[] array = new int[buffer.remaining()];
+        buffer.get(array);
+        return array;
+    }
+    
+    /**
+     * Copies the remaining elements of {@code buffer} into a new array.
+     * 
+     * @param buffer the buffer to copy.
+     * @return the array.
+     */
+    private static long[] toArray(LongBuffer buffer) {
+        long[] array = new long[buffer.remaining()];
+        buffer.get(array);
+        return array;
+    }
+}
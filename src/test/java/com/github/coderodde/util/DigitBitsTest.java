@@ -0,0 +1,57 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests sorting with each explicitly given digit width.
+ */
+public class DigitBitsTest {
+    
+    @Test
+    void sortsWithEachDigitWidth() {
+        Random random = new Random(1L);
+        
+        for (int digitBits = LsdRadixsort.MINIMUM_DIGIT_BITS;
+                digitBits <= LsdRadixsort.MAXIMUM_DIGIT_BITS;
+                digitBits++) {
+            for (Kind kind : Kind.values()) {
+                int[] intArray = TestInputs.createIntArray(kind, 3_000, random);
+                long[] longArray =
+                        TestInputs.createLongArray(kind, 3_000, random);
+                
+                int[] intExpected = intArray.clone();
+                long[] longExpected = longArray.clone();
+                Arrays.sort(intExpected, 100, 2_900);
+                Arrays.sort(longExpected, 100, 2_900);
+                LsdRadixsort.sort(intArray, 100, 2_900, digitBits);
+                LsdRadixsort.sort(longArray, 100, 2_900, digitBits);
+                assertArrayEquals(intExpected,
+                                  intArray,
+                                  digitBits + " bits, " + kind);
+                assertArrayEquals(longExpected,
+                                  longArray,
+                                  digitBits + " bits, " + kind);
+            }
+        }
+    }
+    
+    @Test
+    void rejectsUnsupportedDigitWidths() {
+        int[] intArray = new int[1_000];
+        long[] longArray = new long[1_000];
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> LsdRadixsort.sort(intArray, 0, 1_000, 0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> LsdRadixsort.sort(intArray, 0, 1_000, 17));
+        assertThrows(IllegalArgumentException.class,
+                     () -> LsdRadixsort.sort(longArray, 0, 1_000, 0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> LsdRadixsort.sort(longArray, 0, 1_000, 17));
+    }
+}
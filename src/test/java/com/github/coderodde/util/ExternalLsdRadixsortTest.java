@@ -0,0 +1,177 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the external sort of {@code long} key files against
+ * {@code Arrays.sort} with the minimum memory budget, so that the keys are
+ * distributed into bucket files.
+ */
+public class ExternalLsdRadixsortTest {
+    
+    /**
+     * The number of keys in the files exceeding the memory budget.
+     */
+    private static final int LENGTH = 1_000_000;
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void sortsFilesInBothByteOrders() throws IOException {
+        Random random = new Random(1L);
+        
+        for (ByteOrder byteOrder : new ByteOrder[]{ ByteOrder.BIG_ENDIAN,
+                                                    ByteOrder.LITTLE_ENDIAN }) {
+            for (Kind kind : Kind.values()) {
+                long[] keys = TestInputs.createLongArray(kind, LENGTH, random);
+                assertSortsFile(keys, byteOrder);
+            }
+        }
+    }
+    
+    @Test
+    void distributesLargeBucketsByTheNextByte() throws IOException {
+        Random random = new Random(2L);
+        long[] keys = new long[LENGTH];
+        
+        for (int i = 0; i != keys.length; i++) {
+            keys[i] = random.nextLong() >>> 16;
+        }
+        
+        assertSortsFile(keys, ByteOrder.BIG_ENDIAN);
+    }
+    
+    @Test
+    void sortsShortAndEmptyFiles() throws IOException {
+        Random random = new Random(3L);
+        
+        for (int length : new int[]{ 0, 1, 2, 1_000 }) {
+            assertSortsFile(
+                    TestInputs.createLongArray(Kind.RANDOM, length, random),
+                    ByteOrder.BIG_ENDIAN);
+        }
+    }
+    
+    @Test
+    void sortsInPlace() throws IOException {
+        Random random = new Random(4L);
+        long[] keys = TestInputs.createLongArray(Kind.RANDOM, LENGTH, random);
+        Path file = directory.resolve("keys.bin");
+        write(file, keys, ByteOrder.BIG_ENDIAN);
+        
+        ExternalLsdRadixsort.sort(file,
+                                  file,
+                                  ExternalLsdRadixsort.MINIMUM_MEMORY_BUDGET);
+        
+        Arrays.sort(keys);
+        assertArrayEquals(keys, read(file, ByteOrder.BIG_ENDIAN));
+        assertEquals(1L, countFiles());
+    }
+    
+    @Test
+    void rejectsInvalidArguments() throws IOException {
+        Path input = directory.resolve("input.bin");
+        Path output = directory.resolve("output.bin");
+        Files.write(input, new byte[12]);
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> ExternalLsdRadixsort.sort(
+                             input,
+                             output,
+                             ExternalLsdRadixsort.MINIMUM_MEMORY_BUDGET));
+        
+        Files.write(input, new byte[16]);
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> ExternalLsdRadixsort.sort(
+                             input,
+                             output,
+                             ExternalLsdRadixsort.MINIMUM_MEMORY_BUDGET - 1));
+    }
+    
+    /**
+     * Writes {@code keys} to a file, sorts it into another file and checks
+     * the result against {@code Arrays.sort}.
+     * 
+     * @param keys      the keys to sort.
+     * @param byteOrder the byte order of the files.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void assertSortsFile(long[] keys, ByteOrder byteOrder)
+            throws IOException {
+        Path input = directory.resolve("input.bin");
+        Path output = directory.resolve("output.bin");
+        write(input, keys, byteOrder);
+        
+        ExternalLsdRadixsort.sort(input,
+                                  output,
+                                  ExternalLsdRadixsort.MINIMUM_MEMORY_BUDGET,
+                                  byteOrder);
+        
+        long[] expected = keys.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, read(output, byteOrder));
+        assertArrayEquals(keys, read(input, byteOrder));
+        assertEquals(2L, countFiles());
+    }
+    
+    /**
+     * Counts the files in the test directory, so that the bucket files left
+     * behind are detected.
+     * 
+     * @return the number of files.
+     * @throws IOException if an I/O error occurs.
+     */
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+    
+    /**
+     * Writes {@code keys} to {@code file} in {@code byteOrder}.
+     * 
+     * @param file      the file to write.
+     * @param keys      the keys to write.
+     * @param byteOrder the byte order of the keys.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void write(Path file, long[] keys, ByteOrder byteOrder)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(keys.length * Long.BYTES)
+                                      .order(byteOrder);
+        buffer.asLongBuffer().put(keys);
+        Files.write(file, buffer.array());
+    }
+    
+    /**
+     * Reads the keys of {@code file} stored in {@code byteOrder}.
+     * 
+     * @param file      the file to read.
+     * @param byteOrder the byte order of the keys.
+     * @return the keys.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static long[] read(Path file, ByteOrder byteOrder)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file))
+                                      .order(byteOrder);
+        long[] keys = new long[buffer.remaining() / Long.BYTES];
+        buffer.asLongBuffer().get(keys);
+        return keys;
+    }
+}
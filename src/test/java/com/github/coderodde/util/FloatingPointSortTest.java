@@ -0,0 +1,101 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the {@code float} and {@code double} sorts against
+ * {@code Arrays.sort}, including the signed zeros, the infinities and NaN.
+ */
+public class FloatingPointSortTest {
+    
+    /**
+     * The special values of {@code float}.
+     */
+    private static final float[] FLOAT_SPECIAL_VALUES = {
+        Float.NaN, Float.intBitsToFloat(0xffc0_0001), Float.NEGATIVE_INFINITY,
+        -Float.MAX_VALUE, -1.0f, -Float.MIN_VALUE, -0.0f, 0.0f,
+        Float.MIN_VALUE, Float.MIN_NORMAL, 1.0f, Float.MAX_VALUE,
+        Float.POSITIVE_INFINITY
+    };
+    
+    /**
+     * The special values of {@code double}.
+     */
+    private static final double[] DOUBLE_SPECIAL_VALUES = {
+        Double.NaN, Double.longBitsToDouble(0xfff8_0000_0000_0001L),
+        Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1.0, -Double.MIN_VALUE,
+        -0.0, 0.0, Double.MIN_VALUE, Double.MIN_NORMAL, 1.0,
+        Double.MAX_VALUE, Double.POSITIVE_INFINITY
+    };
+    
+    @Test
+    void sortsFloats() {
+        Random random = new Random(1L);
+        
+        for (int length : TestInputs.LENGTHS) {
+            for (int specialPercentage : new int[]{ 0, 10, 100 }) {
+                float[] array = new float[length + 2];
+                
+                for (int i = 0; i != array.length; i++) {
+                    array[i] = random.nextInt(100) < specialPercentage ?
+                            FLOAT_SPECIAL_VALUES[
+                                    random.nextInt(
+                                            FLOAT_SPECIAL_VALUES.length)] :
+                            (float) random.nextGaussian() * 1e6f;
+                }
+                
+                float[] expected = array.clone();
+                Arrays.sort(expected, 1, length + 1);
+                LsdRadixsort.sort(array, 1, length + 1);
+                assertArrayEquals(expected, array);
+            }
+        }
+    }
+    
+    @Test
+    void sortsDoubles() {
+        Random random = new Random(2L);
+        
+        for (int length : TestInputs.LENGTHS) {
+            for (int specialPercentage : new int[]{ 0, 10, 100 }) {
+                double[] array = new double[length + 2];
+                
+                for (int i = 0; i != array.length; i++) {
+                    array[i] = random.nextInt(100) < specialPercentage ?
+                            DOUBLE_SPECIAL_VALUES[
+                                    random.nextInt(
+                                            DOUBLE_SPECIAL_VALUES.length)] :
+                            random.nextGaussian() * 1e12;
+                }
+                
+                double[] expected = array.clone();
+                Arrays.sort(expected, 1, length + 1);
+                LsdRadixsort.sort(array, 1, length + 1);
+                assertArrayEquals(expected, array);
+            }
+        }
+    }
+    
+    @Test
+    void ordersNegativeZeroBeforePositiveZero() {
+        float[] floats = new float[1_000];
+        double[] doubles = new double[1_000];
+        
+        for (int i = 0; i != floats.length; i++) {
+            floats[i] = i % 2 == 0 ? 0.0f : -0.0f;
+            doubles[i] = i % 2 == 0 ? 0.0 : -0.0;
+        }
+        
+        LsdRadixsort.sort(floats);
+        LsdRadixsort.sort(doubles);
+        
+        for (int i = 0; i != floats.length; i++) {
+            assertEquals(i < 500 ? -0.0f : 0.0f, floats[i]);
+            assertEquals(i < 500 ? -0.0 : 0.0, doubles[i]);
+        }
+    }
+}
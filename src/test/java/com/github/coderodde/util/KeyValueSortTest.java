@@ -0,0 +1,150 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Tests the key-value sorts, {@code argsort} and {@code permute} against a
+ * stable comparison sort of the indices.
+ */
+public class KeyValueSortTest {
+    
+    @Test
+    void sortsIntKeysWithPayloadStably() {
+        Random random = new Random(1L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                int[] keys = TestInputs.createIntArray(kind, length, random);
+                int[] expectedPermutation = stableArgsort(keys);
+                int[] payload = IntStream.range(0, length).toArray();
+                int[] expectedKeys = keys.clone();
+                Arrays.sort(expectedKeys);
+                
+                LsdRadixsort.sortByKey(keys, payload);
+                assertArrayEquals(expectedKeys, keys);
+                assertArrayEquals(expectedPermutation, payload);
+            }
+        }
+    }
+    
+    @Test
+    void sortsLongKeysWithPayloadStably() {
+        Random random = new Random(2L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                long[] keys = TestInputs.createLongArray(kind, length, random);
+                int[] expectedPermutation = stableArgsort(keys);
+                int[] payload = IntStream.range(0, length).toArray();
+                long[] expectedKeys = keys.clone();
+                Arrays.sort(expectedKeys);
+                
+                LsdRadixsort.sortByKey(keys, payload);
+                assertArrayEquals(expectedKeys, keys);
+                assertArrayEquals(expectedPermutation, payload);
+            }
+        }
+    }
+    
+    @Test
+    void argsortsRanges() {
+        Random random = new Random(3L);
+        int[] intKeys = TestInputs.createIntArray(Kind.FEW_DISTINCT,
+                                                  10_000,
+                                                  random);
+        long[] longKeys = TestInputs.createLongArray(Kind.FEW_DISTINCT,
+                                                     10_000,
+                                                     random);
+        
+        int[] intPermutation = LsdRadixsort.argsort(intKeys, 100, 9_000);
+        int[] longPermutation = LsdRadixsort.argsort(longKeys, 100, 9_000);
+        
+        assertArrayEquals(shift(stableArgsort(Arrays.copyOfRange(intKeys,
+                                                                 100,
+                                                                 9_000)),
+                                100),
+                          intPermutation);
+        assertArrayEquals(shift(stableArgsort(Arrays.copyOfRange(longKeys,
+                                                                 100,
+                                                                 9_000)),
+                                100),
+                          longPermutation);
+    }
+    
+    @Test
+    void permutesByArgsort() {
+        Random random = new Random(4L);
+        long[] keys = TestInputs.createLongArray(Kind.RANDOM, 5_000, random);
+        int[] ints = TestInputs.createIntArray(Kind.RANDOM, 5_000, random);
+        double[] doubles = new double[5_000];
+        Arrays.setAll(doubles, i -> random.nextDouble());
+        
+        int[] permutation = LsdRadixsort.argsort(keys, 10, 4_990);
+        int[] expectedInts = ints.clone();
+        double[] expectedDoubles = doubles.clone();
+        long[] expectedKeys = keys.clone();
+        
+        for (int i = 0; i != permutation.length; i++) {
+            expectedInts[10 + i] = ints[permutation[i]];
+            expectedDoubles[10 + i] = doubles[permutation[i]];
+            expectedKeys[10 + i] = keys[permutation[i]];
+        }
+        
+        LsdRadixsort.permute(ints, permutation, 10);
+        LsdRadixsort.permute(doubles, permutation, 10);
+        LsdRadixsort.permute(keys, permutation, 10);
+        assertArrayEquals(expectedInts, ints);
+        assertArrayEquals(expectedDoubles, doubles);
+        assertArrayEquals(expectedKeys, keys);
+        
+        long[] sortedRange = Arrays.copyOfRange(keys, 10, 4_990);
+        long[] expectedRange = sortedRange.clone();
+        Arrays.sort(expectedRange);
+        assertArrayEquals(expectedRange, sortedRange);
+    }
+    
+    /**
+     * Returns the permutation stably sorting {@code keys}.
+     * 
+     * @param keys the keys.
+     * @return the sorting permutation.
+     */
+    private static int[] stableArgsort(int[] keys) {
+        return IntStream.range(0, keys.length)
+                        .boxed()
+                        .sorted(Comparator.comparingInt(i -> keys[i]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+    }
+    
+    /**
+     * Returns the permutation stably sorting {@code keys}.
+     * 
+     * @param keys the keys.
+     * @return the sorting permutation.
+     */
+    private static int[] stableArgsort(long[] keys) {
+        return IntStream.range(0, keys.length)
+                        .boxed()
+                        .sorted(Comparator.comparingLong(i -> keys[i]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+    }
+    
+    /**
+     * Adds {@code offset} to each index of {@code permutation}.
+     * 
+     * @param permutation the permutation.
+     * @param offset      the offset to add.
+     * @return the shifted permutation.
+     */
+    private static int[] shift(int[] permutation, int offset) {
+        return Arrays.stream(permutation).map(i -> i + offset).toArray();
+    }
+}
@@ -0,0 +1,165 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the sequential and the parallel sorting of {@code int} and
+ * {@code long} arrays against {@code Arrays.sort}.
+ */
+public class LsdRadixsortTest {
+    
+    /**
+     * The length of the arrays sorted in parallel, long enough to be split
+     * into several chunks.
+     */
+    private static final int PARALLEL_LENGTH = 300_000;
+    
+    private static ForkJoinPool pool;
+    
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+    
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+    
+    @ParameterizedTest
+    @EnumSource(Kind.class)
+    void sortsIntArrays(Kind kind) {
+        Random random = new Random(1L);
+        
+        for (int length : TestInputs.LENGTHS) {
+            int[] array = TestInputs.createIntArray(kind, length, random);
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            LsdRadixsort.sort(array);
+            assertArrayEquals(expected, array, "length " + length);
+        }
+    }
+    
+    @ParameterizedTest
+    @EnumSource(Kind.class)
+    void sortsLongArrays(Kind kind) {
+        Random random = new Random(2L);
+        
+        for (int length : TestInputs.LENGTHS) {
+            long[] array = TestInputs.createLongArray(kind, length, random);
+            long[] expected = array.clone();
+            Arrays.sort(expected);
+            LsdRadixsort.sort(array);
+            assertArrayEquals(expected, array, "length " + length);
+        }
+    }
+    
+    @Test
+    void sortsSixteenBitDigitRanges() {
+        Random random = new Random(3L);
+        int length = 5_000_000;
+        int[] intArray = TestInputs.createIntArray(Kind.RANDOM, length, random);
+        long[] longArray =
+                TestInputs.createLongArray(Kind.RANDOM, length, random);
+        
+        int[] intExpected = intArray.clone();
+        long[] longExpected = longArray.clone();
+        Arrays.sort(intExpected);
+        Arrays.sort(longExpected);
+        LsdRadixsort.sort(intArray);
+        LsdRadixsort.sort(longArray);
+        assertArrayEquals(intExpected, intArray);
+        assertArrayEquals(longExpected, longArray);
+    }
+    
+    @Test
+    void sortsOnlyTheRange() {
+        Random random = new Random(4L);
+        
+        for (int length : TestInputs.LENGTHS) {
+            int fromIndex = length / 5;
+            int toIndex = length - length / 7;
+            int[] intArray =
+                    TestInputs.createIntArray(Kind.RANDOM, length, random);
+            long[] longArray =
+                    TestInputs.createLongArray(Kind.RANDOM, length, random);
+            
+            int[] intExpected = intArray.clone();
+            long[] longExpected = longArray.clone();
+            Arrays.sort(intExpected, fromIndex, toIndex);
+            Arrays.sort(longExpected, fromIndex, toIndex);
+            LsdRadixsort.sort(intArray, fromIndex, toIndex);
+            LsdRadixsort.sort(longArray, fromIndex, toIndex);
+            assertArrayEquals(intExpected, intArray, "length " + length);
+            assertArrayEquals(longExpected, longArray, "length " + length);
+        }
+    }
+    
+    @ParameterizedTest
+    @EnumSource(Kind.class)
+    void parallelSortsIntArrays(Kind kind) {
+        Random random = new Random(5L);
+        int[] array = TestInputs.createIntArray(kind, PARALLEL_LENGTH, random);
+        int[] expected = array.clone();
+        Arrays.sort(expected, 1_000, PARALLEL_LENGTH - 1_000);
+        LsdRadixsort.parallelSort(array, 1_000, PARALLEL_LENGTH - 1_000, pool);
+        assertArrayEquals(expected, array);
+    }
+    
+    @ParameterizedTest
+    @EnumSource(Kind.class)
+    void parallelSortsLongArrays(Kind kind) {
+        Random random = new Random(6L);
+        long[] array =
+                TestInputs.createLongArray(kind, PARALLEL_LENGTH, random);
+        long[] expected = array.clone();
+        Arrays.sort(expected, 1_000, PARALLEL_LENGTH - 1_000);
+        LsdRadixsort.parallelSort(array, 1_000, PARALLEL_LENGTH - 1_000, pool);
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    void parallelSortsShortArraysSequentially() {
+        Random random = new Random(7L);
+        
+        for (int length : new int[]{ 0, 1, 100, 20_000 }) {
+            int[] intArray =
+                    TestInputs.createIntArray(Kind.RANDOM, length, random);
+            long[] longArray =
+                    TestInputs.createLongArray(Kind.RANDOM, length, random);
+            
+            int[] intExpected = intArray.clone();
+            long[] longExpected = longArray.clone();
+            Arrays.sort(intExpected);
+            Arrays.sort(longExpected);
+            LsdRadixsort.parallelSort(intArray, pool);
+            LsdRadixsort.parallelSort(longArray);
+            assertArrayEquals(intExpected, intArray);
+            assertArrayEquals(longExpected, longArray);
+        }
+    }
+    
+    @Test
+    void rejectsInvalidRanges() {
+        int[] array = new int[10];
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> LsdRadixsort.sort(array, 5, 4));
+        assertThrows(IllegalArgumentException.class,
+                     () -> LsdRadixsort.sort(array, -1, 4));
+        assertThrows(IllegalArgumentException.class,
+                     () -> LsdRadixsort.sort(array, 0, 11));
+        assertThrows(NullPointerException.class,
+                     () -> LsdRadixsort.parallelSort(array, 0, 10, null));
+    }
+}
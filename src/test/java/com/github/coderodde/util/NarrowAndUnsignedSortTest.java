@@ -0,0 +1,124 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Tests the {@code byte}, {@code short} and {@code char} sorts against
+ * {@code Arrays.sort} and the unsigned sorts against the unsigned order of
+ * {@code Integer} and {@code Long}.
+ */
+public class NarrowAndUnsignedSortTest {
+    
+    @Test
+    void sortsNarrowTypes() {
+        Random random = new Random(1L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                int[] source = TestInputs.createIntArray(kind,
+                                                         length + 2,
+                                                         random);
+                byte[] bytes = new byte[source.length];
+                short[] shorts = new short[source.length];
+                char[] chars = new char[source.length];
+                
+                for (int i = 0; i != source.length; i++) {
+                    bytes[i] = (byte) source[i];
+                    shorts[i] = (short) source[i];
+                    chars[i] = (char) source[i];
+                }
+                
+                byte[] expectedBytes = bytes.clone();
+                short[] expectedShorts = shorts.clone();
+                char[] expectedChars = chars.clone();
+                Arrays.sort(expectedBytes, 1, length + 1);
+                Arrays.sort(expectedShorts, 1, length + 1);
+                Arrays.sort(expectedChars, 1, length + 1);
+                LsdRadixsort.sort(bytes, 1, length + 1);
+                LsdRadixsort.sort(shorts, 1, length + 1);
+                LsdRadixsort.sort(chars, 1, length + 1);
+                assertArrayEquals(expectedBytes, bytes, kind + ", " + length);
+                assertArrayEquals(expectedShorts, shorts, kind + ", " + length);
+                assertArrayEquals(expectedChars, chars, kind + ", " + length);
+            }
+        }
+    }
+    
+    @Test
+    void sortsUnsignedInts() {
+        Random random = new Random(2L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                int[] array = TestInputs.createIntArray(kind,
+                                                        length + 2,
+                                                        random);
+                int[] expected = array.clone();
+                sortUnsignedReference(expected, 1, length + 1);
+                LsdRadixsort.sortUnsigned(array, 1, length + 1);
+                assertArrayEquals(expected, array, kind + ", " + length);
+            }
+        }
+    }
+    
+    @Test
+    void sortsUnsignedLongs() {
+        Random random = new Random(3L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                long[] array = TestInputs.createLongArray(kind,
+                                                          length + 2,
+                                                          random);
+                long[] expected = array.clone();
+                sortUnsignedReference(expected, 1, length + 1);
+                LsdRadixsort.sortUnsigned(array, 1, length + 1);
+                assertArrayEquals(expected, array, kind + ", " + length);
+            }
+        }
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} by
+     * {@code Integer.compareUnsigned}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range.
+     */
+    private static void sortUnsignedReference(int[] array,
+                                              int fromIndex,
+                                              int toIndex) {
+        Integer[] boxed = new Integer[toIndex - fromIndex];
+        Arrays.setAll(boxed, i -> array[fromIndex + i]);
+        Arrays.sort(boxed, Integer::compareUnsigned);
+        
+        for (int i = 0; i != boxed.length; i++) {
+            array[fromIndex + i] = boxed[i];
+        }
+    }
+    
+    /**
+     * Sorts the range {@code array[fromIndex ... toIndex - 1]} by
+     * {@code Long.compareUnsigned}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the sorting range.
+     * @param toIndex   the ending, exclusive index of the sorting range.
+     */
+    private static void sortUnsignedReference(long[] array,
+                                              int fromIndex,
+                                              int toIndex) {
+        Long[] boxed = new Long[toIndex - fromIndex];
+        Arrays.setAll(boxed, i -> array[fromIndex + i]);
+        Arrays.sort(boxed, Long::compareUnsigned);
+        
+        for (int i = 0; i != boxed.length; i++) {
+            array[fromIndex + i] = boxed[i];
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests sorting objects by their {@code int} and {@code long} keys against
+ * the stable {@code Arrays.sort} with a key comparator.
+ */
+public class ObjectKeySortTest {
+    
+    /**
+     * An element with an {@code int} and a {@code long} key and an identity
+     * revealing the stability of the sort.
+     * 
+     * @param intKey  the {@code int} key.
+     * @param longKey the {@code long} key.
+     * @param id      the original position of the element.
+     */
+    private record Item(int intKey, long longKey, int id) {}
+    
+    @Test
+    void sortsArraysByIntKey() {
+        Random random = new Random(1L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                Item[] array = createItems(kind, length + 2, random);
+                Item[] expected = array.clone();
+                Arrays.sort(expected,
+                            1,
+                            length + 1,
+                            Comparator.comparingInt(Item::intKey));
+                LsdRadixsort.sortByIntKey(array,
+                                          1,
+                                          length + 1,
+                                          item -> item.intKey);
+                assertArrayEquals(expected, array, kind + ", " + length);
+            }
+        }
+    }
+    
+    @Test
+    void sortsArraysByLongKey() {
+        Random random = new Random(2L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                Item[] array = createItems(kind, length + 2, random);
+                Item[] expected = array.clone();
+                Arrays.sort(expected,
+                            1,
+                            length + 1,
+                            Comparator.comparingLong(Item::longKey));
+                LsdRadixsort.sortByLongKey(array,
+                                           1,
+                                           length + 1,
+                                           item -> item.longKey);
+                assertArrayEquals(expected, array, kind + ", " + length);
+            }
+        }
+    }
+    
+    @Test
+    void sortsLists() {
+        Random random = new Random(3L);
+        Item[] items = createItems(Kind.FEW_DISTINCT, 20_000, random);
+        Item[] byIntKey = items.clone();
+        Item[] byLongKey = items.clone();
+        Arrays.sort(byIntKey,
+                    100,
+                    19_900,
+                    Comparator.comparingInt(Item::intKey));
+        Arrays.sort(byLongKey, Comparator.comparingLong(Item::longKey));
+        
+        List<Item> arrayList = new ArrayList<>(Arrays.asList(items));
+        List<Item> linkedList = new LinkedList<>(Arrays.asList(items));
+        LsdRadixsort.sortByIntKey(arrayList, 100, 19_900, Item::intKey);
+        LsdRadixsort.sortByLongKey(linkedList, Item::longKey);
+        
+        assertEquals(Arrays.asList(byIntKey), arrayList);
+        assertEquals(Arrays.asList(byLongKey), linkedList);
+    }
+    
+    /**
+     * Creates {@code length} items whose keys are of the given kind.
+     * 
+     * @param kind   the kind of the keys.
+     * @param length the number of items.
+     * @param random the source of randomness.
+     * @return the items.
+     */
+    private static Item[] createItems(Kind kind, int length, Random random) {
+        int[] intKeys = TestInputs.createIntArray(kind, length, random);
+        long[] longKeys = TestInputs.createLongArray(kind, length, random);
+        Item[] items = new Item[length];
+        
+        for (int i = 0; i != length; i++) {
+            items[i] = new Item(intKeys[i], longKeys[i], i);
+        }
+        
+        return items;
+    }
+}
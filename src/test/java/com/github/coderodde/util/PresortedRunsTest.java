@@ -0,0 +1,176 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Tests sorting ranges made of ascending and descending runs, which are
+ * merged instead of radix sorted as long as there are few of them.
+ */
+public class PresortedRunsTest {
+    
+    /**
+     * The numbers of runs tested, around each of the maximum run counts.
+     */
+    private static final int[] RUN_COUNTS = {
+        1, 2, 3, 4, 5, 7, 8, 9, 15, 16, 17, 100
+    };
+    
+    /**
+     * The lengths of the ranges.
+     */
+    private static final int[] LENGTHS = { 4_099, 70_000, 600_000 };
+    
+    @Test
+    void sortsIntRuns() {
+        Random random = new Random(1L);
+        
+        for (int length : LENGTHS) {
+            for (int runCount : RUN_COUNTS) {
+                int[] array = createIntRuns(length + 2, runCount, random);
+                int[] expected = array.clone();
+                Arrays.sort(expected, 1, length + 1);
+                LsdRadixsort.sort(array, 1, length + 1);
+                assertArrayEquals(expected,
+                                  array,
+                                  length + ", " + runCount + " runs");
+            }
+        }
+    }
+    
+    @Test
+    void sortsLongRuns() {
+        Random random = new Random(2L);
+        
+        for (int length : LENGTHS) {
+            for (int runCount : RUN_COUNTS) {
+                long[] array = createLongRuns(length + 2, runCount, random);
+                long[] expected = array.clone();
+                Arrays.sort(expected, 1, length + 1);
+                LsdRadixsort.sort(array, 1, length + 1);
+                assertArrayEquals(expected,
+                                  array,
+                                  length + ", " + runCount + " runs");
+            }
+        }
+    }
+    
+    @Test
+    void sortsUnsignedRuns() {
+        Random random = new Random(3L);
+        
+        for (int runCount : RUN_COUNTS) {
+            int[] ints = createIntRuns(70_000, runCount, random);
+            long[] longs = createLongRuns(70_000, runCount, random);
+            int[] expectedInts = ints.clone();
+            long[] expectedLongs = longs.clone();
+            
+            // Flipping the sign bits maps the unsigned order to the signed
+            // one:
+            flipSignBits(expectedInts);
+            flipSignBits(expectedLongs);
+            Arrays.sort(expectedInts);
+            Arrays.sort(expectedLongs);
+            flipSignBits(expectedInts);
+            flipSignBits(expectedLongs);
+            
+            LsdRadixsort.sortUnsigned(ints);
+            LsdRadixsort.sortUnsigned(longs);
+            assertArrayEquals(expectedInts, ints, runCount + " runs");
+            assertArrayEquals(expectedLongs, longs, runCount + " runs");
+        }
+    }
+    
+    /**
+     * Creates an {@code int} array made of {@code runCount} runs of about
+     * equal length, alternately ascending and descending, with duplicates.
+     * 
+     * @param length   the length of the array.
+     * @param runCount the number of runs.
+     * @param random   the source of randomness.
+     * @return the array.
+     */
+    private static int[] createIntRuns(int length,
+                                       int runCount,
+                                       Random random) {
+        int[] array = new int[length];
+        
+        for (int run = 0; run != runCount; run++) {
+            int runStart = (int) ((long) length * run / runCount);
+            int runEnd = (int) ((long) length * (run + 1) / runCount);
+            int value = random.nextInt();
+            
+            for (int i = runStart; i != runEnd; i++) {
+                array[i] = value;
+                value += random.nextInt(3);
+            }
+            
+            if (run % 2 == 1) {
+                reverse(array, runStart, runEnd);
+            }
+        }
+        
+        return array;
+    }
+    
+    /**
+     * Creates a {@code long} array made of {@code runCount} runs of about
+     * equal length, alternately ascending and descending, with duplicates.
+     * 
+     * @param length   the length of the array.
+     * @param runCount the number of runs.
+     * @param random   the source of randomness.
+     * @return the array.
+     */
+    private static long[] createLongRuns(int length,
+                                         int runCount,
+                                         Random random) {
+        int[] steps = createIntRuns(length, runCount, random);
+        long[] array = new long[length];
+        
+        for (int i = 0; i != length; i++) {
+            array[i] = (long) steps[i] << 31;
+        }
+        
+        return array;
+    }
+    
+    /**
+     * Reverses the range {@code array[fromIndex ... toIndex - 1]}.
+     * 
+     * @param array     the array holding the range.
+     * @param fromIndex the starting, inclusive index of the range.
+     * @param toIndex   the ending, exclusive index of the range.
+     */
+    private static void reverse(int[] array, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+    
+    /**
+     * Flips the sign bit of each element of {@code array}.
+     * 
+     * @param array the array to flip.
+     */
+    private static void flipSignBits(int[] array) {
+        for (int i = 0; i != array.length; i++) {
+            array[i] ^= Integer.MIN_VALUE;
+        }
+    }
+    
+    /**
+     * Flips the sign bit of each element of {@code array}.
+     * 
+     * @param array the array to flip.
+     */
+    private static void flipSignBits(long[] array) {
+        for (int i = 0; i != array.length; i++) {
+            array[i] ^= Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the accumulator against {@code Arrays.sort} of the added keys.
+ */
+public class RadixSortAccumulatorTest {
+    
+    @Test
+    void returnsSortedArray() {
+        Random random = new Random(1L);
+        RadixSortAccumulator accumulator = new RadixSortAccumulator();
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                long[] keys = TestInputs.createLongArray(kind, length, random);
+                addInBatches(accumulator, keys, random);
+                assertEquals(length, accumulator.size());
+                
+                Arrays.sort(keys);
+                assertArrayEquals(keys,
+                                  accumulator.toSortedArray(),
+                                  kind + ", " + length);
+                assertEquals(0L, accumulator.size());
+            }
+        }
+    }
+    
+    @Test
+    void iteratesInSortedOrder() {
+        Random random = new Random(2L);
+        RadixSortAccumulator accumulator = new RadixSortAccumulator();
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                long[] keys = TestInputs.createLongArray(kind, length, random);
+                addInBatches(accumulator, keys, random);
+                Arrays.sort(keys);
+                
+                PrimitiveIterator.OfLong iterator =
+                        accumulator.sortedIterator();
+                long[] iterated = new long[length];
+                
+                for (int i = 0; i != length; i++) {
+                    assertTrue(iterator.hasNext());
+                    iterated[i] = iterator.nextLong();
+                    
+                    // Only the keys of the buckets not reached yet remain:
+                    assertTrue(accumulator.size() <= length - i - 1);
+                }
+                
+                assertFalse(iterator.hasNext());
+                assertThrows(NoSuchElementException.class, iterator::nextLong);
+                assertArrayEquals(keys, iterated, kind + ", " + length);
+                assertEquals(0L, accumulator.size());
+            }
+        }
+    }
+    
+    @Test
+    void failsFastOnModificationDuringIteration() {
+        RadixSortAccumulator accumulator = new RadixSortAccumulator();
+        accumulator.addAll(new long[]{ 3L, -1L, Long.MAX_VALUE, 0L });
+        
+        PrimitiveIterator.OfLong iterator = accumulator.sortedIterator();
+        assertEquals(-1L, iterator.nextLong());
+        accumulator.add(2L);
+        assertThrows(ConcurrentModificationException.class,
+                     iterator::hasNext);
+        
+        iterator = accumulator.sortedIterator();
+        accumulator.clear();
+        assertThrows(ConcurrentModificationException.class,
+                     iterator::nextLong);
+    }
+    
+    @Test
+    void clearsKeys() {
+        RadixSortAccumulator accumulator = new RadixSortAccumulator();
+        accumulator.addAll(new long[]{ 5L, 1L, 7L, Long.MIN_VALUE }, 1, 3);
+        assertEquals(2L, accumulator.size());
+        
+        accumulator.clear();
+        assertEquals(0L, accumulator.size());
+        assertArrayEquals(new long[0], accumulator.toSortedArray());
+        assertThrows(IllegalArgumentException.class,
+                     () -> accumulator.addAll(new long[3], 2, 1));
+    }
+    
+    /**
+     * Adds {@code keys} to {@code accumulator} in batches of random lengths,
+     * alternating between single keys and ranges.
+     * 
+     * @param accumulator the accumulator to add to.
+     * @param keys        the keys to add.
+     * @param random      the source of randomness.
+     */
+    private static void addInBatches(RadixSortAccumulator accumulator,
+                                     long[] keys,
+                                     Random random) {
+        int fromIndex = 0;
+        
+        while (fromIndex != keys.length) {
+            if (random.nextBoolean()) {
+                accumulator.add(keys[fromIndex++]);
+            } else {
+                int toIndex =
+                        Math.min(keys.length,
+                                 fromIndex + random.nextInt(100_000));
+                accumulator.addAll(keys, fromIndex, toIndex);
+                fromIndex = toIndex;
+            }
+        }
+    }
+}
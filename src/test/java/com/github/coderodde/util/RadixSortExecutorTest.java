@@ -0,0 +1,136 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests sorting many arrays concurrently against {@code Arrays.sort}.
+ */
+public class RadixSortExecutorTest {
+    
+    @Test
+    void sortsSubmittedArrays() {
+        Random random = new Random(1L);
+        
+        try (RadixSortExecutor executor = new RadixSortExecutor(4)) {
+            List<int[]> intArrays = new ArrayList<>();
+            List<long[]> longArrays = new ArrayList<>();
+            List<CompletableFuture<int[]>> intFutures = new ArrayList<>();
+            List<CompletableFuture<long[]>> longFutures = new ArrayList<>();
+            
+            for (Kind kind : Kind.values()) {
+                for (int length : TestInputs.LENGTHS) {
+                    int[] intArray = TestInputs.createIntArray(kind,
+                                                               length + 2,
+                                                               random);
+                    long[] longArray = TestInputs.createLongArray(kind,
+                                                                  length + 2,
+                                                                  random);
+                    intArrays.add(intArray.clone());
+                    longArrays.add(longArray.clone());
+                    intFutures.add(executor.submit(intArray, 1, length + 1));
+                    longFutures.add(executor.submit(longArray, 1, length + 1));
+                }
+            }
+            
+            for (int i = 0; i != intArrays.size(); i++) {
+                int[] intExpected = intArrays.get(i);
+                long[] longExpected = longArrays.get(i);
+                Arrays.sort(intExpected, 1, intExpected.length - 1);
+                Arrays.sort(longExpected, 1, longExpected.length - 1);
+                assertArrayEquals(intExpected, intFutures.get(i).join());
+                assertArrayEquals(longExpected, longFutures.get(i).join());
+            }
+        }
+    }
+    
+    @Test
+    void sortsBatches() {
+        Random random = new Random(2L);
+        int[][] intArrays = new int[1_000][];
+        long[][] longArrays = new long[1_000][];
+        
+        for (int i = 0; i != intArrays.length; i++) {
+            // Mostly short arrays grouped into tasks, and a few long ones:
+            int length = i % 100 == 0 ? 200_000 : random.nextInt(500);
+            intArrays[i] =
+                    TestInputs.createIntArray(Kind.RANDOM, length, random);
+            longArrays[i] =
+                    TestInputs.createLongArray(Kind.RANDOM, length, random);
+        }
+        
+        int[][] intExpected = new int[intArrays.length][];
+        long[][] longExpected = new long[longArrays.length][];
+        
+        for (int i = 0; i != intArrays.length; i++) {
+            intExpected[i] = intArrays[i].clone();
+            longExpected[i] = longArrays[i].clone();
+            Arrays.sort(intExpected[i]);
+            Arrays.sort(longExpected[i]);
+        }
+        
+        try (RadixSortExecutor executor = new RadixSortExecutor()) {
+            executor.submitAll(intArrays).join();
+            executor.submitAll(longArrays).join();
+            executor.submitAll(new int[0][]).join();
+        }
+        
+        assertArrayEquals(intExpected, intArrays);
+        assertArrayEquals(longExpected, longArrays);
+    }
+    
+    @Test
+    void runsOnSuppliedExecutor() {
+        Random random = new Random(3L);
+        ExecutorService threads = Executors.newFixedThreadPool(3);
+        
+        try {
+            long[] array = TestInputs.createLongArray(Kind.RANDOM,
+                                                      100_000,
+                                                      random);
+            long[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            try (RadixSortExecutor executor = new RadixSortExecutor(threads)) {
+                assertSame(array, executor.submit(array).join());
+            }
+            
+            assertArrayEquals(expected, array);
+            assertFalse(threads.isShutdown());
+        } finally {
+            threads.shutdown();
+        }
+    }
+    
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new RadixSortExecutor(0));
+        assertThrows(NullPointerException.class,
+                     () -> new RadixSortExecutor(null));
+        
+        RadixSortExecutor executor = new RadixSortExecutor(1);
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> executor.submit(new int[10], 5, 4));
+        assertThrows(NullPointerException.class,
+                     () -> executor.submitAll(new long[1], null));
+        
+        executor.close();
+        
+        assertThrows(RejectedExecutionException.class,
+                     () -> executor.submit(new int[10]));
+    }
+}
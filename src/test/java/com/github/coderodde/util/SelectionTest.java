@@ -0,0 +1,192 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@code select}, {@code partialSort} and {@code topK} against the
+ * sorted ranges.
+ */
+public class SelectionTest {
+    
+    @Test
+    void selectsInts() {
+        Random random = new Random(1L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                if (length == 0) {
+                    continue;
+                }
+                
+                int[] array = TestInputs.createIntArray(kind,
+                                                        length + 2,
+                                                        random);
+                int[] sorted = array.clone();
+                Arrays.sort(sorted, 1, length + 1);
+                
+                for (int k : ranks(length, random)) {
+                    int[] copy = array.clone();
+                    int selected = LsdRadixsort.select(copy, 1, length + 1, k);
+                    assertEquals(sorted[1 + k], selected, kind + ", " + k);
+                    assertEquals(selected, copy[1 + k]);
+                    
+                    for (int i = 1; i != length + 1; i++) {
+                        assertTrue(i < 1 + k ? copy[i] <= selected :
+                                               copy[i] >= selected);
+                    }
+                    
+                    Arrays.sort(copy, 1, length + 1);
+                    assertArrayEquals(sorted, copy);
+                }
+            }
+        }
+    }
+    
+    @Test
+    void selectsLongs() {
+        Random random = new Random(2L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                if (length == 0) {
+                    continue;
+                }
+                
+                long[] array = TestInputs.createLongArray(kind,
+                                                          length + 2,
+                                                          random);
+                long[] sorted = array.clone();
+                Arrays.sort(sorted, 1, length + 1);
+                
+                for (int k : ranks(length, random)) {
+                    long[] copy = array.clone();
+                    long selected =
+                            LsdRadixsort.select(copy, 1, length + 1, k);
+                    assertEquals(sorted[1 + k], selected, kind + ", " + k);
+                    assertEquals(selected, copy[1 + k]);
+                    
+                    for (int i = 1; i != length + 1; i++) {
+                        assertTrue(i < 1 + k ? copy[i] <= selected :
+                                               copy[i] >= selected);
+                    }
+                    
+                    Arrays.sort(copy, 1, length + 1);
+                    assertArrayEquals(sorted, copy);
+                }
+            }
+        }
+    }
+    
+    @Test
+    void sortsPartially() {
+        Random random = new Random(3L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                int[] ints = TestInputs.createIntArray(kind, length, random);
+                long[] longs = TestInputs.createLongArray(kind, length, random);
+                int[] sortedInts = ints.clone();
+                long[] sortedLongs = longs.clone();
+                Arrays.sort(sortedInts);
+                Arrays.sort(sortedLongs);
+                
+                for (int k : new int[]{ 0, length / 3, length }) {
+                    int[] intCopy = ints.clone();
+                    long[] longCopy = longs.clone();
+                    LsdRadixsort.partialSort(intCopy, 0, length, k);
+                    LsdRadixsort.partialSort(longCopy, 0, length, k);
+                    assertArrayEquals(Arrays.copyOf(sortedInts, k),
+                                      Arrays.copyOf(intCopy, k),
+                                      kind + ", " + k);
+                    assertArrayEquals(Arrays.copyOf(sortedLongs, k),
+                                      Arrays.copyOf(longCopy, k),
+                                      kind + ", " + k);
+                    
+                    Arrays.sort(intCopy);
+                    Arrays.sort(longCopy);
+                    assertArrayEquals(sortedInts, intCopy);
+                    assertArrayEquals(sortedLongs, longCopy);
+                }
+            }
+        }
+    }
+    
+    @Test
+    void returnsTopK() {
+        Random random = new Random(4L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                int[] ints = TestInputs.createIntArray(kind, length, random);
+                long[] longs = TestInputs.createLongArray(kind, length, random);
+                int[] intsCopy = ints.clone();
+                long[] longsCopy = longs.clone();
+                int[] sortedInts = ints.clone();
+                long[] sortedLongs = longs.clone();
+                Arrays.sort(sortedInts);
+                Arrays.sort(sortedLongs);
+                
+                for (int k : new int[]{ 0, 1, length / 2, length }) {
+                    if (k > length) {
+                        continue;
+                    }
+                    
+                    int[] expectedInts = new int[k];
+                    long[] expectedLongs = new long[k];
+                    
+                    for (int i = 0; i != k; i++) {
+                        expectedInts[i] = sortedInts[length - 1 - i];
+                        expectedLongs[i] = sortedLongs[length - 1 - i];
+                    }
+                    
+                    assertArrayEquals(expectedInts,
+                                      LsdRadixsort.topK(ints, k),
+                                      kind + ", " + k);
+                    assertArrayEquals(expectedLongs,
+                                      LsdRadixsort.topK(longs, k),
+                                      kind + ", " + k);
+                    assertArrayEquals(intsCopy, ints);
+                    assertArrayEquals(longsCopy, longs);
+                }
+            }
+        }
+    }
+    
+    @Test
+    void rejectsInvalidRanks() {
+        int[] ints = new int[10];
+        long[] longs = new long[10];
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> LsdRadixsort.select(ints, 10));
+        assertThrows(IllegalArgumentException.class,
+                     () -> LsdRadixsort.select(longs, -1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> LsdRadixsort.partialSort(ints, 0, 10, 11));
+        assertThrows(IllegalArgumentException.class,
+                     () -> LsdRadixsort.topK(longs, 11));
+        assertThrows(IllegalArgumentException.class,
+                     () -> LsdRadixsort.select(new int[0], 0));
+    }
+    
+    /**
+     * Returns the ranks to select within a range of length {@code length}:
+     * the smallest, the largest, the median and a random one.
+     * 
+     * @param length the length of the range. Must be positive.
+     * @param random the source of randomness.
+     * @return the ranks.
+     */
+    private static int[] ranks(int length, Random random) {
+        return new int[]{
+            0, length - 1, length / 2, random.nextInt(length)
+        };
+    }
+}
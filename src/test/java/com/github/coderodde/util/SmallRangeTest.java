@@ -0,0 +1,54 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Tests the sorting of every range length up to beyond the small range
+ * thresholds. The build runs this test once more with both thresholds set to
+ * zero, so that the same ranges are radix sorted.
+ */
+public class SmallRangeTest {
+    
+    /**
+     * The maximum range length tested, above both default thresholds.
+     */
+    private static final int MAXIMUM_LENGTH = 300;
+    
+    @Test
+    void sortsEachShortIntRange() {
+        Random random = new Random(1L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length = 0; length <= MAXIMUM_LENGTH; length++) {
+                int[] array = TestInputs.createIntArray(kind,
+                                                        length + 2,
+                                                        random);
+                int[] expected = array.clone();
+                Arrays.sort(expected, 1, length + 1);
+                LsdRadixsort.sort(array, 1, length + 1);
+                assertArrayEquals(expected, array, kind + ", " + length);
+            }
+        }
+    }
+    
+    @Test
+    void sortsEachShortLongRange() {
+        Random random = new Random(2L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length = 0; length <= MAXIMUM_LENGTH; length++) {
+                long[] array = TestInputs.createLongArray(kind,
+                                                          length + 2,
+                                                          random);
+                long[] expected = array.clone();
+                Arrays.sort(expected, 1, length + 1);
+                LsdRadixsort.sort(array, 1, length + 1);
+                assertArrayEquals(expected, array, kind + ", " + length);
+            }
+        }
+    }
+}
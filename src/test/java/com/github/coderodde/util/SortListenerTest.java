@@ -0,0 +1,125 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.SortStatistics.Strategy;
+import com.github.coderodde.util.TestInputs.Kind;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the statistics handed to the sort listener.
+ */
+public class SortListenerTest {
+    
+    /**
+     * The statistics received by the listener.
+     */
+    private final List<SortStatistics> statistics = new ArrayList<>();
+    
+    @BeforeEach
+    void installListener() {
+        LsdRadixsort.setSortListener(statistics::add);
+    }
+    
+    @AfterEach
+    void uninstallListener() {
+        LsdRadixsort.setSortListener(null);
+    }
+    
+    @Test
+    void reportsSmallRanges() {
+        int[] array = { 3, 1, 2, 5, 4 };
+        LsdRadixsort.sort(array);
+        
+        SortStatistics last = getOnlyStatistics();
+        assertSame(int.class, last.getElementType());
+        assertEquals(5, last.getRangeLength());
+        assertEquals(Strategy.SMALL_RANGE, last.getStrategy());
+        assertEquals(0, last.getPassesRun());
+    }
+    
+    @Test
+    void reportsPresortedRanges() {
+        Random random = new Random(1L);
+        
+        for (Kind kind : new Kind[]{ Kind.PRESORTED, Kind.REVERSED }) {
+            long[] array = TestInputs.createLongArray(kind, 100_000, random);
+            LsdRadixsort.sort(array);
+            
+            SortStatistics last = getOnlyStatistics();
+            assertSame(long.class, last.getElementType());
+            assertEquals(100_000, last.getRangeLength());
+            assertEquals(Strategy.PRESORTED, last.getStrategy());
+            assertEquals(0, last.getPassesRun());
+        }
+    }
+    
+    @Test
+    void reportsRadixSortPasses() {
+        Random random = new Random(2L);
+        int[] array = TestInputs.createIntArray(Kind.RANDOM, 100_000, random);
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        LsdRadixsort.sort(array);
+        assertArrayEquals(expected, array);
+        
+        SortStatistics last = getOnlyStatistics();
+        int passes = (Integer.SIZE + last.getDigitBits() - 1)
+                   / last.getDigitBits();
+        assertEquals(Strategy.RADIX, last.getStrategy());
+        assertEquals(passes,
+                     last.getPassesRun() + last.getPassesSkipped());
+        assertEquals(last.getPassesRun(), last.getPassNanos().length);
+        assertTrue(last.getTotalNanos() >= last.getHistogramNanos());
+        assertTrue(last.getBytesAllocated() >= 0L);
+    }
+    
+    @Test
+    void reportsSkippedPasses() {
+        Random random = new Random(3L);
+        long[] array = new long[100_000];
+        
+        for (int i = 0; i != array.length; i++) {
+            array[i] = random.nextInt(1 << 16);
+        }
+        
+        LsdRadixsort.sort(array);
+        
+        SortStatistics last = getOnlyStatistics();
+        assertEquals(Strategy.RADIX, last.getStrategy());
+        assertTrue(last.getPassesSkipped() > 0);
+    }
+    
+    @Test
+    void uninstallsListener() {
+        SortListener listener = LsdRadixsort.getSortListener();
+        LsdRadixsort.setSortListener(null);
+        assertNull(LsdRadixsort.getSortListener());
+        
+        LsdRadixsort.sort(new int[100_000]);
+        assertTrue(statistics.isEmpty());
+        
+        LsdRadixsort.setSortListener(listener);
+        assertSame(listener, LsdRadixsort.getSortListener());
+    }
+    
+    /**
+     * Returns the statistics of the only sort since the last call, and
+     * forgets them.
+     * 
+     * @return the statistics.
+     */
+    private SortStatistics getOnlyStatistics() {
+        assertEquals(1, statistics.size());
+        return statistics.remove(0);
+    }
+}
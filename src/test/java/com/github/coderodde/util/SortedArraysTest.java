@@ -0,0 +1,286 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.IntBinaryOperator;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the operations on sorted arrays against naive implementations
+ * counting the occurrences of each element.
+ */
+public class SortedArraysTest {
+    
+    /**
+     * The numbers of arrays merged, covering each merging strategy.
+     */
+    private static final int[] ARRAY_COUNTS = { 0, 1, 2, 3, 4, 5, 17, 100 };
+    
+    /**
+     * The lengths of the operands of the set operations, including a short
+     * operand against a long one.
+     */
+    private static final int[][] OPERAND_LENGTHS = {
+        { 0, 0 }, { 0, 10 }, { 1, 1 }, { 100, 100 }, { 5, 100_000 },
+        { 100_000, 5 }, { 50_000, 70_000 }
+    };
+    
+    @Test
+    void mergesInts() {
+        Random random = new Random(1L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int arrayCount : ARRAY_COUNTS) {
+                int[][] arrays = new int[arrayCount][];
+                
+                for (int i = 0; i != arrayCount; i++) {
+                    arrays[i] = createSortedIntArray(kind,
+                                                     random.nextInt(1_000),
+                                                     random);
+                }
+                
+                int[] expected = Arrays.stream(arrays)
+                                       .flatMapToInt(Arrays::stream)
+                                       .sorted()
+                                       .toArray();
+                assertArrayEquals(expected,
+                                  SortedArrays.merge(arrays),
+                                  kind + ", " + arrayCount);
+            }
+        }
+    }
+    
+    @Test
+    void mergesLongs() {
+        Random random = new Random(2L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int arrayCount : ARRAY_COUNTS) {
+                long[][] arrays = new long[arrayCount][];
+                
+                for (int i = 0; i != arrayCount; i++) {
+                    arrays[i] = createSortedLongArray(kind,
+                                                      random.nextInt(1_000),
+                                                      random);
+                }
+                
+                long[] expected = Arrays.stream(arrays)
+                                        .flatMapToLong(Arrays::stream)
+                                        .sorted()
+                                        .toArray();
+                long[] target = new long[expected.length + 3];
+                SortedArrays.merge(arrays, target, 2);
+                assertArrayEquals(expected,
+                                  Arrays.copyOfRange(target,
+                                                     2,
+                                                     2 + expected.length),
+                                  kind + ", " + arrayCount);
+            }
+        }
+    }
+    
+    @Test
+    void removesDuplicates() {
+        Random random = new Random(3L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                int[] ints = createSortedIntArray(kind, length, random);
+                long[] longs = createSortedLongArray(kind, length, random);
+                int[] intsExpected = Arrays.stream(ints).distinct().toArray();
+                long[] longsExpected =
+                        Arrays.stream(longs).distinct().toArray();
+                
+                int intsLength = SortedArrays.unique(ints);
+                int longsLength = SortedArrays.unique(longs);
+                assertArrayEquals(intsExpected,
+                                  Arrays.copyOf(ints, intsLength));
+                assertArrayEquals(longsExpected,
+                                  Arrays.copyOf(longs, longsLength));
+            }
+        }
+    }
+    
+    @Test
+    void combinesInts() {
+        Random random = new Random(4L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int[] lengths : OPERAND_LENGTHS) {
+                int[] a = createSortedIntArray(kind, lengths[0], random);
+                int[] b = createSortedIntArray(kind, lengths[1], random);
+                long[] aLongs = Arrays.stream(a).asLongStream().toArray();
+                long[] bLongs = Arrays.stream(b).asLongStream().toArray();
+                String message = kind + ", " + Arrays.toString(lengths);
+                
+                assertArrayEquals(combine(aLongs, bLongs, Math::min),
+                                  toLongs(SortedArrays.intersect(a, b)),
+                                  message);
+                assertArrayEquals(combine(aLongs, bLongs, Math::max),
+                                  toLongs(SortedArrays.union(a, b)),
+                                  message);
+                assertArrayEquals(
+                        combine(aLongs, bLongs, (m, n) -> Math.max(m - n, 0)),
+                        toLongs(SortedArrays.difference(a, b)),
+                        message);
+            }
+        }
+    }
+    
+    @Test
+    void combinesLongRanges() {
+        Random random = new Random(5L);
+        
+        for (Kind kind : Kind.values()) {
+            for (int[] lengths : OPERAND_LENGTHS) {
+                long[] a = createSortedLongArray(kind, lengths[0] + 2, random);
+                long[] b = createSortedLongArray(kind, lengths[1] + 2, random);
+                long[] aRange = Arrays.copyOfRange(a, 1, lengths[0] + 1);
+                long[] bRange = Arrays.copyOfRange(b, 1, lengths[1] + 1);
+                long[] target = new long[lengths[0] + lengths[1] + 1];
+                String message = kind + ", " + Arrays.toString(lengths);
+                
+                int length = SortedArrays.intersect(a, 1, lengths[0] + 1,
+                                                    b, 1, lengths[1] + 1,
+                                                    target, 1);
+                assertArrayEquals(combine(aRange, bRange, Math::min),
+                                  Arrays.copyOfRange(target, 1, 1 + length),
+                                  message);
+                
+                length = SortedArrays.union(a, 1, lengths[0] + 1,
+                                            b, 1, lengths[1] + 1,
+                                            target, 1);
+                assertArrayEquals(combine(aRange, bRange, Math::max),
+                                  Arrays.copyOfRange(target, 1, 1 + length),
+                                  message);
+                
+                length = SortedArrays.difference(a, 1, lengths[0] + 1,
+                                                 b, 1, lengths[1] + 1,
+                                                 target, 1);
+                assertArrayEquals(
+                        combine(aRange, bRange, (m, n) -> Math.max(m - n, 0)),
+                        Arrays.copyOfRange(target, 1, 1 + length),
+                        message);
+            }
+        }
+    }
+    
+    @Test
+    void rejectsTooShortTargets() {
+        int[] a = { 1, 2, 3 };
+        int[] b = { 4, 5 };
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> SortedArrays.union(a, 0, 3, b, 0, 2, new int[4], 0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> SortedArrays.merge(new int[][]{ a, b },
+                                              new int[5],
+                                              1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> SortedArrays.intersect(a, 0, 3,
+                                                  b, 0, 2,
+                                                  new int[2], -1));
+        assertEquals(0, SortedArrays.intersect(a, 0, 3,
+                                               b, 0, 2,
+                                               new int[2], 0));
+    }
+    
+    /**
+     * Combines the multisets {@code a} and {@code b} naively: each element
+     * occurs in the result as many times as {@code multiplicity} returns for
+     * its numbers of occurrences in {@code a} and in {@code b}.
+     * 
+     * @param a            the first sorted array.
+     * @param b            the second sorted array.
+     * @param multiplicity the function of the numbers of occurrences.
+     * @return the sorted result.
+     */
+    private static long[] combine(long[] a,
+                                  long[] b,
+                                  IntBinaryOperator multiplicity) {
+        Map<Long, Integer> aCounts = count(a);
+        Map<Long, Integer> bCounts = count(b);
+        TreeMap<Long, Integer> counts = new TreeMap<>(aCounts);
+        counts.putAll(bCounts);
+        
+        long[] result = new long[a.length + b.length];
+        int length = 0;
+        
+        for (long element : counts.keySet()) {
+            int occurrences = 
+                    multiplicity.applyAsInt(
+                            aCounts.getOrDefault(element, 0),
+                            bCounts.getOrDefault(element, 0));
+            
+            for (int i = 0; i != occurrences; i++) {
+                result[length++] = element;
+            }
+        }
+        
+        return Arrays.copyOf(result, length);
+    }
+    
+    /**
+     * Counts the occurrences of each element of {@code array}.
+     * 
+     * @param array the array to count.
+     * @return the map from each element to its number of occurrences.
+     */
+    private static Map<Long, Integer> count(long[] array) {
+        Map<Long, Integer> counts = new TreeMap<>();
+        
+        for (long element : array) {
+            counts.merge(element, 1, Integer::sum);
+        }
+        
+        return counts;
+    }
+    
+    /**
+     * Widens {@code array} to {@code long}s.
+     * 
+     * @param array the array to widen.
+     * @return the widened array.
+     */
+    private static long[] toLongs(int[] array) {
+        return Arrays.stream(array).asLongStream().toArray();
+    }
+    
+    /**
+     * Creates a sorted {@code int} array of the given kind.
+     * 
+     * @param kind   the kind of the data before sorting.
+     * @param length the length of the array.
+     * @param random the source of randomness.
+     * @return the sorted array.
+     */
+    private static int[] createSortedIntArray(Kind kind,
+                                              int length,
+                                              Random random) {
+        int[] array = TestInputs.createIntArray(kind, length, random);
+        Arrays.sort(array);
+        return array;
+    }
+    
+    /**
+     * Creates a sorted {@code long} array of the given kind.
+     * 
+     * @param kind   the kind of the data before sorting.
+     * @param length the length of the array.
+     * @param random the source of randomness.
+     * @return the sorted array.
+     */
+    private static long[] createSortedLongArray(Kind kind,
+                                                int length,
+                                                Random random) {
+        long[] array = TestInputs.createLongArray(kind, length, random);
+        Arrays.sort(array);
+        return array;
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the {@code String} sort against {@code Arrays.sort} and the byte
+ * string sort against {@code Arrays.compareUnsigned}.
+ */
+public class StringSortTest {
+    
+    /**
+     * The lengths of the arrays, around the insertion sort threshold.
+     */
+    private static final int[] LENGTHS = {
+        0, 1, 2, 3, 31, 32, 33, 1_000, 100_000
+    };
+    
+    /**
+     * The alphabets of the strings: two letters, so that the strings share
+     * long prefixes, the Latin-1 range and the whole {@code char} range.
+     */
+    private static final int[] ALPHABET_SIZES = { 2, 256, 1 << 16 };
+    
+    @Test
+    void sortsStrings() {
+        Random random = new Random(1L);
+        
+        for (int alphabetSize : ALPHABET_SIZES) {
+            for (int length : LENGTHS) {
+                String[] array = new String[length + 2];
+                String prefix = createString(random.nextInt(100),
+                                             alphabetSize,
+                                             random);
+                
+                for (int i = 0; i != array.length; i++) {
+                    String suffix = createString(random.nextInt(20),
+                                                 alphabetSize,
+                                                 random);
+                    array[i] = random.nextBoolean() ? prefix + suffix :
+                                                      suffix;
+                }
+                
+                String[] expected = array.clone();
+                Arrays.sort(expected, 1, length + 1);
+                LsdRadixsort.sort(array, 1, length + 1);
+                assertArrayEquals(expected,
+                                  array,
+                                  alphabetSize + ", " + length);
+            }
+        }
+    }
+    
+    @Test
+    void sortsByteStrings() {
+        Random random = new Random(2L);
+        
+        for (int alphabetSize : new int[]{ 2, 256 }) {
+            for (int length : LENGTHS) {
+                byte[][] array = new byte[length + 2][];
+                byte[] prefix = createBytes(random.nextInt(100),
+                                            alphabetSize,
+                                            random);
+                
+                for (int i = 0; i != array.length; i++) {
+                    byte[] suffix = createBytes(random.nextInt(20),
+                                                alphabetSize,
+                                                random);
+                    array[i] = random.nextBoolean() ?
+                            concatenate(prefix, suffix) :
+                            suffix;
+                }
+                
+                byte[][] expected = array.clone();
+                Arrays.sort(expected,
+                            1,
+                            length + 1,
+                            Arrays::compareUnsigned);
+                LsdRadixsort.sort(array, 1, length + 1);
+                assertArrayEquals(expected,
+                                  array,
+                                  alphabetSize + ", " + length);
+            }
+        }
+    }
+    
+    @Test
+    void sortsEqualAndEmptyStrings() {
+        String[] strings = new String[1_000];
+        byte[][] byteStrings = new byte[1_000][];
+        
+        for (int i = 0; i != strings.length; i++) {
+            strings[i] = i % 3 == 0 ? "" : "same";
+            byteStrings[i] = i % 3 == 0 ? new byte[0] : new byte[]{ -1, 0 };
+        }
+        
+        String[] expectedStrings = strings.clone();
+        byte[][] expectedByteStrings = byteStrings.clone();
+        Arrays.sort(expectedStrings);
+        Arrays.sort(expectedByteStrings, Arrays::compareUnsigned);
+        LsdRadixsort.sort(strings);
+        LsdRadixsort.sort(byteStrings);
+        assertArrayEquals(expectedStrings, strings);
+        assertArrayEquals(expectedByteStrings, byteStrings);
+    }
+    
+    @Test
+    void rejectsNullStrings() {
+        String[] strings = new String[100];
+        Arrays.fill(strings, "a");
+        strings[50] = null;
+        
+        assertThrows(NullPointerException.class,
+                     () -> LsdRadixsort.sort(strings));
+    }
+    
+    /**
+     * Creates a random string over {@code alphabetSize} consecutive 
+     * {@code char}s. The two-letter alphabet is {@code 'a'} and {@code 'b'}.
+     * 
+     * @param length       the length of the string.
+     * @param alphabetSize the number of distinct {@code char}s.
+     * @param random       the source of randomness.
+     * @return the string.
+     */
+    private static String createString(int length,
+                                       int alphabetSize,
+                                       Random random) {
+        char[] chars = new char[length];
+        int firstChar = alphabetSize == 2 ? 'a' : 0;
+        
+        for (int i = 0; i != length; i++) {
+            chars[i] = (char) (firstChar + random.nextInt(alphabetSize));
+        }
+        
+        return new String(chars);
+    }
+    
+    /**
+     * Creates a random byte string over {@code alphabetSize} consecutive 
+     * unsigned byte values. The two-byte alphabet straddles the sign bit.
+     * 
+     * @param length       the length of the byte string.
+     * @param alphabetSize the number of distinct bytes.
+     * @param random       the source of randomness.
+     * @return the byte string.
+     */
+    private static byte[] createBytes(int length,
+                                      int alphabetSize,
+                                      Random random) {
+        byte[] bytes = new byte[length];
+        int firstByte = alphabetSize == 2 ? 0x7f : 0;
+        
+        for (int i = 0; i != length; i++) {
+            bytes[i] = (byte) (firstByte + random.nextInt(alphabetSize));
+        }
+        
+        return bytes;
+    }
+    
+    /**
+     * Returns the concatenation of {@code first} and {@code second}.
+     * 
+     * @param first  the first byte string.
+     * @param second the second byte string.
+     * @return the concatenation.
+     */
+    private static byte[] concatenate(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This class generates the {@code int} and {@code long} test inputs shared
+ * by the tests: random data, presorted and reversed data, nearly sorted
+ * data, data with few distinct values and data made of the edge values of
+ * the type.
+ */
+final class TestInputs {
+    
+    /**
+     * The lengths covering the trivial ranges, the insertion sort threshold,
+     * the small range thresholds and each of the automatic digit widths.
+     */
+    static final int[] LENGTHS = {
+        0, 1, 2, 3, 31, 32, 33, 63, 64, 65, 257, 4_099, 70_000, 600_000
+    };
+    
+    /**
+     * This enumeration lists the kinds of test data.
+     */
+    enum Kind {
+        
+        RANDOM,
+        PRESORTED,
+        REVERSED,
+        NEARLY_SORTED,
+        ALL_EQUAL,
+        FEW_DISTINCT,
+        EDGE_VALUES;
+    }
+    
+    /**
+     * The edge values of {@code int}.
+     */
+    private static final int[] INT_EDGE_VALUES = {
+        Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1,
+        Integer.MAX_VALUE - 1, Integer.MAX_VALUE
+    };
+    
+    /**
+     * The edge values of {@code long}.
+     */
+    private static final long[] LONG_EDGE_VALUES = {
+        Long.MIN_VALUE, Long.MIN_VALUE + 1, Integer.MIN_VALUE, -1L, 0L, 1L,
+        Integer.MAX_VALUE, Long.MAX_VALUE - 1, Long.MAX_VALUE
+    };
+    
+    private TestInputs() {}
+    
+    /**
+     * Creates an {@code int} array of the given kind.
+     * 
+     * @param kind   the kind of the data.
+     * @param length the length of the array.
+     * @param random the source of randomness.
+     * @return the array.
+     */
+    static int[] createIntArray(Kind kind, int length, Random random) {
+        int[] array = new int[length];
+        
+        switch (kind) {
+            case ALL_EQUAL -> Arrays.fill(array, random.nextInt());
+            
+            case FEW_DISTINCT -> {
+                for (int i = 0; i != length; i++) {
+                    array[i] = random.nextInt(4) - 2;
+                }
+            }
+            
+            case EDGE_VALUES -> {
+                for (int i = 0; i != length; i++) {
+                    array[i] =
+                            INT_EDGE_VALUES[
+                                    random.nextInt(INT_EDGE_VALUES.length)];
+                }
+            }
+            
+            default -> {
+                for (int i = 0; i != length; i++) {
+                    array[i] = random.nextInt();
+                }
+                
+                presort(array, kind, random);
+            }
+        }
+        
+        return array;
+    }
+    
+    /**
+     * Creates a {@code long} array of the given kind.
+     * 
+     * @param kind   the kind of the data.
+     * @param length the length of the array.
+     * @param random the source of randomness.
+     * @return the array.
+     */
+    static long[] createLongArray(Kind kind, int length, Random random) {
+        long[] array = new long[length];
+        
+        switch (kind) {
+            case ALL_EQUAL -> Arrays.fill(array, random.nextLong());
+            
+            case FEW_DISTINCT -> {
+                for (int i = 0; i != length; i++) {
+                    array[i] = random.nextInt(4) - 2;
+                }
+            }
+            
+            case EDGE_VALUES -> {
+                for (int i = 0; i != length; i++) {
+                    array[i] =
+                            LONG_EDGE_VALUES[
+                                    random.nextInt(LONG_EDGE_VALUES.length)];
+                }
+            }
+            
+            default -> {
+                for (int i = 0; i != length; i++) {
+                    array[i] = random.nextLong();
+                }
+                
+                presort(array, kind, random);
+            }
+        }
+        
+        return array;
+    }
+    
+    /**
+     * Brings the random {@code array} into the order required by
+     * {@code kind}.
+     * 
+     * @param array  the random array.
+     * @param kind   the kind of the data.
+     * @param random the source of randomness.
+     */
+    private static void presort(int[] array, Kind kind, Random random) {
+        if (kind == Kind.RANDOM || array.length == 0) {
+            return;
+        }
+        
+        Arrays.sort(array);
+        
+        if (kind == Kind.REVERSED) {
+            for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+                int tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        } else if (kind == Kind.NEARLY_SORTED) {
+            for (int swap = 0; swap < array.length / 100 + 1; swap++) {
+                int i = random.nextInt(array.length);
+                int j = random.nextInt(array.length);
+                int tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+    }
+    
+    /**
+     * Brings the random {@code array} into the order required by
+     * {@code kind}.
+     * 
+     * @param array  the random array.
+     * @param kind   the kind of the data.
+     * @param random the source of randomness.
+     */
+    private static void presort(long[] array, Kind kind, Random random) {
+        if (kind == Kind.RANDOM || array.length == 0) {
+            return;
+        }
+        
+        Arrays.sort(array);
+        
+        if (kind == Kind.REVERSED) {
+            for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+                long tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        } else if (kind == Kind.NEARLY_SORTED) {
+            for (int swap = 0; swap < array.length / 100 + 1; swap++) {
+                int i = random.nextInt(array.length);
+                int j = random.nextInt(array.length);
+                long tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.github.coderodde.util;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests the switch of the vectorized run scan kernels, and sorts ranges with
+ * a run break at each position within and around a vector. The build runs
+ * this test with the kernels enabled in the {@code vector} profile, and
+ * with the scalar scan otherwise.
+ */
+public class VectorizationTest {
+    
+    /**
+     * The length of the ranges with a single run break.
+     */
+    private static final int LENGTH = 1_000;
+    
+    /**
+     * The number of positions tested at each end of the ranges, more than
+     * the lanes of the widest vectors.
+     */
+    private static final int BREAK_POSITIONS = 40;
+    
+    @Test
+    void isDisabledByDefault() {
+        assumeFalse(Boolean.getBoolean(LsdRadixsort.VECTORIZATION_PROPERTY));
+        assertFalse(LsdRadixsort.isVectorized());
+    }
+    
+    @Test
+    void isEnabledOnWideVectors() throws ReflectiveOperationException {
+        assumeTrue(Boolean.getBoolean(LsdRadixsort.VECTORIZATION_PROPERTY));
+        
+        Class<?> kernelsClass =
+                Class.forName("com.github.coderodde.util.VectorizedKernels");
+        Object kernels = kernelsClass.getDeclaredConstructor().newInstance();
+        boolean supported =
+                (boolean) kernelsClass.getDeclaredMethod("isSupported")
+                                      .invoke(kernels);
+        
+        assertEquals(supported, LsdRadixsort.isVectorized());
+    }
+    
+    @Test
+    void sortsIntRunsBrokenAtEachPosition() {
+        for (int breakIndex : getBreakIndices()) {
+            for (boolean descending : new boolean[]{ false, true }) {
+                int[] array = new int[LENGTH];
+                
+                for (int i = 0; i != LENGTH; i++) {
+                    // Pairs of equal values across the sign bit:
+                    array[i] = (i / 2 - LENGTH / 4) * 3;
+                }
+                
+                // The break turns the run into two:
+                array[breakIndex] = array[breakIndex - 1] - 7;
+                
+                if (descending) {
+                    reverse(array);
+                }
+                
+                int[] signed = array.clone();
+                int[] expected = array.clone();
+                Arrays.sort(expected);
+                LsdRadixsort.sort(signed);
+                assertArrayEquals(expected, signed, "break at " + breakIndex);
+                
+                int[] unsigned = array.clone();
+                LsdRadixsort.sortUnsigned(unsigned);
+                assertSortedUnsigned(unsigned);
+            }
+        }
+    }
+    
+    @Test
+    void sortsLongRunsBrokenAtEachPosition() {
+        for (int breakIndex : getBreakIndices()) {
+            for (boolean descending : new boolean[]{ false, true }) {
+                long[] array = new long[LENGTH];
+                
+                for (int i = 0; i != LENGTH; i++) {
+                    array[i] = (i / 2 - LENGTH / 4) * (1L << 40);
+                }
+                
+                array[breakIndex] = array[breakIndex - 1] - 7L;
+                
+                if (descending) {
+                    reverse(array);
+                }
+                
+                long[] signed = array.clone();
+                long[] expected = array.clone();
+                Arrays.sort(expected);
+                LsdRadixsort.sort(signed);
+                assertArrayEquals(expected, signed, "break at " + breakIndex);
+                
+                long[] unsigned = array.clone();
+                LsdRadixsort.sortUnsigned(unsigned);
+                assertSortedUnsigned(unsigned);
+            }
+        }
+    }
+    
+    /**
+     * Returns the indices of the run breaks: the first and the last
+     * {@code BREAK_POSITIONS} positions of the range.
+     * 
+     * @return the indices.
+     */
+    private static int[] getBreakIndices() {
+        int[] indices = new int[2 * BREAK_POSITIONS];
+        
+        for (int i = 0; i != BREAK_POSITIONS; i++) {
+            indices[i] = i + 1;
+            indices[BREAK_POSITIONS + i] = LENGTH - 1 - i;
+        }
+        
+        return indices;
+    }
+    
+    /**
+     * Checks that {@code array} is sorted in the unsigned order.
+     * 
+     * @param array the array to check.
+     */
+    private static void assertSortedUnsigned(int[] array) {
+        for (int i = 1; i != array.length; i++) {
+            assertFalse(Integer.compareUnsigned(array[i - 1], array[i]) > 0);
+        }
+    }
+    
+    /**
+     * Checks that {@code array} is sorted in the unsigned order.
+     * 
+     * @param array the array to check.
+     */
+    private static void assertSortedUnsigned(long[] array) {
+        for (int i = 1; i != array.length; i++) {
+            assertFalse(Long.compareUnsigned(array[i - 1], array[i]) > 0);
+        }
+    }
+    
+    /**
+     * Reverses {@code array}.
+     * 
+     * @param array the array to reverse.
+     */
+    private static void reverse(int[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+    
+    /**
+     * Reverses {@code array}.
+     * 
+     * @param array the array to reverse.
+     */
+    private static void reverse(long[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            long tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+}
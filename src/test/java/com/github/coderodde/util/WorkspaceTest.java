@@ -0,0 +1,105 @@
+package com.github.coderodde.util;
+
+import com.github.coderodde.util.TestInputs.Kind;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests sorting with caller-supplied workspaces.
+ */
+public class WorkspaceTest {
+    
+    @Test
+    void sortsWithSharedWorkspace() {
+        Random random = new Random(1L);
+        LsdRadixsort.Workspace workspace = new LsdRadixsort.Workspace();
+        
+        for (Kind kind : Kind.values()) {
+            for (int length : TestInputs.LENGTHS) {
+                int[] intArray =
+                        TestInputs.createIntArray(kind, length, random);
+                long[] longArray =
+                        TestInputs.createLongArray(kind, length, random);
+                
+                int[] intExpected = intArray.clone();
+                long[] longExpected = longArray.clone();
+                Arrays.sort(intExpected);
+                Arrays.sort(longExpected);
+                LsdRadixsort.sort(intArray, 0, length, workspace);
+                LsdRadixsort.sort(longArray, 0, length, workspace);
+                assertArrayEquals(intExpected, intArray);
+                assertArrayEquals(longExpected, longArray);
+            }
+        }
+    }
+    
+    @Test
+    void reachesSteadyState() {
+        Random random = new Random(2L);
+        LsdRadixsort.Workspace workspace = new LsdRadixsort.Workspace();
+        LsdRadixsort.sort(
+                TestInputs.createLongArray(Kind.RANDOM, 100_000, random),
+                0,
+                100_000,
+                workspace);
+        
+        long allocatedBytes = workspace.getAllocatedBytes();
+        
+        for (int length = 1_000; length <= 100_000; length *= 10) {
+            long[] array =
+                    TestInputs.createLongArray(Kind.RANDOM, length, random);
+            LsdRadixsort.sort(array, 0, length, workspace);
+        }
+        
+        assertEquals(allocatedBytes, workspace.getAllocatedBytes());
+    }
+    
+    @Test
+    void preallocatedWorkspaceDoesNotGrow() {
+        Random random = new Random(3L);
+        
+        // Up to the ranges sorted by 16-bit digits:
+        for (int capacity : new int[]{ 100_000, 1 << 22 }) {
+            LsdRadixsort.Workspace workspace =
+                    new LsdRadixsort.Workspace(capacity);
+            
+            LsdRadixsort.sort(
+                    TestInputs.createIntArray(Kind.RANDOM, capacity, random),
+                    0,
+                    capacity,
+                    workspace);
+            LsdRadixsort.sort(
+                    TestInputs.createLongArray(Kind.RANDOM, capacity, random),
+                    0,
+                    capacity,
+                    workspace);
+            
+            assertEquals(0L, workspace.getAllocatedBytes(), "" + capacity);
+        }
+    }
+    
+    @Test
+    void sortsAfterRelease() {
+        Random random = new Random(4L);
+        LsdRadixsort.Workspace workspace = new LsdRadixsort.Workspace(1_000);
+        workspace.release();
+        
+        int[] array = TestInputs.createIntArray(Kind.RANDOM, 5_000, random);
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        LsdRadixsort.sort(array, 0, array.length, workspace);
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new LsdRadixsort.Workspace(-1));
+        assertThrows(NullPointerException.class,
+                     () -> LsdRadixsort.sort(new int[10], 0, 10, null));
+    }
+}